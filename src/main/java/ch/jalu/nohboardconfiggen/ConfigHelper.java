@@ -30,6 +30,30 @@ public final class ConfigHelper {
         return new NohbCoords(textX, textY);
     }
 
+    /**
+     * Calculates the center of the given boundaries, as for {@link #calculateCenterTextPosition(List)}.
+     *
+     * @param boundaryCoordinates coordinates of the four boundaries as x/y pairs
+     * @return the center
+     */
+    public static NohbCoords calculateCenterTextPosition(int[] boundaryCoordinates) {
+        if (boundaryCoordinates == null || boundaryCoordinates.length != 8) {
+            throw new IllegalArgumentException("Expected four boundaries");
+        }
+
+        int minX = boundaryCoordinates[0];
+        int minY = boundaryCoordinates[1];
+        int maxX = minX;
+        int maxY = minY;
+        for (int i = 2; i < boundaryCoordinates.length; i += 2) {
+            minX = Math.min(minX, boundaryCoordinates[i]);
+            minY = Math.min(minY, boundaryCoordinates[i + 1]);
+            maxX = Math.max(maxX, boundaryCoordinates[i]);
+            maxY = Math.max(maxY, boundaryCoordinates[i + 1]);
+        }
+        return new NohbCoords(minX + (maxX - minX) / 2, minY + (maxY - minY) / 2);
+    }
+
     private static Integer minNullSafe(Integer a, Integer b) {
         if (a == null) {
             return b;
@@ -0,0 +1,31 @@
+package ch.jalu.nohboardconfiggen;
+
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+
+import java.math.BigDecimal;
+
+/**
+ * Combination of keyboard region and scale factor for which a configuration is generated.
+ *
+ * @param region the region whose layout is used to resolve key names
+ * @param scale the factor by which all coordinates are multiplied
+ */
+public record ConfigVariant(KeyboardRegion region, double scale) {
+
+    public ConfigVariant {
+        if (!(scale > 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Scale must be a positive number, got " + scale);
+        }
+    }
+
+    /**
+     * Returns the file name for this variant, e.g. {@code tr3_de-ch@1.5x.json} for base name {@code tr3}.
+     *
+     * @param baseName the name of the definition (without extension)
+     * @return file name for the variant's configuration
+     */
+    public String getFileName(String baseName) {
+        String scaleText = BigDecimal.valueOf(scale).stripTrailingZeros().toPlainString();
+        return baseName + "_" + region.getCode() + "@" + scaleText + "x.json";
+    }
+}
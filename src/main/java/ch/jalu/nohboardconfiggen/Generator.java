@@ -2,16 +2,31 @@ package ch.jalu.nohboardconfiggen;
 
 import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
 import ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator;
+import ch.jalu.nohboardconfiggen.config.StreamingConfigWriter;
+import ch.jalu.nohboardconfiggen.config.StreamingLayout;
 import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
 import ch.jalu.nohboardconfiggen.definition.generator.KeyboardModelGenerator;
 import ch.jalu.nohboardconfiggen.definition.parser.DefinitionParser;
+import ch.jalu.nohboardconfiggen.definition.parser.element.KeyRow;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Generates NohBoard configurations from definition files.
+ * <p>
+ * This class is thread-safe and meant to be shared: the only state kept between calls is the cache of keyboard
+ * layouts in {@link KeyboardModelGenerator}, which are not modified once created. All mutable state of a
+ * generation (parser, keyboard model, output elements) is created per call and confined to the calling thread.
+ */
 public class Generator {
 
     private final KeyboardModelGenerator modelGenerator = new KeyboardModelGenerator();
@@ -23,7 +38,17 @@ public class Generator {
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to read file '" + modelFile + "'", e);
         }
+        return generateConfig(lines);
+    }
 
+    /**
+     * Generates the NohBoard configuration for the given lines of a definition file.
+     *
+     * @param lines the lines of the definition
+     * @return the generated configuration
+     */
+    public NohbConfiguration generateConfig(List<String> lines) {
+        // The parser and config generator are stateful, so new instances are used for every call
         DefinitionParser parser = new DefinitionParser();
         parser.parse(lines);
 
@@ -31,4 +56,76 @@ public class Generator {
         NohboardConfigGenerator generator = new NohboardConfigGenerator();
         return generator.generate(keyboardModel);
     }
+
+    /**
+     * Generates the NohBoard configuration for the given definition file and writes it with the given writer,
+     * processing one row at a time: memory use is bounded by the largest row rather than by the entire keyboard.
+     * The output is identical to exporting the result of {@link #generateConfig(Path)}.
+     * <p>
+     * The file is read twice: generated IDs must skip all predefined IDs, so the first pass only collects the
+     * predefined IDs. The second pass lays out the rows and writes their elements.
+     *
+     * @param definitionFile the definition file to generate the configuration for
+     * @param writer the writer to write the configuration with (is finished but not closed by this method)
+     */
+    public void generateStreaming(Path definitionFile, StreamingConfigWriter writer) {
+        StreamingLayout layout = processRows(definitionFile, null, StreamingLayout::collectPredefinedIds);
+        processRows(definitionFile, layout, (rowLayout, row) -> writer.writeElements(rowLayout.layOutRow(row)));
+        writer.finish(layout.getHeight(), layout.getWidth());
+    }
+
+    /**
+     * Parses the given file and passes each converted row to the given action as soon as it has been parsed.
+     *
+     * @param definitionFile the file to process
+     * @param layout the layout to pass to the action, or null to create one from the file's attributes
+     * @param rowAction the action to perform for each row
+     * @return the layout that was passed to the action
+     */
+    private StreamingLayout processRows(Path definitionFile, StreamingLayout layout,
+                                        BiConsumer<StreamingLayout, KeyboardRow> rowAction) {
+        DefinitionParser parser = new DefinitionParser();
+        RowProcessor rowProcessor = new RowProcessor(parser, layout, rowAction);
+        try (BufferedReader reader = Files.newBufferedReader(definitionFile)) {
+            parser.parse(reader.lines()::iterator, rowProcessor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file '" + definitionFile + "'", e);
+        }
+        return rowProcessor.getLayout();
+    }
+
+    /**
+     * Converts the rows passed by the parser and forwards them to an action. The keyboard-level properties
+     * are only complete once the parser has reached the keys section, so the row converter and the layout are
+     * created when the first row is encountered.
+     */
+    private final class RowProcessor implements Consumer<KeyRow> {
+
+        private final DefinitionParser parser;
+        private final BiConsumer<StreamingLayout, KeyboardRow> rowAction;
+        private StreamingLayout layout;
+        private Function<KeyRow, KeyboardRow> rowConverter;
+
+        RowProcessor(DefinitionParser parser, StreamingLayout layout,
+                     BiConsumer<StreamingLayout, KeyboardRow> rowAction) {
+            this.parser = parser;
+            this.layout = layout;
+            this.rowAction = rowAction;
+        }
+
+        @Override
+        public void accept(KeyRow row) {
+            if (rowConverter == null) {
+                rowConverter = modelGenerator.createRowConverter(parser.buildAttributes());
+            }
+            rowAction.accept(getLayout(), rowConverter.apply(row));
+        }
+
+        StreamingLayout getLayout() {
+            if (layout == null) {
+                layout = new StreamingLayout(modelGenerator.generateWithoutRows(parser.buildAttributes()));
+            }
+            return layout;
+        }
+    }
 }
@@ -5,27 +5,58 @@ import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * Command-line entry point. Usage: {@code GeneratorRunner [-o <output file>] [<definition file>...]}.
+ * The configuration of each definition is printed to stdout. If an output file is given, the configuration is
+ * also exported to it, which is only possible with one definition. Without any definition file, a test config
+ * is used.
+ * <p>
+ * Runs are typically single-shot, so start-up time dominates: nothing should be initialized that is not needed
+ * for the given arguments. See the {@code appcds} profile in the POM for a class data sharing archive that
+ * further reduces the start-up time.
+ */
 public final class GeneratorRunner {
 
-    private final Generator generator = new Generator();
-    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+    private static final Path DEFAULT_INPUT = Paths.get("./src/test/resources/testconfigs/tr3.txt");
+    private static final String USAGE = "Usage: GeneratorRunner [-o <output file>] [<definition file>...]";
 
     private GeneratorRunner() {
     }
 
     public static void main(String... args) {
-        new GeneratorRunner().outputOrExportConfig();
+        List<String> arguments = Arrays.asList(args);
+        Path output = null;
+        if (!arguments.isEmpty() && arguments.get(0).equals("-o")) {
+            if (arguments.size() < 2 || arguments.size() > 3) {
+                exitWithUsage();
+            }
+            output = Paths.get(arguments.get(1));
+            arguments = arguments.subList(2, arguments.size());
+        }
+
+        List<Path> inputs = arguments.isEmpty()
+            ? List.of(DEFAULT_INPUT)
+            : arguments.stream().map(Paths::get).toList();
+        printAndExportConfigs(inputs, output);
     }
 
-    private void outputOrExportConfig() {
-        Path input = Paths.get("./src/test/resources/testconfigs/tr3.txt");
-        // Set output file to immediately write to a file to continuously update the keyboard
-        Path output = null; // Paths.get("Downloads/NohBoard/keyboards/TR/tr3hw/keyboard.json");
-        NohbConfiguration result = generator.generateConfig(input);
-        System.out.println(exporter.toJson(result));
-        if (output != null) {
-            exporter.export(result, output);
+    private static void printAndExportConfigs(List<Path> inputs, Path output) {
+        Generator generator = new Generator();
+        NohboardConfigExporter exporter = new NohboardConfigExporter();
+        for (Path input : inputs) {
+            NohbConfiguration result = generator.generateConfig(input);
+            System.out.println(exporter.toJson(result));
+            if (output != null) {
+                exporter.export(result, output);
+            }
         }
     }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
 }
@@ -0,0 +1,200 @@
+package ch.jalu.nohboardconfiggen;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator;
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.generator.KeyboardModelGenerator;
+import ch.jalu.nohboardconfiggen.definition.parser.DefinitionParser;
+import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
+import ch.jalu.nohboardconfiggen.definition.parser.element.KeyRow;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+import com.google.common.primitives.ImmutableIntArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the configurations of a definition for multiple keyboard regions and scale factors at once.
+ * <p>
+ * The definition is parsed and laid out only once: the region only affects the key codes of the elements,
+ * and the scale only affects their coordinates. The key codes are resolved once per region, and the geometry
+ * is scaled once per scale factor; each variant then combines the two.
+ * <p>
+ * This class is thread-safe: like {@link Generator}, the only state kept between calls is the cache of keyboard
+ * layouts in {@link KeyboardModelGenerator}.
+ */
+public class VariantGenerator {
+
+    private final KeyboardModelGenerator modelGenerator = new KeyboardModelGenerator();
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    /**
+     * Generates the configuration of each combination of the given regions and scales. The configurations
+     * share coordinate instances with each other and should therefore not be modified.
+     *
+     * @param lines the lines of the definition
+     * @param regions the regions to generate configurations for
+     * @param scales the scale factors to generate configurations for
+     * @return configuration by variant, ordered by region and then by scale
+     */
+    public Map<ConfigVariant, NohbConfiguration> generateVariants(List<String> lines,
+                                                                  Collection<KeyboardRegion> regions,
+                                                                  Collection<Double> scales) {
+        VariantSource source = createSource(lines, regions, scales);
+        Map<ConfigVariant, NohbConfiguration> configsByVariant = new LinkedHashMap<>();
+        for (ConfigVariant variant : source.variants) {
+            configsByVariant.put(variant, source.createConfiguration(variant));
+        }
+        return configsByVariant;
+    }
+
+    /**
+     * Generates the configuration of each combination of the given regions and scales and writes them to the
+     * given directory. The variants are assembled and written in parallel. The files are named as defined by
+     * {@link ConfigVariant#getFileName}, with the definition's file name (without extension) as base name.
+     *
+     * @param definitionFile the definition file to generate the configurations for
+     * @param regions the regions to generate configurations for
+     * @param scales the scale factors to generate configurations for
+     * @param outputDirectory the directory to write the configurations to
+     * @return the written file by variant, ordered by region and then by scale
+     */
+    public Map<ConfigVariant, Path> writeVariants(Path definitionFile, Collection<KeyboardRegion> regions,
+                                                  Collection<Double> scales, Path outputDirectory) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(definitionFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file '" + definitionFile + "'", e);
+        }
+        VariantSource source = createSource(lines, regions, scales);
+
+        String fileName = definitionFile.getFileName().toString();
+        String baseName = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        Map<ConfigVariant, Path> filesByVariant = new LinkedHashMap<>();
+        for (ConfigVariant variant : source.variants) {
+            filesByVariant.put(variant, outputDirectory.resolve(variant.getFileName(baseName)));
+        }
+
+        filesByVariant.entrySet().parallelStream().forEach(entry ->
+            exporter.export(source.createConfiguration(entry.getKey()), entry.getValue()));
+        return filesByVariant;
+    }
+
+    private VariantSource createSource(List<String> lines, Collection<KeyboardRegion> regions,
+                                       Collection<Double> scales) {
+        if (regions.isEmpty() || scales.isEmpty()) {
+            throw new IllegalArgumentException("At least one region and one scale must be provided");
+        }
+        List<ConfigVariant> variants = new ArrayList<>(regions.size() * scales.size());
+        for (KeyboardRegion region : regions) {
+            for (double scale : scales) {
+                variants.add(new ConfigVariant(region, scale));
+            }
+        }
+
+        DefinitionParser parser = new DefinitionParser();
+        parser.parse(lines);
+        List<Attribute> attributes = parser.buildAttributes();
+        List<KeyRow> rows = parser.getKeyRows();
+
+        // The geometry does not depend on the region, so it is laid out with the keyboard model of the first one
+        KeyboardRegion firstRegion = variants.get(0).region();
+        KeyboardConfig keyboardModel = modelGenerator.generate(attributes, rows, firstRegion);
+        NohbConfiguration baseConfig = new NohboardConfigGenerator().generate(keyboardModel);
+
+        Map<KeyboardRegion, List<ImmutableIntArray>> keyCodesByRegion = new LinkedHashMap<>();
+        for (KeyboardRegion region : regions) {
+            keyCodesByRegion.computeIfAbsent(region, r -> modelGenerator.resolveKeyCodes(rows, r));
+        }
+        Map<Double, NohbConfiguration> geometryByScale = new LinkedHashMap<>();
+        for (double scale : scales) {
+            geometryByScale.computeIfAbsent(scale, s -> scale(baseConfig, s));
+        }
+        return new VariantSource(variants, keyCodesByRegion, geometryByScale);
+    }
+
+    /**
+     * Returns a copy of the given configuration with all coordinates multiplied by the given factor. Coordinates
+     * that are shared by multiple elements (elements of the same key) remain shared in the copy.
+     *
+     * @param config the configuration to scale
+     * @param scale the scale factor
+     * @return the scaled configuration
+     */
+    private static NohbConfiguration scale(NohbConfiguration config, double scale) {
+        if (scale == 1.0) {
+            return config;
+        }
+
+        Map<int[], int[]> scaledBoundaries = new IdentityHashMap<>();
+        List<NohbElement> elements = new ArrayList<>(config.getElements().size());
+        for (NohbElement element : config.getElements()) {
+            NohbElement scaledElement = new NohbElement(element);
+            scaledElement.setBoundaryCoordinates(scaledBoundaries.computeIfAbsent(element.getBoundaryCoordinates(),
+                boundaries -> scale(boundaries, scale)));
+            if (element.hasTextPosition()) {
+                scaledElement.setTextPosition(scale(element.getTextX(), scale), scale(element.getTextY(), scale));
+            }
+            elements.add(scaledElement);
+        }
+
+        NohbConfiguration scaledConfig = new NohbConfiguration();
+        scaledConfig.setElements(elements);
+        scaledConfig.setHeight(scale(config.getHeight(), scale));
+        scaledConfig.setWidth(scale(config.getWidth(), scale));
+        return scaledConfig;
+    }
+
+    private static int[] scale(int[] coordinates, double scale) {
+        int[] scaledCoordinates = new int[coordinates.length];
+        for (int i = 0; i < coordinates.length; ++i) {
+            scaledCoordinates[i] = scale(coordinates[i], scale);
+        }
+        return scaledCoordinates;
+    }
+
+    private static int scale(int value, double scale) {
+        return (int) Math.round(value * scale);
+    }
+
+    /**
+     * The precomputed parts from which the configurations of all variants are assembled.
+     *
+     * @param variants all variants to generate
+     * @param keyCodesByRegion key codes of all elements, by region
+     * @param geometryByScale configuration with the scaled coordinates, by scale
+     */
+    private record VariantSource(List<ConfigVariant> variants,
+                                 Map<KeyboardRegion, List<ImmutableIntArray>> keyCodesByRegion,
+                                 Map<Double, NohbConfiguration> geometryByScale) {
+
+        NohbConfiguration createConfiguration(ConfigVariant variant) {
+            NohbConfiguration geometry = geometryByScale.get(variant.scale());
+            List<ImmutableIntArray> keyCodes = keyCodesByRegion.get(variant.region());
+
+            List<NohbElement> elements = new ArrayList<>(geometry.getElements().size());
+            for (int i = 0; i < geometry.getElements().size(); ++i) {
+                NohbElement element = new NohbElement(geometry.getElements().get(i));
+                element.setKeyCodes(keyCodes.get(i));
+                elements.add(element);
+            }
+
+            NohbConfiguration config = new NohbConfiguration();
+            config.setElements(elements);
+            config.setHeight(geometry.getHeight());
+            config.setWidth(geometry.getWidth());
+            return config;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package ch.jalu.nohboardconfiggen.cache;
+
+import ch.jalu.nohboardconfiggen.Generator;
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of generated configurations, keyed by the semantic hash of the definition file
+ * (see {@link DefinitionHasher}). On a hit, the cached keyboard.json is copied to the output and the definition
+ * is neither parsed nor laid out.
+ * <p>
+ * The cache is bounded by the total size of its entries; the least recently used entries are evicted first.
+ * The recency of an entry is its file's modification time, which is updated on every hit, so that the order
+ * is kept between runs. A cache directory should only be used by one instance at a time.
+ */
+public class BuildCache {
+
+    /**
+     * Version of the generation logic. Must be increased whenever a change to the generator produces different
+     * output for the same definition, so that stale entries are not reused.
+     * <ul>
+     *   <li>2: key line templates, arithmetic expressions in values</li>
+     * </ul>
+     */
+    static final int GENERATOR_VERSION = 2;
+
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+    private final Generator generator;
+    private final NohboardConfigExporter exporter;
+
+    /** Size in bytes of each entry by hash, in order of access (least recently used first). */
+    private final Map<String, Long> entrySizesByHash = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructor. Creates the cache directory if needed and loads the existing entries.
+     *
+     * @param directory the directory to store the entries in
+     * @param maxSizeInBytes maximum total size of all entries
+     * @param generator the generator to use on cache misses
+     * @param exporter the exporter to serialize configurations with
+     */
+    public BuildCache(Path directory, long maxSizeInBytes, Generator generator, NohboardConfigExporter exporter) {
+        this.directory = directory;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.generator = generator;
+        this.exporter = exporter;
+        loadEntries();
+    }
+
+    /**
+     * Writes the configuration of the given definition file to the output file, taking it from the cache if the
+     * definition has not changed semantically since it was last generated.
+     *
+     * @param definitionFile the definition to generate the configuration for
+     * @param outputFile the file to write the configuration to
+     * @return true if the configuration was taken from the cache, false if it was generated
+     */
+    public boolean generate(Path definitionFile, Path outputFile) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(definitionFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file '" + definitionFile + "'", e);
+        }
+
+        String hash = DefinitionHasher.hash(lines, GENERATOR_VERSION);
+        try {
+            if (isPresent(hash) && copyEntry(hash, outputFile)) {
+                hits.incrementAndGet();
+                return true;
+            }
+
+            misses.incrementAndGet();
+            NohbConfiguration config = generator.generateConfig(lines);
+            byte[] json = exporter.toJson(config).getBytes(StandardCharsets.UTF_8);
+            Files.write(outputFile, json);
+            store(hash, json);
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to '" + outputFile + "'", e);
+        }
+    }
+
+    /**
+     * @return snapshot of this cache's statistics
+     */
+    public CacheStats getStats() {
+        synchronized (entrySizesByHash) {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), entrySizesByHash.size(), totalSize);
+        }
+    }
+
+    private boolean isPresent(String hash) {
+        synchronized (entrySizesByHash) {
+            // get() marks the entry as recently used
+            return entrySizesByHash.get(hash) != null;
+        }
+    }
+
+    /**
+     * Copies the cache entry to the output file. Entries are copied rather than hard-linked, since the output is
+     * typically edited afterwards in NohBoard, which would otherwise modify the cache entry as well.
+     *
+     * @param hash the hash of the cache entry
+     * @param outputFile the file to copy to
+     * @return true if the entry was copied, false if it no longer exists
+     */
+    private boolean copyEntry(String hash, Path outputFile) throws IOException {
+        Path entry = getEntryFile(hash);
+        try {
+            Files.copy(entry, outputFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            forget(hash);
+            return false;
+        }
+    }
+
+    private void store(String hash, byte[] json) throws IOException {
+        if (json.length > maxSizeInBytes) {
+            return;
+        }
+        Path tempFile = Files.createTempFile(directory, hash, ".tmp");
+        Files.write(tempFile, json);
+        Files.move(tempFile, getEntryFile(hash), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (entrySizesByHash) {
+            Long previousSize = entrySizesByHash.put(hash, (long) json.length);
+            totalSize += json.length - (previousSize == null ? 0 : previousSize);
+            evictUntilWithinLimit();
+        }
+    }
+
+    private void evictUntilWithinLimit() throws IOException {
+        Iterator<Map.Entry<String, Long>> it = entrySizesByHash.entrySet().iterator();
+        while (totalSize > maxSizeInBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            Files.deleteIfExists(getEntryFile(eldest.getKey()));
+            totalSize -= eldest.getValue();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void forget(String hash) {
+        synchronized (entrySizesByHash) {
+            Long size = entrySizesByHash.remove(hash);
+            if (size != null) {
+                totalSize -= size;
+            }
+        }
+    }
+
+    private void loadEntries() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> file.getFileName().toString().endsWith(ENTRY_EXTENSION))
+                    .map(BuildCache::readAttributes)
+                    .sorted(Comparator.comparing(entry -> entry.attributes().lastModifiedTime()))
+                    .forEach(entry -> {
+                        String fileName = entry.file().getFileName().toString();
+                        String hash = fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length());
+                        entrySizesByHash.put(hash, entry.attributes().size());
+                        totalSize += entry.attributes().size();
+                    });
+            }
+            evictUntilWithinLimit();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load build cache in '" + directory + "'", e);
+        }
+    }
+
+    private Path getEntryFile(String hash) {
+        return directory.resolve(hash + ENTRY_EXTENSION);
+    }
+
+    private static FileWithAttributes readAttributes(Path file) {
+        try {
+            return new FileWithAttributes(file, Files.readAttributes(file, BasicFileAttributes.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read attributes of '" + file + "'", e);
+        }
+    }
+
+    private record FileWithAttributes(Path file, BasicFileAttributes attributes) {
+    }
+}
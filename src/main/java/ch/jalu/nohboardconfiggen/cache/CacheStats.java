@@ -0,0 +1,21 @@
+package ch.jalu.nohboardconfiggen.cache;
+
+/**
+ * Statistics of a {@link BuildCache}.
+ *
+ * @param hits number of definitions whose configuration was taken from the cache
+ * @param misses number of definitions that had to be generated
+ * @param evictions number of entries removed to stay within the size limit
+ * @param entries number of entries currently in the cache
+ * @param sizeInBytes total size of the entries currently in the cache
+ */
+public record CacheStats(long hits, long misses, long evictions, int entries, long sizeInBytes) {
+
+    /**
+     * @return ratio of hits to all lookups, 0 if there was no lookup
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,119 @@
+package ch.jalu.nohboardconfiggen.cache;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes a hash of a definition's content that ignores changes without effect on the generated configuration:
+ * comments, indentation, runs of whitespace between tokens, and repeated or trailing blank lines.
+ * Text in double quotes is kept as is.
+ */
+final class DefinitionHasher {
+
+    private DefinitionHasher() {
+    }
+
+    /**
+     * Returns the hash of the given definition.
+     *
+     * @param lines the lines of the definition
+     * @param generatorVersion version of the generation logic, so that entries of older versions are not reused
+     * @return hex string of the hash
+     */
+    static String hash(List<String> lines, int generatorVersion) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(generatorVersion);
+        for (String line : normalize(lines)) {
+            hasher.putString(line, StandardCharsets.UTF_8);
+            hasher.putChar('\n');
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Normalizes the given lines: comments are removed, whitespace outside of quotes is collapsed to a single
+     * space and trimmed. Lines that only contained a comment are dropped, as are blank lines in the header section.
+     * In the keys section, consecutive blank lines are reduced to one since they only end a row of keys; blank
+     * lines at the start and end of the section are dropped.
+     *
+     * @param lines the lines to normalize
+     * @return the normalized lines
+     */
+    static List<String> normalize(List<String> lines) {
+        List<String> normalizedLines = new ArrayList<>();
+        boolean isHeaderSection = true;
+        boolean previousWasBlank = true;
+        for (String line : lines) {
+            String normalizedLine = normalizeLine(line);
+            if (normalizedLine == null) {
+                continue; // comment-only line
+            }
+
+            boolean isBlank = normalizedLine.isEmpty();
+            if (isHeaderSection) {
+                // Any line in the header that doesn't declare attributes or variables must be the keys section start
+                isHeaderSection = isBlank || normalizedLine.charAt(0) == '[' || normalizedLine.charAt(0) == '$';
+                if (!isBlank) {
+                    normalizedLines.add(normalizedLine);
+                }
+            } else if (!isBlank || !previousWasBlank) {
+                normalizedLines.add(normalizedLine);
+                previousWasBlank = isBlank;
+            }
+        }
+
+        while (!normalizedLines.isEmpty() && normalizedLines.get(normalizedLines.size() - 1).isEmpty()) {
+            normalizedLines.remove(normalizedLines.size() - 1);
+        }
+        return normalizedLines;
+    }
+
+    /**
+     * Normalizes a single line. A '#' starts a comment if it is at the start of the content, or follows whitespace
+     * or a closing bracket; otherwise it is part of a key name. The text of a comment is dropped.
+     *
+     * @param line the line to normalize
+     * @return the normalized line, or null if the line only consists of a comment
+     */
+    private static String normalizeLine(String line) {
+        StringBuilder result = new StringBuilder(line.length());
+        boolean isInQuotes = false;
+        boolean hasPendingWhitespace = false;
+
+        for (int i = 0; i < line.length(); ++i) {
+            char chr = line.charAt(i);
+            if (isInQuotes) {
+                result.append(chr);
+                if (chr == '\\' && i + 1 < line.length()) {
+                    result.append(line.charAt(++i));
+                } else if (chr == '"') {
+                    isInQuotes = false;
+                }
+            } else if (Character.isWhitespace(chr)) {
+                hasPendingWhitespace = true;
+            } else if (chr == '#' && (hasPendingWhitespace || result.isEmpty()
+                                      || result.charAt(result.length() - 1) == ']')) {
+                if (result.isEmpty()) {
+                    return null;
+                }
+                // Keep the comment start: not all positions allow a comment, so the line must not become valid
+                return result.append(hasPendingWhitespace ? " #" : "#").toString();
+            } else {
+                if (hasPendingWhitespace && !result.isEmpty()) {
+                    result.append(' ');
+                }
+                hasPendingWhitespace = false;
+                result.append(chr);
+                if (chr == '\\' && i + 1 < line.length()) {
+                    result.append(line.charAt(++i));
+                }
+                isInQuotes = chr == '"';
+            }
+        }
+        return result.toString();
+    }
+}
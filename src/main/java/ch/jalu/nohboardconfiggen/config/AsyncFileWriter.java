@@ -0,0 +1,71 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes a buffer to a file with an {@link AsynchronousFileChannel}, without blocking the calling thread.
+ */
+final class AsyncFileWriter {
+
+    private AsyncFileWriter() {
+    }
+
+    /**
+     * Writes the remaining bytes of the given buffer to the file, replacing any previous content of the file.
+     * The buffer's position is not changed, so the same buffer can be passed for multiple files.
+     *
+     * @param content the content to write
+     * @param target the file to write to
+     * @return future that completes with the result of the write
+     */
+    static CompletableFuture<ExportResult> write(ByteBuffer content, Path target) {
+        CompletableFuture<ExportResult> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(target,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            future.complete(new ExportResult(target, e));
+            return future;
+        }
+
+        ByteBuffer buffer = content.asReadOnlyBuffer();
+        channel.write(buffer, 0, null, new CompletionHandler<Integer, Void>() {
+
+            private long position;
+
+            @Override
+            public void completed(Integer bytesWritten, Void attachment) {
+                position += bytesWritten;
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, position, null, this);
+                } else {
+                    closeAndComplete(null);
+                }
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                closeAndComplete(error);
+            }
+
+            private void closeAndComplete(Throwable error) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+                future.complete(new ExportResult(target, error));
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,19 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import java.nio.file.Path;
+
+/**
+ * Result of exporting a configuration to a file.
+ *
+ * @param target the file that was written to
+ * @param error the error that occurred, null if the file was written successfully
+ */
+public record ExportResult(Path target, Throwable error) {
+
+    /**
+     * @return true if the file was written successfully
+     */
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,82 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Structural difference between two NohBoard configurations, keyed by element ID.
+ *
+ * @param addedIds IDs of the elements that only exist in the new configuration
+ * @param removedIds IDs of the elements that only exist in the old configuration
+ * @param changedElements elements that exist in both configurations but differ (sorted by ID)
+ * @param sizeChanged whether the width or height of the keyboard has changed
+ * @see NohbConfigDiffer
+ */
+public record NohbConfigDiff(List<Integer> addedIds, List<Integer> removedIds,
+                             List<ElementChange> changedElements, boolean sizeChanged) {
+
+    /**
+     * @return true if the two configurations are equivalent, i.e. no export is needed
+     */
+    public boolean isEmpty() {
+        return addedIds.isEmpty() && removedIds.isEmpty() && changedElements.isEmpty() && !sizeChanged;
+    }
+
+    /**
+     * Creates a compact textual report of the changes, with one line per added, removed or changed element.
+     *
+     * @return report of the changes (empty string if there are no changes)
+     */
+    public String toReport() {
+        StringBuilder report = new StringBuilder();
+        addedIds.forEach(id -> report.append("+ ").append(id).append('\n'));
+        removedIds.forEach(id -> report.append("- ").append(id).append('\n'));
+        for (ElementChange change : changedElements) {
+            String changeTypes = change.types().stream()
+                .map(type -> type.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "));
+            report.append("~ ").append(change.id()).append(": ").append(changeTypes).append('\n');
+        }
+        if (sizeChanged) {
+            report.append("~ keyboard size\n");
+        }
+        return report.toString();
+    }
+
+    /**
+     * Describes how an element has changed.
+     *
+     * @param id the ID of the element
+     * @param types the properties that have changed
+     */
+    public record ElementChange(int id, Set<ChangeType> types) {
+
+    }
+
+    /**
+     * Type of change of an element that exists in both configurations.
+     */
+    public enum ChangeType {
+
+        /** The element has the same shape but is at another position. */
+        MOVED,
+
+        /** The shape of the element's boundaries has changed. */
+        RESIZED,
+
+        /** The key codes of the element have changed. */
+        REBOUND,
+
+        /** The text (or shift text, or whether it changes on caps lock) has changed. */
+        TEXT,
+
+        /** The position of the text has changed. */
+        TEXT_POSITION,
+
+        /** The element has a different type (e.g. keyboard key vs. mouse key). */
+        TYPE
+
+    }
+}
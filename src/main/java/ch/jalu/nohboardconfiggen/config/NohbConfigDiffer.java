@@ -0,0 +1,124 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfigDiff.ChangeType;
+import ch.jalu.nohboardconfiggen.config.NohbConfigDiff.ElementChange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares two NohBoard configurations element by element. Elements are matched by their ID,
+ * so the comparison runs in linear time regardless of the order of the elements.
+ */
+public class NohbConfigDiffer {
+
+    /**
+     * Compares the two configurations.
+     *
+     * @param previous the old configuration
+     * @param current the new configuration
+     * @return the differences between the two configurations
+     */
+    public NohbConfigDiff diff(NohbConfiguration previous, NohbConfiguration current) {
+        Map<Integer, NohbElement> previousElementsById = mapById(previous.getElements());
+
+        List<Integer> addedIds = new ArrayList<>();
+        List<ElementChange> changedElements = new ArrayList<>();
+        for (NohbElement element : current.getElements()) {
+            NohbElement previousElement = previousElementsById.remove(getIdOrThrow(element));
+            if (previousElement == null) {
+                addedIds.add(element.getId());
+            } else {
+                EnumSet<ChangeType> changeTypes = compare(previousElement, element);
+                if (!changeTypes.isEmpty()) {
+                    changedElements.add(new ElementChange(element.getId(), changeTypes));
+                }
+            }
+        }
+
+        // All elements that were not removed from the map don't exist anymore
+        List<Integer> removedIds = new ArrayList<>(previousElementsById.keySet());
+
+        addedIds.sort(Comparator.naturalOrder());
+        removedIds.sort(Comparator.naturalOrder());
+        changedElements.sort(Comparator.comparingInt(ElementChange::id));
+        boolean sizeChanged = previous.getWidth() != current.getWidth()
+            || previous.getHeight() != current.getHeight();
+        return new NohbConfigDiff(addedIds, removedIds, changedElements, sizeChanged);
+    }
+
+    private static Map<Integer, NohbElement> mapById(List<NohbElement> elements) {
+        Map<Integer, NohbElement> elementsById = new HashMap<>(elements.size() * 4 / 3 + 1);
+        for (NohbElement element : elements) {
+            if (elementsById.put(getIdOrThrow(element), element) != null) {
+                throw new IllegalArgumentException("Element ID '" + element.getId() + "' is used multiple times");
+            }
+        }
+        return elementsById;
+    }
+
+    private static int getIdOrThrow(NohbElement element) {
+        if (!element.hasId()) {
+            throw new IllegalArgumentException("Cannot compare element without ID (text: " + element.getText() + ")");
+        }
+        return element.getId();
+    }
+
+    private static EnumSet<ChangeType> compare(NohbElement previous, NohbElement current) {
+        EnumSet<ChangeType> changeTypes = EnumSet.noneOf(ChangeType.class);
+        if (!Objects.equals(previous.getType(), current.getType())) {
+            changeTypes.add(ChangeType.TYPE);
+        }
+        ChangeType boundaryChange =
+            compareBoundaries(previous.getBoundaryCoordinates(), current.getBoundaryCoordinates());
+        if (boundaryChange != null) {
+            changeTypes.add(boundaryChange);
+        }
+        if (!Objects.equals(previous.getKeyCodes(), current.getKeyCodes())) {
+            changeTypes.add(ChangeType.REBOUND);
+        }
+        if (!Objects.equals(previous.getText(), current.getText())
+            || !Objects.equals(previous.getShiftText(), current.getShiftText())
+            || previous.isChangeOnCaps() != current.isChangeOnCaps()) {
+            changeTypes.add(ChangeType.TEXT);
+        }
+        if (previous.hasTextPosition() != current.hasTextPosition()
+            || previous.getTextX() != current.getTextX() || previous.getTextY() != current.getTextY()) {
+            changeTypes.add(ChangeType.TEXT_POSITION);
+        }
+        return changeTypes;
+    }
+
+    /**
+     * Compares the boundaries. If all points are offset by the same distance, the element is considered to have
+     * been moved; otherwise, if any point is different, its shape is considered to have changed.
+     *
+     * @param previous the previous boundaries
+     * @param current the current boundaries
+     * @return the type of change, null if the boundaries are the same
+     */
+    private static ChangeType compareBoundaries(int[] previous, int[] current) {
+        if (previous == null || current == null) {
+            return previous == current ? null : ChangeType.RESIZED;
+        } else if (previous.length != current.length) {
+            return ChangeType.RESIZED;
+        } else if (previous.length == 0) {
+            return null;
+        }
+
+        // Coordinates are x/y pairs
+        int xOffset = current[0] - previous[0];
+        int yOffset = current[1] - previous[1];
+        for (int i = 2; i < previous.length; i += 2) {
+            if (current[i] - previous[i] != xOffset || current[i + 1] - previous[i + 1] != yOffset) {
+                return ChangeType.RESIZED;
+            }
+        }
+        return (xOffset == 0 && yOffset == 0) ? null : ChangeType.MOVED;
+    }
+}
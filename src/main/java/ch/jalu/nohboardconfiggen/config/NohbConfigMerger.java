@@ -0,0 +1,268 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges a generated configuration into an existing NohBoard keyboard file. Elements of the existing file whose
+ * ID is also used by a generated element of the same type are replaced; all other elements (e.g. mouse elements
+ * added in NohBoard's editor) are kept as they are. Generated elements with new IDs are added at the end.
+ * <p>
+ * Elements of the existing file with a type the generator does not create (e.g. mouse elements) are never
+ * replaced. NohBoard's editor assigns the next free ID to new elements, so such an element may have an ID that the
+ * generator assigns to a new key. In that case, the generated element gets the ID of an existing keyboard key with
+ * the same key codes that is not otherwise replaced (i.e. the element a previous merge moved), or else the lowest
+ * ID that is used neither by the generated nor by the existing elements. If the colliding ID of the generated
+ * element is predefined in the definition, an exception is thrown instead.
+ * <p>
+ * The existing file is read as a stream twice: first to collect the IDs of the elements that must be kept (see
+ * {@link #readExistingIds}), then to write the result at the same time (see {@link #merge}). Only one element of
+ * the existing file is held in memory at once. Since keyboard keys that are no longer generated cannot be
+ * distinguished from keyboard keys created by hand, they are kept as well.
+ */
+class NohbConfigMerger {
+
+    private final Gson gson;
+    /** Gson instance to copy existing JSON with, keeping null values. */
+    private final Gson copyingGson;
+    private final NohbConfiguration generatedConfig;
+    private final Set<String> generatedTypes = new HashSet<>();
+    private final Map<Integer, NohbElement> generatedElementsById = new LinkedHashMap<>();
+    private final Set<Integer> writtenIds = new HashSet<>();
+
+    /** Largest x-coordinate of the elements that were kept from the existing file. */
+    private int keptElementsMaxX;
+    /** Largest y-coordinate of the elements that were kept from the existing file. */
+    private int keptElementsMaxY;
+
+    NohbConfigMerger(Gson gson, NohbConfiguration generatedConfig) {
+        this.gson = gson;
+        this.copyingGson = gson.newBuilder().serializeNulls().create();
+        this.generatedConfig = generatedConfig;
+        for (NohbElement element : generatedConfig.getElements()) {
+            generatedTypes.add(element.getType());
+        }
+    }
+
+    /**
+     * Reads the IDs of the existing configuration and assigns new IDs to generated elements whose ID is used by
+     * an element that is kept. Must be called before {@link #merge}, with a reader of the same configuration.
+     *
+     * @param reader reader of the existing configuration
+     * @throws IOException if the JSON could not be read
+     */
+    void readExistingIds(JsonReader reader) throws IOException {
+        Set<Integer> generatedIds = new HashSet<>();
+        generatedConfig.getElements().forEach(element -> generatedIds.add(element.getId()));
+        Set<Integer> existingIds = new HashSet<>();
+        Map<Integer, String> keptTypesById = new HashMap<>();
+        Map<List<Integer>, Integer> unmatchedIdsByKeyCodes = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("Elements")) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonElement existingElement = JsonParser.parseReader(reader);
+                    Integer id = getId(existingElement);
+                    String type = getType(existingElement);
+                    if (id == null) {
+                        continue;
+                    }
+                    existingIds.add(id);
+                    if (!generatedTypes.contains(type)) {
+                        keptTypesById.put(id, type);
+                    } else if (!generatedIds.contains(id)) {
+                        unmatchedIdsByKeyCodes.putIfAbsent(getKeyCodes(existingElement), id);
+                    }
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        existingIds.addAll(generatedIds);
+        assignGeneratedIds(keptTypesById, unmatchedIdsByKeyCodes, existingIds);
+    }
+
+    /**
+     * Creates the map of generated elements by ID, assigning another ID to the elements whose ID is used by an
+     * element that is kept.
+     *
+     * @param keptTypesById type of the existing elements that are always kept, by ID
+     * @param unmatchedIdsByKeyCodes IDs of the existing keyboard keys without a generated element, by key codes
+     * @param usedIds IDs of all existing and generated elements
+     */
+    private void assignGeneratedIds(Map<Integer, String> keptTypesById,
+                                    Map<List<Integer>, Integer> unmatchedIdsByKeyCodes, Set<Integer> usedIds) {
+        int nextFreeId = 1;
+        for (NohbElement element : generatedConfig.getElements()) {
+            NohbElement elementToWrite = element;
+            String keptType = keptTypesById.get(element.getId());
+            if (keptType != null) {
+                if (!element.isIdGenerated()) {
+                    throw new IllegalStateException("Predefined ID '" + element.getId() + "' of key '"
+                        + element.getText() + "' is used by an element of type '" + keptType
+                        + "' in the existing file");
+                }
+                Integer previousId = unmatchedIdsByKeyCodes.remove(
+                    element.getKeyCodes() == null ? null : element.getKeyCodes().asList());
+                int newId;
+                if (previousId != null) {
+                    newId = previousId;
+                } else {
+                    while (usedIds.contains(nextFreeId)) {
+                        ++nextFreeId;
+                    }
+                    newId = nextFreeId;
+                    usedIds.add(newId);
+                }
+                // Copy so that the generated configuration is not changed
+                elementToWrite = new NohbElement(element);
+                elementToWrite.setId(newId);
+                elementToWrite.setIdGenerated(true);
+            }
+            generatedElementsById.put(elementToWrite.getId(), elementToWrite);
+        }
+    }
+
+    /**
+     * Reads the existing configuration from the reader and writes the merged configuration to the writer.
+     *
+     * @param reader reader of the existing configuration
+     * @param writer writer to write the merged configuration to
+     * @throws IOException if the JSON could not be read or written
+     */
+    void merge(JsonReader reader, JsonWriter writer) throws IOException {
+        if (generatedElementsById.isEmpty() && !generatedConfig.getElements().isEmpty()) {
+            throw new IllegalStateException("The IDs of the existing configuration must be read first");
+        }
+        boolean hasWrittenElements = false;
+
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case "Elements" -> {
+                    writer.name("Elements");
+                    mergeElements(reader, writer);
+                    hasWrittenElements = true;
+                }
+                // Keyboard properties are written at the end, once the kept elements are known
+                case "Height", "Width", "Version" -> reader.skipValue();
+                default -> {
+                    writer.name(name);
+                    copyingGson.toJson(JsonParser.parseReader(reader), writer);
+                }
+            }
+        }
+        reader.endObject();
+
+        if (!hasWrittenElements) {
+            writer.name("Elements");
+            writer.beginArray();
+            writeRemainingGeneratedElements(writer);
+            writer.endArray();
+        }
+        int margin = NohboardConfigGenerator.KEYBOARD_SURFACE_MARGIN;
+        writer.name("Height").value(Math.max(generatedConfig.getHeight(), keptElementsMaxY + margin));
+        writer.name("Width").value(Math.max(generatedConfig.getWidth(), keptElementsMaxX + margin));
+        writer.name("Version").value(generatedConfig.getVersion());
+        writer.endObject();
+    }
+
+    private void mergeElements(JsonReader reader, JsonWriter writer) throws IOException {
+        reader.beginArray();
+        writer.beginArray();
+        while (reader.hasNext()) {
+            JsonElement existingElement = JsonParser.parseReader(reader);
+            Integer id = getId(existingElement);
+            NohbElement generatedElement = generatedElementsById.get(id);
+            if (generatedElement != null && generatedTypes.contains(getType(existingElement))) {
+                if (writtenIds.add(id)) {
+                    gson.toJson(generatedElement, NohbElement.class, writer);
+                }
+                // else: drop duplicate of an ID the generator owns
+            } else {
+                copyingGson.toJson(existingElement, writer);
+                updateKeptElementsBounds(existingElement);
+            }
+        }
+        writeRemainingGeneratedElements(writer);
+        reader.endArray();
+        writer.endArray();
+    }
+
+    private void writeRemainingGeneratedElements(JsonWriter writer) {
+        for (NohbElement element : generatedElementsById.values()) {
+            if (writtenIds.add(element.getId())) {
+                gson.toJson(element, NohbElement.class, writer);
+            }
+        }
+    }
+
+    private static Integer getId(JsonElement element) {
+        if (element instanceof JsonObject object && object.get("Id") != null && !object.get("Id").isJsonNull()) {
+            return object.get("Id").getAsInt();
+        }
+        return null;
+    }
+
+    private static List<Integer> getKeyCodes(JsonElement element) {
+        if (element instanceof JsonObject object && object.get("KeyCodes") instanceof JsonArray keyCodes) {
+            List<Integer> codes = new ArrayList<>(keyCodes.size());
+            keyCodes.forEach(code -> codes.add(code.getAsInt()));
+            return codes;
+        }
+        return null;
+    }
+
+    private static String getType(JsonElement element) {
+        if (element instanceof JsonObject object && object.get("__type") instanceof JsonPrimitive type) {
+            return type.getAsString();
+        }
+        return null;
+    }
+
+    private void updateKeptElementsBounds(JsonElement element) {
+        if (!(element instanceof JsonObject object)) {
+            return;
+        }
+
+        if (object.get("Boundaries") instanceof JsonArray boundaries) {
+            for (JsonElement boundary : boundaries) {
+                if (boundary instanceof JsonObject coords) {
+                    updateKeptElementsBounds(coords, 0);
+                }
+            }
+        } else if (object.get("Location") instanceof JsonObject location) {
+            // Mouse speed indicators are circles defined by their center and radius
+            int radius = object.get("Radius") == null ? 0 : object.get("Radius").getAsInt();
+            updateKeptElementsBounds(location, radius);
+        }
+    }
+
+    private void updateKeptElementsBounds(JsonObject coords, int extent) {
+        if (coords.get("X") != null && coords.get("Y") != null) {
+            keptElementsMaxX = Math.max(keptElementsMaxX, coords.get("X").getAsInt() + extent);
+            keptElementsMaxY = Math.max(keptElementsMaxY, coords.get("Y").getAsInt() + extent);
+        }
+    }
+}
@@ -1,43 +1,60 @@
 package ch.jalu.nohboardconfiggen.config;
 
-import com.google.gson.annotations.SerializedName;
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.gson.annotations.JsonAdapter;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
-@Getter
-@Setter
+/**
+ * Element of a NohBoard configuration. Large boards have hundreds of thousands of elements, so the ID, the
+ * coordinates and the key codes are stored as primitives. The JSON is written and read by
+ * {@link NohbElementTypeAdapter}.
+ */
 @NoArgsConstructor
+@JsonAdapter(NohbElementTypeAdapter.class)
 public class NohbElement {
 
-    @SerializedName("__type")
+    private static final byte HAS_ID = 1;
+    private static final byte ID_GENERATED = 2;
+    private static final byte HAS_TEXT_POSITION = 4;
+    private static final byte CHANGE_ON_CAPS = 8;
+
+    @Getter
+    @Setter
     private String type = "KeyboardKey";
 
-    @SerializedName("Id")
-    private Integer id;
+    @Getter
+    @Setter
+    private String text;
 
-    @SerializedName("Boundaries")
-    private List<NohbCoords> boundaries;
+    @Getter
+    @Setter
+    private String shiftText;
 
-    @SerializedName("KeyCodes")
-    private List<Integer> keyCodes;
+    /** Key codes of the element (null if absent). Shared with the key binding the element was created for. */
+    @Getter
+    @Setter
+    private ImmutableIntArray keyCodes;
 
-    @SerializedName("Text")
-    private String text;
+    private int id;
+
+    /**
+     * Coordinates of the boundaries as x/y pairs (null if absent). Shared by all elements of the same key.
+     */
+    private int[] boundaries;
 
-    @SerializedName("TextPosition")
-    private NohbCoords textPosition;
+    private int textX;
 
-    @SerializedName("ChangeOnCaps")
-    private boolean changeOnCaps = false;
+    private int textY;
 
-    @SerializedName("ShiftText")
-    private String shiftText;
+    private byte flags;
 
     /**
-     * Copy constructor.
+     * Copy constructor. The boundaries remain shared with the source.
      *
      * @param source the source to copy from
      */
@@ -47,13 +64,182 @@ public class NohbElement {
         this.boundaries = source.boundaries;
         this.keyCodes = source.keyCodes;
         this.text = source.text;
-        this.textPosition = source.textPosition;
-        this.changeOnCaps = source.changeOnCaps;
+        this.textX = source.textX;
+        this.textY = source.textY;
         this.shiftText = source.shiftText;
+        this.flags = source.flags;
     }
 
     public void setTexts(String text) {
         this.text = text;
         this.shiftText = text;
     }
+
+    public boolean hasId() {
+        return hasFlag(HAS_ID);
+    }
+
+    /**
+     * Returns the ID of this element. Throws an exception if the element has no ID (see {@link #hasId()}).
+     *
+     * @return the ID
+     */
+    public int getId() {
+        if (!hasId()) {
+            throw new IllegalStateException("Element '" + text + "' has no ID");
+        }
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+        setFlag(HAS_ID, true);
+    }
+
+    /**
+     * Removes the ID of this element, and the flag that it was generated.
+     */
+    public void removeId() {
+        this.id = 0;
+        setFlag(HAS_ID, false);
+        setFlag(ID_GENERATED, false);
+    }
+
+    /**
+     * @return true if the ID was assigned automatically by the generator (not exported)
+     */
+    public boolean isIdGenerated() {
+        return hasFlag(ID_GENERATED);
+    }
+
+    public void setIdGenerated(boolean idGenerated) {
+        setFlag(ID_GENERATED, idGenerated);
+    }
+
+    public boolean isChangeOnCaps() {
+        return hasFlag(CHANGE_ON_CAPS);
+    }
+
+    public void setChangeOnCaps(boolean changeOnCaps) {
+        setFlag(CHANGE_ON_CAPS, changeOnCaps);
+    }
+
+    /**
+     * @return true if the element has boundaries (which may be an empty list)
+     */
+    public boolean hasBoundaries() {
+        return boundaries != null;
+    }
+
+    /**
+     * @return number of boundary points (0 if the element has no boundaries)
+     */
+    public int getBoundaryCount() {
+        return boundaries == null ? 0 : boundaries.length / 2;
+    }
+
+    public int getBoundaryX(int index) {
+        return boundaries[2 * index];
+    }
+
+    public int getBoundaryY(int index) {
+        return boundaries[2 * index + 1];
+    }
+
+    /**
+     * Returns the boundaries as coordinate objects. The list is a copy: changes to it are not reflected in
+     * this element.
+     *
+     * @return the boundaries (null if absent)
+     */
+    public List<NohbCoords> getBoundaries() {
+        if (boundaries == null) {
+            return null;
+        }
+        List<NohbCoords> coordsList = new ArrayList<>(getBoundaryCount());
+        for (int i = 0; i < getBoundaryCount(); ++i) {
+            coordsList.add(new NohbCoords(getBoundaryX(i), getBoundaryY(i)));
+        }
+        return coordsList;
+    }
+
+    public void setBoundaries(List<NohbCoords> coordsList) {
+        if (coordsList == null) {
+            boundaries = null;
+            return;
+        }
+        boundaries = new int[2 * coordsList.size()];
+        for (int i = 0; i < coordsList.size(); ++i) {
+            boundaries[2 * i] = coordsList.get(i).getX();
+            boundaries[2 * i + 1] = coordsList.get(i).getY();
+        }
+    }
+
+    /**
+     * Returns the coordinates of the boundaries as x/y pairs, e.g. {@code [x0, y0, x1, y1, ...]}. The array is
+     * not a copy and may be shared with other elements, so it must not be modified unless all sharing elements
+     * should be changed.
+     *
+     * @return the boundary coordinates (null if absent)
+     */
+    public int[] getBoundaryCoordinates() {
+        return boundaries;
+    }
+
+    /**
+     * Sets the coordinates of the boundaries as x/y pairs. The array is not copied.
+     *
+     * @param coordinates the coordinates to set (null to remove the boundaries)
+     */
+    public void setBoundaryCoordinates(int[] coordinates) {
+        if (coordinates != null && coordinates.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected x/y pairs, but got " + coordinates.length + " values");
+        }
+        this.boundaries = coordinates;
+    }
+
+    public boolean hasTextPosition() {
+        return hasFlag(HAS_TEXT_POSITION);
+    }
+
+    public int getTextX() {
+        return textX;
+    }
+
+    public int getTextY() {
+        return textY;
+    }
+
+    /**
+     * Returns the text position as a new coordinate object; changes to it are not reflected in this element.
+     *
+     * @return the text position (null if absent)
+     */
+    public NohbCoords getTextPosition() {
+        return hasTextPosition() ? new NohbCoords(textX, textY) : null;
+    }
+
+    public void setTextPosition(NohbCoords textPosition) {
+        if (textPosition == null) {
+            textX = 0;
+            textY = 0;
+            setFlag(HAS_TEXT_POSITION, false);
+        } else {
+            setTextPosition(textPosition.getX(), textPosition.getY());
+        }
+    }
+
+    public void setTextPosition(int x, int y) {
+        textX = x;
+        textY = y;
+        setFlag(HAS_TEXT_POSITION, true);
+    }
+
+    private boolean hasFlag(byte flag) {
+        return (flags & flag) != 0;
+    }
+
+    private void setFlag(byte flag, boolean value) {
+        flags = (byte) (value ? flags | flag : flags & ~flag);
+    }
 }
@@ -0,0 +1,143 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads {@link NohbElement} directly from its primitive fields, without creating any intermediate
+ * objects. The JSON is the same as Gson's reflective serialization of the element with {@code List<NohbCoords>}
+ * boundaries: properties in the order {@code __type, Id, Boundaries, KeyCodes, Text, TextPosition, ChangeOnCaps,
+ * ShiftText}, with absent values omitted.
+ * <p>
+ * When reading, unknown properties (e.g. of mouse elements) are skipped.
+ */
+final class NohbElementTypeAdapter extends TypeAdapter<NohbElement> {
+
+    @Override
+    public void write(JsonWriter out, NohbElement element) throws IOException {
+        if (element == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        if (element.getType() != null) {
+            out.name("__type").value(element.getType());
+        }
+        if (element.hasId()) {
+            out.name("Id").value(element.getId());
+        }
+        if (element.hasBoundaries()) {
+            out.name("Boundaries").beginArray();
+            for (int i = 0; i < element.getBoundaryCount(); ++i) {
+                writeCoords(out, element.getBoundaryX(i), element.getBoundaryY(i));
+            }
+            out.endArray();
+        }
+        if (element.getKeyCodes() != null) {
+            out.name("KeyCodes").beginArray();
+            ImmutableIntArray keyCodes = element.getKeyCodes();
+            for (int i = 0; i < keyCodes.length(); ++i) {
+                out.value(keyCodes.get(i));
+            }
+            out.endArray();
+        }
+        if (element.getText() != null) {
+            out.name("Text").value(element.getText());
+        }
+        if (element.hasTextPosition()) {
+            out.name("TextPosition");
+            writeCoords(out, element.getTextX(), element.getTextY());
+        }
+        out.name("ChangeOnCaps").value(element.isChangeOnCaps());
+        if (element.getShiftText() != null) {
+            out.name("ShiftText").value(element.getShiftText());
+        }
+        out.endObject();
+    }
+
+    private static void writeCoords(JsonWriter out, int x, int y) throws IOException {
+        out.beginObject();
+        out.name("X").value(x);
+        out.name("Y").value(y);
+        out.endObject();
+    }
+
+    @Override
+    public NohbElement read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        NohbElement element = new NohbElement();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                if (name.equals("__type")) {
+                    element.setType(null);
+                }
+                continue;
+            }
+
+            switch (name) {
+                case "__type" -> element.setType(in.nextString());
+                case "Id" -> element.setId(in.nextInt());
+                case "Boundaries" -> element.setBoundaryCoordinates(readCoordsList(in));
+                case "KeyCodes" -> element.setKeyCodes(readIntArray(in));
+                case "Text" -> element.setText(in.nextString());
+                case "ShiftText" -> element.setShiftText(in.nextString());
+                case "TextPosition" -> {
+                    int[] coords = readCoords(in);
+                    element.setTextPosition(coords[0], coords[1]);
+                }
+                case "ChangeOnCaps" -> element.setChangeOnCaps(in.nextBoolean());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return element;
+    }
+
+    private static int[] readCoordsList(JsonReader in) throws IOException {
+        ImmutableIntArray.Builder coordinates = ImmutableIntArray.builder(8);
+        in.beginArray();
+        while (in.hasNext()) {
+            int[] coords = readCoords(in);
+            coordinates.add(coords[0]).add(coords[1]);
+        }
+        in.endArray();
+        return coordinates.build().toArray();
+    }
+
+    private static int[] readCoords(JsonReader in) throws IOException {
+        int[] coords = new int[2];
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "X" -> coords[0] = in.nextInt();
+                case "Y" -> coords[1] = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return coords;
+    }
+
+    private static ImmutableIntArray readIntArray(JsonReader in) throws IOException {
+        ImmutableIntArray.Builder values = ImmutableIntArray.builder(2);
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(in.nextInt());
+        }
+        in.endArray();
+        return values.build().trimmed();
+    }
+}
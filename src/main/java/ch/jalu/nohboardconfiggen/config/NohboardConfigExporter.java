@@ -2,28 +2,172 @@ package ch.jalu.nohboardconfiggen.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class NohboardConfigExporter {
 
-    private final Gson gson = new GsonBuilder()
-        .setPrettyPrinting()
-        .create();
-
     public String toJson(NohbConfiguration config) {
-        return gson.toJson(config);
+        return GsonHolder.GSON.toJson(config);
     }
 
     public void export(NohbConfiguration config, Path fileToWriteTo) {
         try (FileWriter writer = new FileWriter(fileToWriteTo.toFile(), StandardCharsets.UTF_8)) {
-            gson.toJson(config, writer);
+            GsonHolder.GSON.toJson(config, writer);
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to write to '" + fileToWriteTo + "'", e);
         }
     }
+
+    /**
+     * Exports the configuration to all given files concurrently. The configuration is serialized only once,
+     * into a buffer from which all files are written with asynchronous file channels; the calling thread does
+     * not wait for any file to be written.
+     * <p>
+     * The returned future never completes exceptionally: errors are reported in the result of each file.
+     *
+     * @param config the configuration to export
+     * @param filesToWriteTo the files to write to
+     * @return future with the result for each file, in the order of the given files
+     */
+    public CompletableFuture<List<ExportResult>> exportAsync(NohbConfiguration config,
+                                                             Collection<Path> filesToWriteTo) {
+        ByteBuffer content = serializeToBuffer(config);
+        List<CompletableFuture<ExportResult>> futures = filesToWriteTo.stream()
+            .map(file -> AsyncFileWriter.write(content, file))
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(ignore -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Creates a zip archive to which multiple configurations can be written. The returned writer must be closed
+     * once all configurations have been added.
+     *
+     * @param zipFile the zip file to create
+     * @return writer to add configurations to the archive with
+     */
+    public ZipBundleWriter createZipBundle(Path zipFile) {
+        return new ZipBundleWriter(GsonHolder.GSON, zipFile);
+    }
+
+    /**
+     * Creates a writer to write a configuration element by element to the given writer. The given writer is
+     * closed when the returned writer is closed.
+     *
+     * @param writer the writer to write the JSON to
+     * @return writer to write the configuration with
+     */
+    public StreamingConfigWriter createStreamingWriter(Writer writer) {
+        return new StreamingConfigWriter(GsonHolder.GSON, writer);
+    }
+
+    /**
+     * Exports the configuration to the given file, keeping the elements of the existing file whose IDs are not
+     * used by the configuration, as well as all elements of types the generator does not create (e.g. mouse
+     * elements added in NohBoard's editor). See {@link NohbConfigMerger}.
+     * If the file does not exist, the configuration is exported normally.
+     *
+     * @param config the generated configuration
+     * @param fileToWriteTo the file to merge into
+     */
+    public void exportMerging(NohbConfiguration config, Path fileToWriteTo) {
+        if (!Files.exists(fileToWriteTo)) {
+            export(config, fileToWriteTo);
+            return;
+        }
+
+        // Write to a unique file in the same directory so that it can be moved atomically, and so that concurrent
+        // exports to the same file don't write to the same temporary file
+        Path tempFile;
+        try {
+            tempFile = Files.createTempFile(fileToWriteTo.toAbsolutePath().getParent(),
+                fileToWriteTo.getFileName().toString(), ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create temporary file for '" + fileToWriteTo + "'", e);
+        }
+
+        try {
+            Gson gson = GsonHolder.GSON;
+            NohbConfigMerger merger = new NohbConfigMerger(gson, config);
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(fileToWriteTo, StandardCharsets.UTF_8))) {
+                merger.readExistingIds(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read '" + fileToWriteTo + "'", e);
+            }
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(fileToWriteTo, StandardCharsets.UTF_8));
+                 JsonWriter writer = gson.newJsonWriter(Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8))) {
+                merger.merge(reader, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to merge into '" + fileToWriteTo + "'", e);
+            }
+
+            try {
+                Files.move(tempFile, fileToWriteTo, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to replace '" + fileToWriteTo + "'", e);
+            }
+        } finally {
+            // Only exists if merging or moving failed, e.g. also because the existing file is malformed
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private ByteBuffer serializeToBuffer(NohbConfiguration config) {
+        ExposedByteArrayOutputStream outputStream = new ExposedByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+            GsonHolder.GSON.toJson(config, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize configuration", e);
+        }
+        return outputStream.toByteBuffer();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignore) {
+        }
+    }
+
+    /**
+     * Holds the Gson instance, which is only created when a configuration is first serialized: creating it loads
+     * a considerable number of classes, which is noticeable in the start-up time of short runs. Gson instances
+     * are thread-safe, so it is shared by all exporters.
+     */
+    private static final class GsonHolder {
+
+        static final Gson GSON = new GsonBuilder()
+            .setPrettyPrinting()
+            .create();
+    }
+
+    /**
+     * Byte array output stream whose content can be wrapped into a buffer without copying.
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream() {
+            super(8192);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+        }
+    }
 }
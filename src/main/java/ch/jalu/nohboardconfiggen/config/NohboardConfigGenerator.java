@@ -7,73 +7,229 @@ import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
 import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
 import ch.jalu.nohboardconfiggen.definition.Unit;
 import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
+import com.google.common.collect.Sets;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Lays out the keys of a {@link KeyboardConfig} and creates the NohBoard elements for them.
+ * <p>
+ * The generator keeps the per-row layout of the last {@link #generate generated} configuration, so that
+ * a single changed row can be laid out again with {@link #regenerateRow} without recomputing the entire board.
+ * As such, an instance should not be shared between threads.
+ */
 public class NohboardConfigGenerator {
 
     private static final int MAX_BOUNDARY_INDEX = 2;
-    private static final int KEYBOARD_SURFACE_MARGIN = 5;
+    /** Space in pixels between the keyboard border and the keys. */
+    public static final int KEYBOARD_SURFACE_MARGIN = 5;
+
+    private KeyboardConfig lastConfig;
+    private List<RowLayout> lastRowLayouts;
+    private Set<Integer> lastPredefinedIds;
+    private NohbConfiguration lastResult;
 
     public NohbConfiguration generate(KeyboardConfig config) {
+        List<RowLayout> rowLayouts = new ArrayList<>(config.getRows().size());
+        List<NohbElement> elements = new ArrayList<>();
+
+        int yCurrentRowTop = KEYBOARD_SURFACE_MARGIN;
+        for (KeyboardRow row : config.getRows()) {
+            RowLayout rowLayout = layOutRow(row, yCurrentRowTop, config);
+            rowLayout.firstElementIndex = elements.size();
+            rowLayouts.add(rowLayout);
+            elements.addAll(rowLayout.elements);
+            yCurrentRowTop = rowLayout.nextRowTop;
+        }
+        Set<Integer> predefinedIds = collectAlreadyUsedIds(elements);
+        int nextId = 1;
+        for (RowLayout rowLayout : rowLayouts) {
+            nextId = generateIds(rowLayout, nextId, predefinedIds);
+        }
+
         NohbConfiguration nohbConfiguration = new NohbConfiguration();
-        nohbConfiguration.setElements(generateElements(config));
-        setHeightAndWidth(nohbConfiguration);
+        nohbConfiguration.setElements(elements);
+        setHeightAndWidth(nohbConfiguration, rowLayouts);
+
+        this.lastConfig = config;
+        this.lastRowLayouts = rowLayouts;
+        this.lastPredefinedIds = predefinedIds;
+        this.lastResult = nohbConfiguration;
         return nohbConfiguration;
     }
 
-    private List<NohbElement> generateElements(KeyboardConfig config) {
-        List<NohbElement> elements = new ArrayList<>();
+    /**
+     * Lays out the given row anew and updates the configuration that was last returned by {@link #generate}
+     * (or by a previous call to this method) accordingly. Rows above the changed row are not touched; the elements
+     * of the rows below are reused and only moved vertically if the height of the changed row is different.
+     * Auto-generated IDs are only assigned again from the first element whose ID may change.
+     * <p>
+     * The returned configuration is the same instance as the one previously returned, i.e. it is updated in place.
+     * If the new row cannot be used (e.g. because of a duplicate predefined ID), an exception is thrown and the
+     * configuration is left unchanged. The keyboard-level properties (key size, spacing) of the last generated
+     * config are used.
+     *
+     * @param rowIndex index of the row that has changed
+     * @param changedRow the new definition of the row
+     * @return the updated configuration
+     */
+    public NohbConfiguration regenerateRow(int rowIndex, KeyboardRow changedRow) {
+        if (lastResult == null) {
+            throw new IllegalStateException("No configuration was generated yet");
+        } else if (rowIndex < 0 || rowIndex >= lastRowLayouts.size()) {
+            throw new IndexOutOfBoundsException("Invalid row index " + rowIndex
+                + " for a keyboard with " + lastRowLayouts.size() + " rows");
+        }
 
-        // x is width, y is height
-        int xCurrentCell;
-        int yCurrentRowTop = KEYBOARD_SURFACE_MARGIN;
-        for (KeyboardRow row : config.getRows()) {
-            xCurrentCell = KEYBOARD_SURFACE_MARGIN;
-            if (row.getMarginLeft() != null) {
-                xCurrentCell += row.getMarginLeft().resolveToPixels(config.getWidth());
+        RowLayout oldLayout = lastRowLayouts.get(rowIndex);
+        RowLayout newLayout = layOutRow(changedRow, oldLayout.top, lastConfig);
+        Set<Integer> oldRowIds = collectPredefinedIds(oldLayout.elements);
+        Set<Integer> newRowIds = collectAlreadyUsedIds(newLayout.elements);
+        for (Integer id : newRowIds) {
+            if (lastPredefinedIds.contains(id) && !oldRowIds.contains(id)) {
+                throw new IllegalStateException("Predefined ID '" + id + "' is used multiple times!");
             }
+        }
+        // No exception may be thrown beyond this point, so that the state is never updated partially
+
+        lastPredefinedIds.removeAll(oldRowIds);
+        lastPredefinedIds.addAll(newRowIds);
+        replaceElements(rowIndex, oldLayout, newLayout);
 
-            int yMaxInCurrentRow = 0;
-            if (row.getMarginTop() != null) {
-                yCurrentRowTop += row.getMarginTop().resolveToPixels(config.getHeight());
+        int yDelta = newLayout.nextRowTop - oldLayout.nextRowTop;
+        if (yDelta != 0) {
+            for (int i = rowIndex + 1; i < lastRowLayouts.size(); ++i) {
+                lastRowLayouts.get(i).translateVertically(yDelta);
             }
+        }
 
-            NohbCoords topLeftPosition = null;
-            NohbCoords bottomRightPosition = null;
-            for (KeyDefinition keyDefinition : row.getKeys()) {
-                if (keyDefinition.isStacked()) {
-                    if (bottomRightPosition == null) {
-                        throw new IllegalStateException("Stacked key may not be first in row");
-                    }
-                    topLeftPosition = calculateTopLeftPosition(topLeftPosition.getX(),
-                        bottomRightPosition.getY() + config.getSpacing(), keyDefinition, config);
-                } else {
-                    topLeftPosition = calculateTopLeftPosition(xCurrentCell, yCurrentRowTop, keyDefinition, config);
-                }
+        // Auto-generated IDs depend on the elements and predefined IDs before them. A changed predefined ID
+        // may therefore also affect rows above the changed row, namely from the first one that generated an ID
+        // greater or equal to it.
+        Set<Integer> changedIds = Sets.symmetricDifference(oldRowIds, newRowIds);
+        int firstRowToUpdate = rowIndex;
+        int highestChangedId = 0;
+        if (!changedIds.isEmpty()) {
+            int lowestChangedId = Collections.min(changedIds);
+            highestChangedId = Collections.max(changedIds);
+            firstRowToUpdate = 0;
+            while (firstRowToUpdate < rowIndex
+                && lastRowLayouts.get(firstRowToUpdate).nextGeneratedId <= lowestChangedId) {
+                ++firstRowToUpdate;
+            }
+        }
+        regenerateIds(firstRowToUpdate, rowIndex, highestChangedId);
 
-                NohbElement element = new NohbElement();
-                element.setTexts(keyDefinition.getText());
-                element.setBoundaries(calculateBounds(topLeftPosition, config, keyDefinition));
-                element.setTextPosition(ConfigHelper.calculateCenterTextPosition(element.getBoundaries()));
-                List<NohbElement> elementsForKey =
-                    generateElementsForAllKeys(element, keyDefinition.getKeys(), keyDefinition.getId());
-                elements.addAll(elementsForKey);
+        setHeightAndWidth(lastResult, lastRowLayouts);
+        return lastResult;
+    }
 
-                bottomRightPosition = element.getBoundaries().get(MAX_BOUNDARY_INDEX);
-                yMaxInCurrentRow = Math.max(yMaxInCurrentRow, bottomRightPosition.getY());
-                xCurrentCell = bottomRightPosition.getX() + config.getSpacing();
+    private void replaceElements(int rowIndex, RowLayout oldLayout, RowLayout newLayout) {
+        List<NohbElement> elements = lastResult.getElements();
+        int firstElementIndex = oldLayout.firstElementIndex;
+        int oldSize = oldLayout.elements.size();
+        int newSize = newLayout.elements.size();
+        if (oldSize == newSize) {
+            for (int i = 0; i < newSize; ++i) {
+                elements.set(firstElementIndex + i, newLayout.elements.get(i));
+            }
+        } else {
+            List<NohbElement> changedRange = elements.subList(firstElementIndex, firstElementIndex + oldSize);
+            changedRange.clear();
+            changedRange.addAll(newLayout.elements);
+            for (int i = rowIndex + 1; i < lastRowLayouts.size(); ++i) {
+                lastRowLayouts.get(i).firstElementIndex += newSize - oldSize;
             }
-            yCurrentRowTop = yMaxInCurrentRow + config.getSpacing(); // todo: what if a key should go down two rows? :/
         }
 
-        validateAndGenerateIds(elements);
-        return elements;
+        newLayout.firstElementIndex = firstElementIndex;
+        newLayout.nextGeneratedId = oldLayout.nextGeneratedId;
+        lastRowLayouts.set(rowIndex, newLayout);
+    }
+
+    /**
+     * Assigns the auto-generated IDs again, starting with the given row. Stops after the changed row as soon as
+     * the remaining rows are known to keep their IDs, i.e. once the next ID to generate is the same as before and
+     * all changed predefined IDs are lower than it.
+     *
+     * @param firstRow the first row to process
+     * @param changedRowIndex the index of the changed row
+     * @param highestChangedId the highest predefined ID that was added or removed (0 if none)
+     */
+    private void regenerateIds(int firstRow, int changedRowIndex, int highestChangedId) {
+        int nextId = firstRow == 0 ? 1 : lastRowLayouts.get(firstRow - 1).nextGeneratedId;
+        for (int i = firstRow; i < lastRowLayouts.size(); ++i) {
+            RowLayout rowLayout = lastRowLayouts.get(i);
+            int previousNextId = rowLayout.nextGeneratedId;
+            for (NohbElement element : rowLayout.elements) {
+                if (element.isIdGenerated()) {
+                    element.removeId();
+                }
+            }
+            nextId = generateIds(rowLayout, nextId, lastPredefinedIds);
+            if (i >= changedRowIndex && nextId == previousNextId && nextId > highestChangedId) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lays out the keys of the given row. IDs are only set on elements whose key has a predefined ID.
+     *
+     * @param row the row to lay out
+     * @param yRowTop y position at which the row starts
+     * @param config the keyboard config (for the keyboard-level properties)
+     * @return the layout of the row
+     */
+    RowLayout layOutRow(KeyboardRow row, int yRowTop, KeyboardConfig config) {
+        List<NohbElement> elements = new ArrayList<>();
+
+        // x is width, y is height
+        int xCurrentCell = KEYBOARD_SURFACE_MARGIN;
+        if (row.getMarginLeft() != null) {
+            xCurrentCell += row.getMarginLeft().resolveToPixels(config.getWidth());
+        }
+
+        int yCurrentRowTop = yRowTop;
+        if (row.getMarginTop() != null) {
+            yCurrentRowTop += row.getMarginTop().resolveToPixels(config.getHeight());
+        }
+
+        int xMaxInCurrentRow = 0;
+        int yMaxInCurrentRow = 0;
+        NohbCoords topLeftPosition = null;
+        int[] previousBoundaries = null;
+        for (KeyDefinition keyDefinition : row.getKeys()) {
+            if (keyDefinition.isStacked()) {
+                if (previousBoundaries == null) {
+                    throw new IllegalStateException("Stacked key may not be first in row");
+                }
+                topLeftPosition = calculateTopLeftPosition(topLeftPosition.getX(),
+                    getBottomRightY(previousBoundaries) + config.getSpacing(), keyDefinition, config);
+            } else {
+                topLeftPosition = calculateTopLeftPosition(xCurrentCell, yCurrentRowTop, keyDefinition, config);
+            }
+
+            NohbElement element = new NohbElement();
+            element.setTexts(keyDefinition.getText());
+            int[] boundaries = calculateBounds(topLeftPosition, config, keyDefinition);
+            element.setBoundaryCoordinates(boundaries);
+            element.setTextPosition(ConfigHelper.calculateCenterTextPosition(boundaries));
+            elements.addAll(generateElementsForAllKeys(element, keyDefinition));
+
+            previousBoundaries = boundaries;
+            xMaxInCurrentRow = Math.max(xMaxInCurrentRow, getBottomRightX(boundaries));
+            yMaxInCurrentRow = Math.max(yMaxInCurrentRow, getBottomRightY(boundaries));
+            xCurrentCell = getBottomRightX(boundaries) + config.getSpacing();
+        }
+        int nextRowTop = yMaxInCurrentRow + config.getSpacing(); // todo: what if a key should go down two rows? :/
+        return new RowLayout(elements, yRowTop, nextRowTop, xMaxInCurrentRow, yMaxInCurrentRow);
     }
 
     private NohbCoords calculateTopLeftPosition(int xCurrentCell, int yCurrentRowTop,
@@ -98,29 +254,37 @@ public class NohboardConfigGenerator {
         return new NohbCoords(xCurrentCell, yTopLeftCurrentCell);
     }
 
-    private List<NohbElement> generateElementsForAllKeys(NohbElement template, List<KeyBinding> keyBindings,
-                                                         Integer predefinedId) {
+    private List<NohbElement> generateElementsForAllKeys(NohbElement template, KeyDefinition keyDefinition) {
+        List<KeyBinding> keyBindings = keyDefinition.getKeys();
         if (keyBindings.size() == 1) {
             template.setKeyCodes(keyBindings.get(0).getCodes());
-            template.setId(predefinedId);
+            if (keyDefinition.hasId()) {
+                template.setId(keyDefinition.getId());
+            }
             return List.of(template);
         }
 
-        Integer id = predefinedId;
         List<NohbElement> elements = new ArrayList<>(keyBindings.size());
-        for (KeyBinding keyBinding : keyBindings) {
+        for (int i = 0; i < keyBindings.size(); ++i) {
             NohbElement element = new NohbElement(template);
-            element.setKeyCodes(keyBinding.getCodes());
-            if (id != null) {
-                element.setId(id);
-                ++id;
+            element.setKeyCodes(keyBindings.get(i).getCodes());
+            if (keyDefinition.hasId()) {
+                element.setId(keyDefinition.getId() + i);
             }
             elements.add(element);
         }
         return elements;
     }
 
-    private List<NohbCoords> calculateBounds(NohbCoords topLeftPosition, KeyboardConfig config, KeyDefinition key) {
+    private static int getBottomRightX(int[] boundaries) {
+        return boundaries[2 * MAX_BOUNDARY_INDEX];
+    }
+
+    private static int getBottomRightY(int[] boundaries) {
+        return boundaries[2 * MAX_BOUNDARY_INDEX + 1];
+    }
+
+    private int[] calculateBounds(NohbCoords topLeftPosition, KeyboardConfig config, KeyDefinition key) {
         int leftX = topLeftPosition.getX();
         int topY = topLeftPosition.getY();
         int rightX = leftX + calculateKeySize(key.getCustomWidth(), config.getWidth(), config.getSpacing());
@@ -129,11 +293,11 @@ public class NohboardConfigGenerator {
         // The order of the bounds is relevant; NohBoard has them in the following order:
         // 0  1
         // 3  2
-        return List.of(
-            new NohbCoords(leftX, topY),
-            new NohbCoords(rightX, topY),
-            new NohbCoords(rightX, bottomY),
-            new NohbCoords(leftX, bottomY));
+        return new int[] {
+            leftX, topY,
+            rightX, topY,
+            rightX, bottomY,
+            leftX, bottomY };
     }
 
     private int calculateKeySize(ValueWithUnit customSize, int baseSize, int spacing) {
@@ -149,39 +313,63 @@ public class NohboardConfigGenerator {
         return size;
     }
 
-    private void setHeightAndWidth(NohbConfiguration config) {
+    private void setHeightAndWidth(NohbConfiguration config, List<RowLayout> rowLayouts) {
         int maxX = 0;
         int maxY = 0;
 
-        for (NohbElement element : config.getElements()) {
-            NohbCoords maxBoundary = element.getBoundaries().get(MAX_BOUNDARY_INDEX);
-            maxX = Math.max(maxX, maxBoundary.getX());
-            maxY = Math.max(maxY, maxBoundary.getY());
+        for (RowLayout rowLayout : rowLayouts) {
+            maxX = Math.max(maxX, rowLayout.xMax);
+            maxY = Math.max(maxY, rowLayout.yMax);
         }
 
         config.setWidth(maxX + KEYBOARD_SURFACE_MARGIN);
         config.setHeight(maxY + KEYBOARD_SURFACE_MARGIN);
     }
 
-    private void validateAndGenerateIds(List<NohbElement> elements) {
-        Set<Integer> alreadyUsedIds = collectAlreadyUsedIds(elements);
-
-        int id = 1;
-        for (NohbElement element : elements) {
-            if (element.getId() == null) {
-                while (alreadyUsedIds.contains(id)) {
+    /**
+     * Assigns an ID to all elements of the row without one, skipping the predefined IDs.
+     *
+     * @param rowLayout the row to process
+     * @param nextId the next ID to generate
+     * @param predefinedIds all predefined IDs of the keyboard
+     * @return the next ID to generate after this row
+     */
+    private static int generateIds(RowLayout rowLayout, int nextId, Set<Integer> predefinedIds) {
+        int id = nextId;
+        for (NohbElement element : rowLayout.elements) {
+            if (!element.hasId()) {
+                while (predefinedIds.contains(id)) {
                     ++id;
                 }
                 element.setId(id);
+                element.setIdGenerated(true);
                 ++id;
             }
         }
+        rowLayout.nextGeneratedId = id;
+        return id;
     }
 
-    private Set<Integer> collectAlreadyUsedIds(List<NohbElement> elements) {
+    private static Set<Integer> collectPredefinedIds(List<NohbElement> elements) {
         Set<Integer> predefinedIds = new HashSet<>();
         for (NohbElement element : elements) {
-            if (element.getId() != null) {
+            if (element.hasId() && !element.isIdGenerated()) {
+                predefinedIds.add(element.getId());
+            }
+        }
+        return predefinedIds;
+    }
+
+    /**
+     * Returns the IDs of the given elements, throwing an exception if an ID is used multiple times.
+     *
+     * @param elements the elements to process
+     * @return the IDs of the elements (modifiable set)
+     */
+    private static Set<Integer> collectAlreadyUsedIds(List<NohbElement> elements) {
+        Set<Integer> predefinedIds = new HashSet<>();
+        for (NohbElement element : elements) {
+            if (element.hasId()) {
                 boolean isNewId = predefinedIds.add(element.getId());
                 if (!isNewId) {
                     throw new IllegalStateException(
@@ -189,6 +377,54 @@ public class NohboardConfigGenerator {
                 }
             }
         }
-        return Collections.unmodifiableSet(predefinedIds);
+        return predefinedIds;
+    }
+
+    /**
+     * Layout result of one keyboard row.
+     */
+    static final class RowLayout {
+
+        final List<NohbElement> elements;
+        /** Y position at which the row starts (before the row's top margin is applied). */
+        private int top;
+        /** Y position at which the next row starts. */
+        int nextRowTop;
+        final int xMax;
+        int yMax;
+        /** Index of the row's first element in the list of all elements. */
+        int firstElementIndex;
+        /** Next ID to generate after this row. */
+        int nextGeneratedId;
+
+        RowLayout(List<NohbElement> elements, int top, int nextRowTop, int xMax, int yMax) {
+            this.elements = elements;
+            this.top = top;
+            this.nextRowTop = nextRowTop;
+            this.xMax = xMax;
+            this.yMax = yMax;
+        }
+
+        /**
+         * Moves all elements of this row by the given number of pixels on the y-axis.
+         *
+         * @param yDelta the pixels to move by
+         */
+        void translateVertically(int yDelta) {
+            // Elements of the same key share their boundaries, so make sure to move every boundary only once
+            Set<int[]> movedBoundaries = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (NohbElement element : elements) {
+                int[] boundaries = element.getBoundaryCoordinates();
+                if (movedBoundaries.add(boundaries)) {
+                    for (int i = 1; i < boundaries.length; i += 2) {
+                        boundaries[i] += yDelta;
+                    }
+                }
+                element.setTextPosition(element.getTextX(), element.getTextY() + yDelta);
+            }
+            top += yDelta;
+            nextRowTop += yDelta;
+            yMax += yDelta;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads existing NohBoard keyboard files (keyboard.json). The file is processed as a stream of tokens, so no
+ * JSON tree of the file is ever built; with {@link #read(Path, Consumer)}, elements are handed over one by one
+ * so that even very large keyboards can be processed with bounded memory.
+ * <p>
+ * Elements are read with {@link NohbElementTypeAdapter}, which skips properties that are not part of
+ * {@link NohbElement} (e.g. of mouse elements).
+ */
+public class NohboardConfigImporter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final NohbElementTypeAdapter ELEMENT_ADAPTER = new NohbElementTypeAdapter();
+
+    /**
+     * Loads the given NohBoard keyboard file with all of its elements.
+     *
+     * @param file the file to read
+     * @return the read configuration
+     */
+    public NohbConfiguration load(Path file) {
+        List<NohbElement> elements = new ArrayList<>();
+        NohbConfiguration config = read(file, elements::add);
+        config.setElements(elements);
+        return config;
+    }
+
+    /**
+     * Reads the given NohBoard keyboard file and passes each element to the given consumer as soon as it has
+     * been read. The returned configuration has the keyboard properties (such as the size) but no elements.
+     *
+     * @param file the file to read
+     * @param elementConsumer consumer to which the elements are passed
+     * @return configuration with the keyboard properties of the file and an empty list of elements
+     */
+    public NohbConfiguration read(Path file, Consumer<NohbElement> elementConsumer) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader, elementConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read from '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Reads a NohBoard keyboard configuration from the given reader, passing each element to the consumer.
+     *
+     * @param reader the reader to read from (not closed by this method)
+     * @param elementConsumer consumer to which the elements are passed
+     * @return configuration with the keyboard properties and an empty list of elements
+     * @throws IOException if the JSON cannot be read
+     */
+    public NohbConfiguration read(Reader reader, Consumer<NohbElement> elementConsumer) throws IOException {
+        JsonReader jsonReader = new JsonReader(skipByteOrderMark(reader));
+        NohbConfiguration config = new NohbConfiguration();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            switch (jsonReader.nextName()) {
+                case "Elements" -> {
+                    jsonReader.beginArray();
+                    while (jsonReader.hasNext()) {
+                        elementConsumer.accept(ELEMENT_ADAPTER.read(jsonReader));
+                    }
+                    jsonReader.endArray();
+                }
+                case "Height" -> config.setHeight(jsonReader.nextInt());
+                case "Width" -> config.setWidth(jsonReader.nextInt());
+                case "Version" -> config.setVersion(jsonReader.nextInt());
+                default -> jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+        return config;
+    }
+
+    private static Reader skipByteOrderMark(Reader reader) throws IOException {
+        Reader markableReader = reader.markSupported() ? reader : new BufferedReader(reader);
+        markableReader.mark(1);
+        if (markableReader.read() != BYTE_ORDER_MARK) {
+            markableReader.reset();
+        }
+        return markableReader;
+    }
+}
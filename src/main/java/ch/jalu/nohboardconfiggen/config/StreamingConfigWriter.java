@@ -0,0 +1,78 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * Writes a NohBoard configuration element by element, producing the same JSON as
+ * {@link NohboardConfigExporter#toJson}. The elements are written first, so the keyboard size is only needed
+ * at the very end: this allows to write a configuration without ever having all of its elements in memory.
+ * <p>
+ * Create instances with {@link NohboardConfigExporter#createStreamingWriter}. Add all elements with
+ * {@link #writeElements}, then call {@link #finish} and close the writer.
+ */
+public class StreamingConfigWriter implements Closeable {
+
+    private static final int VERSION = new NohbConfiguration().getVersion();
+
+    private final Gson gson;
+    private final JsonWriter jsonWriter;
+    private boolean isFinished;
+
+    StreamingConfigWriter(Gson gson, Writer writer) {
+        this.gson = gson;
+        try {
+            this.jsonWriter = gson.newJsonWriter(writer);
+            jsonWriter.beginObject();
+            jsonWriter.name("Elements");
+            jsonWriter.beginArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start configuration", e);
+        }
+    }
+
+    /**
+     * Writes the given elements.
+     *
+     * @param elements the elements to write
+     */
+    public void writeElements(Collection<NohbElement> elements) {
+        if (isFinished) {
+            throw new IllegalStateException("The configuration has already been finished");
+        }
+        for (NohbElement element : elements) {
+            gson.toJson(element, NohbElement.class, jsonWriter);
+        }
+    }
+
+    /**
+     * Writes the keyboard size and completes the configuration. No more elements may be written afterwards.
+     *
+     * @param height the height of the keyboard
+     * @param width the width of the keyboard
+     */
+    public void finish(int height, int width) {
+        try {
+            jsonWriter.endArray();
+            jsonWriter.name("Height").value(height);
+            jsonWriter.name("Width").value(width);
+            jsonWriter.name("Version").value(VERSION);
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to finish configuration", e);
+        }
+        isFinished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        jsonWriter.close();
+    }
+}
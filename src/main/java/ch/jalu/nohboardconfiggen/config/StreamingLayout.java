@@ -0,0 +1,96 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator.RowLayout;
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator.KEYBOARD_SURFACE_MARGIN;
+
+/**
+ * Lays out a keyboard one row at a time, producing the same elements as {@link NohboardConfigGenerator} without
+ * keeping the elements of previous rows: only the running bounding box and the next ID to generate are kept.
+ * <p>
+ * Generated IDs skip all predefined IDs, including those of rows that come later. Therefore, all rows must first
+ * be passed to {@link #collectPredefinedIds} before the first row is {@link #layOutRow laid out}.
+ */
+public class StreamingLayout {
+
+    private final NohboardConfigGenerator generator = new NohboardConfigGenerator();
+    private final KeyboardConfig config;
+    private final Set<Integer> predefinedIds = new HashSet<>();
+
+    private int yCurrentRowTop = KEYBOARD_SURFACE_MARGIN;
+    private int xMax;
+    private int yMax;
+    private int nextId = 1;
+    private boolean hasStartedLayout;
+
+    /**
+     * Constructor.
+     *
+     * @param config the keyboard config with the keyboard-level properties (the rows of the config are ignored)
+     */
+    public StreamingLayout(KeyboardConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Registers the predefined IDs of the given row. Throws an exception if an ID was already used.
+     *
+     * @param row the row to process
+     */
+    public void collectPredefinedIds(KeyboardRow row) {
+        if (hasStartedLayout) {
+            throw new IllegalStateException("Predefined IDs must be collected before the layout is started");
+        }
+        for (NohbElement element : generator.layOutRow(row, 0, config).elements) {
+            if (element.hasId() && !predefinedIds.add(element.getId())) {
+                throw new IllegalStateException("Predefined ID '" + element.getId() + "' is used multiple times!");
+            }
+        }
+    }
+
+    /**
+     * Lays out the given row below the previously laid out row and assigns IDs to all its elements.
+     *
+     * @param row the row to lay out
+     * @return the elements of the row
+     */
+    public List<NohbElement> layOutRow(KeyboardRow row) {
+        hasStartedLayout = true;
+        RowLayout rowLayout = generator.layOutRow(row, yCurrentRowTop, config);
+        yCurrentRowTop = rowLayout.nextRowTop;
+        xMax = Math.max(xMax, rowLayout.xMax);
+        yMax = Math.max(yMax, rowLayout.yMax);
+
+        for (NohbElement element : rowLayout.elements) {
+            if (!element.hasId()) {
+                while (predefinedIds.contains(nextId)) {
+                    ++nextId;
+                }
+                element.setId(nextId);
+                element.setIdGenerated(true);
+                ++nextId;
+            }
+        }
+        return rowLayout.elements;
+    }
+
+    /**
+     * @return width of the keyboard with all rows laid out so far
+     */
+    public int getWidth() {
+        return xMax + KEYBOARD_SURFACE_MARGIN;
+    }
+
+    /**
+     * @return height of the keyboard with all rows laid out so far
+     */
+    public int getHeight() {
+        return yMax + KEYBOARD_SURFACE_MARGIN;
+    }
+}
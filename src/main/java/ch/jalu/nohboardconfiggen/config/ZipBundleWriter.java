@@ -0,0 +1,81 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes multiple NohBoard configurations into one zip archive, using the folder structure of NohBoard's
+ * keyboards directory: {@code <category>/<keyboard name>/keyboard.json}. Each configuration is serialized
+ * directly into its zip entry, so no temporary files or intermediate strings are created.
+ * <p>
+ * Create instances with {@link NohboardConfigExporter#createZipBundle(Path)}.
+ */
+public class ZipBundleWriter implements Closeable {
+
+    private static final String KEYBOARD_FILE_NAME = "keyboard.json";
+
+    private final Gson gson;
+    private final Path zipFile;
+    private final ZipOutputStream zipOutputStream;
+    private final Writer writer;
+
+    ZipBundleWriter(Gson gson, Path zipFile) {
+        this.gson = gson;
+        this.zipFile = zipFile;
+        try {
+            this.zipOutputStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipFile)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create '" + zipFile + "'", e);
+        }
+        this.writer = new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Adds the given configuration to the archive.
+     *
+     * @param category the NohBoard category (top-level folder) of the keyboard
+     * @param keyboardName the name of the keyboard (folder within the category)
+     * @param config the configuration to add
+     */
+    public void add(String category, String keyboardName, NohbConfiguration config) {
+        String entryName = validateFolderName(category) + "/" + validateFolderName(keyboardName)
+            + "/" + KEYBOARD_FILE_NAME;
+        try {
+            zipOutputStream.putNextEntry(new ZipEntry(entryName));
+            gson.toJson(config, writer);
+            // Push the characters buffered by the writer into the entry before closing it
+            writer.flush();
+            zipOutputStream.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write '" + entryName + "' to '" + zipFile + "'", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close '" + zipFile + "'", e);
+        }
+    }
+
+    private static String validateFolderName(String name) {
+        if (name == null || name.isBlank() || name.contains("/") || name.contains("\\")
+            || name.equals(".") || name.equals("..")) {
+            throw new IllegalArgumentException("Invalid folder name: '" + name + "'");
+        }
+        return name;
+    }
+}
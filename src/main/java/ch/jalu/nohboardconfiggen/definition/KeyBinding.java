@@ -1,16 +1,20 @@
 package ch.jalu.nohboardconfiggen.definition;
 
+import com.google.common.primitives.ImmutableIntArray;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
-import java.util.List;
-
+/**
+ * Key codes that must be pressed together to trigger a key. Immutable; the codes are stored as primitive ints.
+ */
 @Getter
+@ToString
 @EqualsAndHashCode
 @RequiredArgsConstructor
-public class KeyBinding {
+public final class KeyBinding {
 
-    private final List<Integer> codes;
+    private final ImmutableIntArray codes;
 
 }
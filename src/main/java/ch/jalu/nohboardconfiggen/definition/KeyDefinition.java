@@ -1,24 +1,75 @@
 package ch.jalu.nohboardconfiggen.definition;
 
+import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
-import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Definition of a key. Immutable: instances are created with {@link #builder()}.
+ * <p>
+ * Keyboards have thousands of keys, so the ID and the stacked property are stored as primitive fields and keys
+ * without bindings share the same empty list.
+ */
 @Getter
-@Setter
-@ToString
-public class KeyDefinition {
-
-    private String text;
-    private List<KeyBinding> keys = new ArrayList<>();
-    private ValueWithUnit customHeight;
-    private ValueWithUnit customWidth;
-    private ValueWithUnit marginTop;
-    private ValueWithUnit marginLeft;
-    private Integer id;
-    private boolean stacked;
+public final class KeyDefinition {
 
+    private static final byte HAS_ID = 1;
+    private static final byte STACKED = 2;
+
+    private final String text;
+    private final List<KeyBinding> keys;
+    private final ValueWithUnit customHeight;
+    private final ValueWithUnit customWidth;
+    private final ValueWithUnit marginTop;
+    private final ValueWithUnit marginLeft;
+    @Getter(AccessLevel.NONE)
+    private final int id;
+    @Getter(AccessLevel.NONE)
+    private final byte flags;
+
+    @Builder
+    private KeyDefinition(String text, List<KeyBinding> keys, ValueWithUnit customHeight,
+                          ValueWithUnit customWidth, ValueWithUnit marginTop, ValueWithUnit marginLeft,
+                          Integer id, boolean stacked) {
+        this.text = text;
+        this.keys = keys == null ? List.of() : List.copyOf(keys);
+        this.customHeight = customHeight;
+        this.customWidth = customWidth;
+        this.marginTop = marginTop;
+        this.marginLeft = marginLeft;
+        this.id = id == null ? 0 : id;
+        this.flags = (byte) ((id == null ? 0 : HAS_ID) | (stacked ? STACKED : 0));
+    }
+
+    /**
+     * @return true if the key has a predefined ID, false otherwise
+     */
+    public boolean hasId() {
+        return (flags & HAS_ID) != 0;
+    }
+
+    /**
+     * Returns the predefined ID of this key. Throws an exception if the key has no ID (see {@link #hasId()}).
+     *
+     * @return the ID
+     */
+    public int getId() {
+        if (!hasId()) {
+            throw new IllegalStateException("Key '" + text + "' has no predefined ID");
+        }
+        return id;
+    }
+
+    public boolean isStacked() {
+        return (flags & STACKED) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyDefinition(text=" + text + ", keys=" + keys + ", customHeight=" + customHeight
+            + ", customWidth=" + customWidth + ", marginTop=" + marginTop + ", marginLeft=" + marginLeft
+            + ", id=" + (hasId() ? id : null) + ", stacked=" + isStacked() + ")";
+    }
 }
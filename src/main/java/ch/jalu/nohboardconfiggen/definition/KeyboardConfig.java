@@ -1,21 +1,43 @@
 package ch.jalu.nohboardconfiggen.definition;
 
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Model of a keyboard from which a NohBoard configuration is created. Immutable, and thus safe to share between
+ * threads: instances are created with {@link #builder()}.
+ */
 @Getter
-@Setter
 @ToString
-public class KeyboardConfig {
+public final class KeyboardConfig {
 
-    private int width = 40;
-    private int height = 40;
-    private int spacing = 1;
+    private final int width;
+    private final int height;
+    private final int spacing;
 
-    private List<KeyboardRow> rows = new ArrayList<>();
+    private final List<KeyboardRow> rows;
+
+    @Builder(toBuilder = true)
+    private KeyboardConfig(int width, int height, int spacing, List<KeyboardRow> rows) {
+        this.width = width;
+        this.height = height;
+        this.spacing = spacing;
+        this.rows = rows == null ? List.of() : List.copyOf(rows);
+    }
+
+    /**
+     * Returns a builder with the default values: keys of 40x40 pixels with 1 pixel spacing, and no rows.
+     *
+     * @return new builder
+     */
+    public static KeyboardConfigBuilder builder() {
+        return new KeyboardConfigBuilder()
+            .width(40)
+            .height(40)
+            .spacing(1);
+    }
 
 }
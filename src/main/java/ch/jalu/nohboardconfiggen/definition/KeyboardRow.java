@@ -1,19 +1,27 @@
 package ch.jalu.nohboardconfiggen.definition;
 
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Row of keys. Immutable: instances are created with {@link #builder()}.
+ */
 @Getter
-@Setter
 @ToString
-public class KeyboardRow {
+public final class KeyboardRow {
 
-    private List<KeyDefinition> keys = new ArrayList<>();
-    private ValueWithUnit marginTop;
-    private ValueWithUnit marginLeft;
+    private final List<KeyDefinition> keys;
+    private final ValueWithUnit marginTop;
+    private final ValueWithUnit marginLeft;
+
+    @Builder
+    private KeyboardRow(List<KeyDefinition> keys, ValueWithUnit marginTop, ValueWithUnit marginLeft) {
+        this.keys = keys == null ? List.of() : List.copyOf(keys);
+        this.marginTop = marginTop;
+        this.marginLeft = marginLeft;
+    }
 
 }
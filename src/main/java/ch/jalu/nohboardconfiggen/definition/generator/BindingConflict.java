@@ -0,0 +1,43 @@
+package ch.jalu.nohboardconfiggen.definition.generator;
+
+import java.util.List;
+
+/**
+ * Conflict between the key bindings of two keys of a keyboard model.
+ *
+ * @param type the type of conflict
+ * @param keyText text of the key whose binding causes the conflict
+ * @param otherKeyText text of the key the binding conflicts with
+ * @param codes the key codes of the binding of {@code keyText}
+ * @param otherCodes the key codes of the binding of {@code otherKeyText}
+ */
+public record BindingConflict(Type type, String keyText, String otherKeyText,
+                              List<Integer> codes, List<Integer> otherCodes) {
+
+    /**
+     * Returns a description of this conflict for the user.
+     *
+     * @return the conflict message
+     */
+    public String toMessage() {
+        return switch (type) {
+            case DUPLICATE -> "Key '" + keyText + "' has the same binding " + codes
+                + " as key '" + otherKeyText + "'";
+            case SHADOWED -> "Key '" + keyText + "' with binding " + codes
+                + " is also highlighted by the binding " + otherCodes + " of key '" + otherKeyText + "'";
+        };
+    }
+
+    /**
+     * Type of binding conflict.
+     */
+    public enum Type {
+
+        /** Two keys are bound to the exact same set of key codes. */
+        DUPLICATE,
+
+        /** All codes of a binding are part of a larger binding of another key, so both light up together. */
+        SHADOWED
+
+    }
+}
@@ -0,0 +1,136 @@
+package ch.jalu.nohboardconfiggen.definition.generator;
+
+import ch.jalu.nohboardconfiggen.definition.KeyBinding;
+import ch.jalu.nohboardconfiggen.definition.KeyDefinition;
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds key bindings of a keyboard model that conflict with each other: bindings with the exact same codes on
+ * two keys, and bindings whose codes are all part of another key's chord.
+ * <p>
+ * Each binding is encoded as a 256-bit set of key codes and indexed by that set, so duplicates are found with
+ * one hash lookup per binding. Shadowed bindings are found by looking up the proper subsets of each chord,
+ * which keeps the analysis near-linear in the number of bindings as chords only consist of a few keys.
+ * <p>
+ * This class is stateless and thread-safe.
+ */
+public class BindingConflictDetector {
+
+    /**
+     * Max number of distinct codes of a chord for which its subsets are checked. Subsets of larger chords are
+     * not enumerated to avoid the exponential blow-up, but the chords are still checked for duplicates.
+     */
+    static final int MAX_CHORD_SIZE_FOR_SUBSETS = 10;
+
+    /**
+     * Returns all binding conflicts of the given keyboard model. Conflicts are returned in the order of the
+     * keys in the model; each conflict refers to a key that appears before it (duplicates) or to the chord
+     * that shadows it.
+     *
+     * @param config the keyboard model to analyze
+     * @return all conflicts (empty list if there are none)
+     */
+    public List<BindingConflict> findConflicts(KeyboardConfig config) {
+        List<IndexedBinding> bindings = collectBindings(config);
+        Map<KeyCodeSet, IndexedBinding> bindingsByCodes = new HashMap<>();
+        List<BindingConflict> conflicts = new ArrayList<>();
+
+        for (IndexedBinding binding : bindings) {
+            IndexedBinding existing = bindingsByCodes.putIfAbsent(binding.codeSet, binding);
+            if (existing != null && existing.key != binding.key) {
+                conflicts.add(new BindingConflict(BindingConflict.Type.DUPLICATE, binding.key.getText(),
+                    existing.key.getText(), binding.codes, existing.codes));
+            }
+        }
+
+        for (IndexedBinding chord : bindings) {
+            int[] codes = chord.codeSet.toCodeArray();
+            if (codes.length < 2 || codes.length > MAX_CHORD_SIZE_FOR_SUBSETS
+                || bindingsByCodes.get(chord.codeSet) != chord) {
+                continue;
+            }
+            int fullMask = (1 << codes.length) - 1;
+            for (int mask = 1; mask < fullMask; ++mask) {
+                IndexedBinding subset = bindingsByCodes.get(KeyCodeSet.ofSubset(codes, mask));
+                if (subset != null && subset.key != chord.key) {
+                    conflicts.add(new BindingConflict(BindingConflict.Type.SHADOWED, subset.key.getText(),
+                        chord.key.getText(), subset.codes, chord.codes));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static List<IndexedBinding> collectBindings(KeyboardConfig config) {
+        List<IndexedBinding> bindings = new ArrayList<>();
+        for (KeyboardRow row : config.getRows()) {
+            for (KeyDefinition key : row.getKeys()) {
+                for (KeyBinding binding : key.getKeys()) {
+                    if (!binding.getCodes().isEmpty()) {
+                        List<Integer> codes = binding.getCodes().asList();
+                        bindings.add(new IndexedBinding(key, codes, KeyCodeSet.of(codes)));
+                    }
+                }
+            }
+        }
+        return bindings;
+    }
+
+    private record IndexedBinding(KeyDefinition key, List<Integer> codes, KeyCodeSet codeSet) {
+    }
+
+    /**
+     * Immutable set of key codes (0-255) backed by four longs.
+     */
+    record KeyCodeSet(long bits0, long bits1, long bits2, long bits3) {
+
+        static KeyCodeSet of(List<Integer> codes) {
+            long[] bits = new long[4];
+            for (int code : codes) {
+                if (code < 0 || code > 255) {
+                    throw new IllegalArgumentException("Key code " + code + " is out of range");
+                }
+                bits[code >>> 6] |= 1L << code;
+            }
+            return new KeyCodeSet(bits[0], bits[1], bits[2], bits[3]);
+        }
+
+        /**
+         * Creates a set with the codes whose index is set in the given bit mask.
+         *
+         * @param codes the codes to choose from
+         * @param mask bit mask of the indices into {@code codes} to include
+         * @return the subset
+         */
+        static KeyCodeSet ofSubset(int[] codes, int mask) {
+            long[] bits = new long[4];
+            for (int i = 0; i < codes.length; ++i) {
+                if ((mask & (1 << i)) != 0) {
+                    bits[codes[i] >>> 6] |= 1L << codes[i];
+                }
+            }
+            return new KeyCodeSet(bits[0], bits[1], bits[2], bits[3]);
+        }
+
+        int[] toCodeArray() {
+            long[] bits = { bits0, bits1, bits2, bits3 };
+            int[] codes = new int[Long.bitCount(bits0) + Long.bitCount(bits1)
+                + Long.bitCount(bits2) + Long.bitCount(bits3)];
+            int index = 0;
+            for (int word = 0; word < 4; ++word) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    codes[index++] = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                }
+            }
+            return codes;
+        }
+    }
+}
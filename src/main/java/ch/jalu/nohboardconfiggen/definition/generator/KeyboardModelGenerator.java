@@ -13,17 +13,30 @@ import ch.jalu.nohboardconfiggen.definition.parser.element.KeyNameSet;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyRow;
 import ch.jalu.nohboardconfiggen.keycode.KeyboardLayout;
 import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+import com.google.common.base.Suppliers;
+import com.google.common.primitives.ImmutableIntArray;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Converts attributes and rows generated by the parser to a completed {@link KeyboardConfig}, which is
  * the final model from which a NohBoard configuration file is created.
+ * <p>
+ * This class is thread-safe: keyboard layouts are cached in a concurrent map and are not modified once created;
+ * all other state is local to each call.
  */
 public class KeyboardModelGenerator {
 
+    /** Keyboard layouts are immutable once created, so they are kept for subsequent generations. */
+    private final Map<KeyboardRegion, KeyboardLayout> layoutsByRegion = new ConcurrentHashMap<>();
+    private final Supplier<KeyboardLayout> layoutWithoutRegion = Suppliers.memoize(() -> KeyboardLayout.create(null));
+
     /**
      * Creates a {@link KeyboardConfig} from the provided objects that were parsed from a definition file.
      *
@@ -32,16 +45,134 @@ public class KeyboardModelGenerator {
      * @return finished keyboard config
      */
     public KeyboardConfig generate(List<Attribute> attributes, List<KeyRow> rows) {
-        KeyboardConfig config = new KeyboardConfig();
+        Function<KeyRow, KeyboardRow> rowConverter = createRowConverter(attributes);
+        return generateWithoutRows(attributes).toBuilder()
+            .rows(rows.stream().map(rowConverter).toList())
+            .build();
+    }
+
+    /**
+     * Creates a {@link KeyboardConfig} from the provided parsed objects, resolving key names with the layout of
+     * the given region instead of the region declared in the attributes.
+     *
+     * @param attributes the parsed attribute definitions
+     * @param rows the parsed row definitions
+     * @param region the region whose layout should be used (null for the layout with only general bindings)
+     * @return finished keyboard config
+     */
+    public KeyboardConfig generate(List<Attribute> attributes, List<KeyRow> rows, KeyboardRegion region) {
+        KeyboardLayout keyboardLayout = getKeyboardLayout(region);
+        return generateWithoutRows(attributes).toBuilder()
+            .rows(rows.stream().map(row -> convertKeyboardRow(row, keyboardLayout)).toList())
+            .build();
+    }
+
+    /**
+     * Resolves the key codes of all key bindings of the given rows with the layout of the given region. The
+     * codes are returned in the order of the bindings in the definition, which is also the order of the NohBoard
+     * elements generated for them.
+     *
+     * @param rows the parsed row definitions
+     * @param region the region whose layout should be used (null for the layout with only general bindings)
+     * @return the key codes of each binding
+     */
+    public List<ImmutableIntArray> resolveKeyCodes(List<KeyRow> rows, KeyboardRegion region) {
+        KeyboardLayout keyboardLayout = getKeyboardLayout(region);
+        List<ImmutableIntArray> keyCodes = new ArrayList<>();
+        for (KeyRow row : rows) {
+            for (KeyLine keyLine : row.getKeys()) {
+                for (KeyBinding binding : mapToKeyBindingModels(keyLine.keys(), keyboardLayout)) {
+                    keyCodes.add(binding.getCodes());
+                }
+            }
+        }
+        return keyCodes;
+    }
+
+    /**
+     * Creates a {@link KeyboardConfig} with the keyboard-level properties only, for generations that process
+     * one row at a time (see {@link #createRowConverter}).
+     *
+     * @param attributes the parsed attribute definitions
+     * @return keyboard config without any rows
+     */
+    public KeyboardConfig generateWithoutRows(List<Attribute> attributes) {
+        KeyboardConfig.KeyboardConfigBuilder config = KeyboardConfig.builder();
         attributes.forEach(attr -> KeyboardAttributesConverter.processAttribute(config, attr));
+        return config.build();
+    }
 
+    /**
+     * Returns a function that converts parsed rows to their model, resolving key names with the keyboard layout
+     * declared in the given attributes.
+     *
+     * @param attributes the parsed attribute definitions
+     * @return function converting parsed rows
+     */
+    public Function<KeyRow, KeyboardRow> createRowConverter(List<Attribute> attributes) {
         KeyboardLayout keyboardLayout = getKeyboardLayout(attributes);
-        List<KeyboardRow> rowModels = rows.stream()
-            .map(row -> convertKeyboardRow(row, keyboardLayout))
-            .toList();
-        config.setRows(rowModels);
+        return row -> convertKeyboardRow(row, keyboardLayout);
+    }
 
-        return config;
+    /**
+     * Validates the provided parsed objects, collecting all errors instead of stopping at the first one.
+     * Every key binding and attribute of a key is validated separately, so that each error has the position of
+     * the element it relates to. Keyboard-level attributes have no position.
+     *
+     * @param attributes the parsed attribute definitions
+     * @param rows the parsed row definitions
+     * @return all errors (empty list if the definition is valid)
+     */
+    public List<ValidationError> validate(List<Attribute> attributes, List<KeyRow> rows) {
+        List<ValidationError> errors = new ArrayList<>();
+        KeyboardConfig.KeyboardConfigBuilder config = KeyboardConfig.builder();
+        for (Attribute attribute : attributes) {
+            collectError(errors, 0, 0, () -> KeyboardAttributesConverter.processAttribute(config, attribute));
+        }
+
+        KeyboardLayout keyboardLayout;
+        try {
+            keyboardLayout = getKeyboardLayout(attributes);
+        } catch (IllegalArgumentException e) {
+            errors.add(new ValidationError(0, 0, e.getMessage()));
+            keyboardLayout = layoutWithoutRegion.get();
+        }
+
+        for (KeyRow row : rows) {
+            KeyboardRow.KeyboardRowBuilder rowModel = KeyboardRow.builder();
+            for (int i = 0; i < row.getAttributes().size(); ++i) {
+                Attribute attribute = row.getAttributes().get(i);
+                collectError(errors, row.getAttributeLineNumber(i), row.getAttributeColumn(i),
+                    () -> RowAttributesConverter.processAttribute(rowModel, attribute));
+            }
+            for (KeyLine keyLine : row.getKeys()) {
+                validateKeyLine(keyLine, keyboardLayout, errors);
+            }
+        }
+        return errors;
+    }
+
+    private static void validateKeyLine(KeyLine keyLine, KeyboardLayout keyboardLayout,
+                                        List<ValidationError> errors) {
+        for (int i = 0; i < keyLine.keys().size(); ++i) {
+            KeyNameSet keyNameSet = keyLine.keys().get(i);
+            collectError(errors, keyLine.lineNumber(), keyLine.getKeyColumn(i),
+                () -> mapToKeyBindingModels(List.of(keyNameSet), keyboardLayout));
+        }
+        KeyDefinition.KeyDefinitionBuilder keyModel = KeyDefinition.builder();
+        for (int i = 0; i < keyLine.attributes().size(); ++i) {
+            Attribute attribute = keyLine.attributes().get(i);
+            collectError(errors, keyLine.lineNumber(), keyLine.getAttributeColumn(i),
+                () -> KeyAttributesConverter.processAttribute(keyModel, attribute));
+        }
+    }
+
+    private static void collectError(List<ValidationError> errors, int lineNumber, int column, Runnable action) {
+        try {
+            action.run();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            errors.add(new ValidationError(lineNumber, column, e.getMessage()));
+        }
     }
 
     private KeyboardRow convertKeyboardRow(KeyRow row, KeyboardLayout keyboardLayout) {
@@ -49,26 +180,27 @@ public class KeyboardModelGenerator {
             .map(keyLine -> mapToKeyModel(keyLine, keyboardLayout))
             .toList();
 
-        KeyboardRow rowModel = new KeyboardRow();
+        KeyboardRow.KeyboardRowBuilder rowModel = KeyboardRow.builder().keys(keyModels);
         row.getAttributes().forEach(attr -> RowAttributesConverter.processAttribute(rowModel, attr));
-        rowModel.setKeys(keyModels);
-        return rowModel;
+        return rowModel.build();
     }
 
     private KeyDefinition mapToKeyModel(KeyLine keyLine, KeyboardLayout keyboardLayout) {
-        KeyDefinition keyModel = new KeyDefinition();
-        keyModel.setText(keyLine.displayText());
-        keyModel.setKeys(mapToKeyBindingModels(keyLine.keys(), keyboardLayout));
+        KeyDefinition.KeyDefinitionBuilder keyModel = KeyDefinition.builder()
+            .text(keyLine.displayText())
+            .keys(mapToKeyBindingModels(keyLine.keys(), keyboardLayout));
         keyLine.attributes().forEach(attr -> KeyAttributesConverter.processAttribute(keyModel, attr));
-        return keyModel;
+        return keyModel.build();
     }
 
-    private List<KeyBinding> mapToKeyBindingModels(List<KeyNameSet> keyNameSets, KeyboardLayout keyboardLayout) {
+    private static List<KeyBinding> mapToKeyBindingModels(List<KeyNameSet> keyNameSets, KeyboardLayout keyboardLayout) {
         List<KeyBinding> result = new ArrayList<>(keyNameSets.size());
         for (KeyNameSet keyNameSet : keyNameSets) {
-            List<Integer> keyCodes = keyNameSet.keys().stream().map(keyboardLayout::getKeyCodeOrThrow).toList();
-            KeyBinding keyBinding = new KeyBinding(keyCodes);
-            result.add(keyBinding);
+            ImmutableIntArray.Builder keyCodes = ImmutableIntArray.builder(keyNameSet.keys().size());
+            for (String keyName : keyNameSet.keys()) {
+                keyCodes.add(keyboardLayout.getKeyCodeOrThrow(keyName));
+            }
+            result.add(new KeyBinding(keyCodes.build()));
         }
         return result;
     }
@@ -79,9 +211,21 @@ public class KeyboardModelGenerator {
             .map(Attribute::value)
             .findFirst();
 
-        KeyboardRegion region = keyboardCode
+        return keyboardCode
             .map(KeyboardRegion::findByCodeOrThrow)
-            .orElse(null);
-        return KeyboardLayout.create(region);
+            .map(this::getKeyboardLayout)
+            .orElseGet(layoutWithoutRegion);
+    }
+
+    /**
+     * Returns the keyboard layout for the given region. Layouts are only created when they are first needed.
+     *
+     * @param region the region, or null for the layout with only general bindings
+     * @return the keyboard layout
+     */
+    public KeyboardLayout getKeyboardLayout(KeyboardRegion region) {
+        return region == null
+            ? layoutWithoutRegion.get()
+            : layoutsByRegion.computeIfAbsent(region, KeyboardLayout::create);
     }
 }
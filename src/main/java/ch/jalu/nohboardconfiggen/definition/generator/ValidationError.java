@@ -0,0 +1,12 @@
+package ch.jalu.nohboardconfiggen.definition.generator;
+
+/**
+ * Error found while validating the parsed elements of a definition file.
+ *
+ * @param lineNumber the line (1-based) the error relates to, 0 if unknown
+ * @param column the column (0-based, in code points) of the element the error relates to, 0 if unknown
+ * @param message the error message
+ */
+public record ValidationError(int lineNumber, int column, String message) {
+
+}
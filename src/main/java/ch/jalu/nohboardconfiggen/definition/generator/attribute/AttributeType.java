@@ -1,24 +1,31 @@
 package ch.jalu.nohboardconfiggen.definition.generator.attribute;
 
+import ch.jalu.nohboardconfiggen.definition.Unit;
 import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
 
 /**
- * Attribute type to convert parsed String values to the appropriate type.
+ * Attribute type to convert parsed String values to the appropriate type. The types defined here cache their
+ * results in the {@link AttributeValueCache}.
  *
  * @param <T> the type
  */
 public interface AttributeType<T> {
 
     /** Integer with optional unit, e.g. "120px" or "120". */
-    AttributeType<ValueWithUnit> INTEGER_WITH_UNIT = new ValueWithUnitAttributeType(false);
+    AttributeType<ValueWithUnit> INTEGER_WITH_UNIT =
+        AttributeValueCache.cached(new ValueWithUnitAttributeType(false));
     /** Number (optionally with decimals) with an optional unit, e.g. "-2.5" or "30.5k". */
-    AttributeType<ValueWithUnit> NUMBER_WITH_UNIT = new ValueWithUnitAttributeType(true);
+    AttributeType<ValueWithUnit> NUMBER_WITH_UNIT =
+        AttributeValueCache.cached(new ValueWithUnitAttributeType(true));
+    /** Number (optionally with decimals) with an optional unit that defaults to keys, e.g. "1.5" (= "1.5k"). */
+    AttributeType<ValueWithUnit> NUMBER_WITH_KEY_UNIT =
+        AttributeValueCache.cached(new ValueWithUnitAttributeType(true, Unit.KEY));
 
     /** Boolean type (true or false). */
-    AttributeType<Boolean> BOOLEAN = SimpleAttributeTypes.createBooleanAttributeType();
+    AttributeType<Boolean> BOOLEAN = AttributeValueCache.cached(SimpleAttributeTypes.createBooleanAttributeType());
     /** Integer value (without units). */
-    AttributeType<Integer> INTEGER = SimpleAttributeTypes.createIntegerAttributeType();
+    AttributeType<Integer> INTEGER = AttributeValueCache.cached(SimpleAttributeTypes.createIntegerAttributeType());
 
     default T parse(Attribute attribute) {
         return parse(attribute.name(), attribute.value());
@@ -0,0 +1,86 @@
+package ch.jalu.nohboardconfiggen.definition.generator.attribute;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded cache of converted attribute values, keyed by attribute type and raw value. Large definitions repeat
+ * the same few values (like "40px" or "true") thousands of times; with this cache, each distinct value is only
+ * parsed once and the same immutable result is returned for all occurrences. Least recently used entries are
+ * evicted once the maximum size is reached, so the cache cannot grow without limit on arbitrary inputs.
+ * <p>
+ * Invalid values are not cached: the exception of the attribute type is thrown on every occurrence, so that the
+ * message always mentions the attribute name of the occurrence. Thread-safe.
+ */
+public final class AttributeValueCache {
+
+    /** Maximum number of values kept by the shared cache. */
+    static final long MAXIMUM_SIZE = 2048;
+
+    private static final AttributeValueCache SHARED = new AttributeValueCache(MAXIMUM_SIZE);
+
+    private final Cache<Key, Object> cache;
+
+    @VisibleForTesting
+    AttributeValueCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the statistics of the cache used by the attribute types in {@link AttributeType}, e.g. to log the
+     * hit rate after processing a large definition.
+     *
+     * @return statistics of the shared cache
+     */
+    public static CacheStats getSharedStats() {
+        return SHARED.cache.stats();
+    }
+
+    /**
+     * Returns an attribute type that caches the results of the given type in the shared cache. The results
+     * of the attribute type must be immutable and only depend on the value, not on the attribute name.
+     *
+     * @param attributeType the attribute type whose results should be cached
+     * @param <T> the result type
+     * @return caching attribute type
+     */
+    static <T> AttributeType<T> cached(AttributeType<T> attributeType) {
+        return SHARED.wrap(attributeType);
+    }
+
+    @VisibleForTesting
+    <T> AttributeType<T> wrap(AttributeType<T> attributeType) {
+        return (name, value) -> get(attributeType, name, value);
+    }
+
+    @VisibleForTesting
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    @VisibleForTesting
+    long size() {
+        cache.cleanUp();
+        return cache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(AttributeType<T> attributeType, String name, String value) {
+        Key key = new Key(attributeType, value);
+        // Not using Cache#get(K, Callable) as it wraps the exceptions of invalid values
+        T result = (T) cache.getIfPresent(key);
+        if (result == null) {
+            result = attributeType.parse(name, value);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private record Key(AttributeType<?> attributeType, String value) {
+    }
+}
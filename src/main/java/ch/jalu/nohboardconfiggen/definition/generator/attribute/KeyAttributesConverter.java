@@ -1,48 +1,38 @@
 package ch.jalu.nohboardconfiggen.definition.generator.attribute;
 
 import ch.jalu.nohboardconfiggen.definition.KeyDefinition;
-import ch.jalu.nohboardconfiggen.definition.Unit;
-import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Converts and sets attributes to key definitions.
  */
 public final class KeyAttributesConverter {
 
-    private KeyAttributesConverter() {
-    }
+    private static final ImmutableMap<String, BiConsumer<KeyDefinition.KeyDefinitionBuilder, Attribute>> HANDLERS =
+        ImmutableMap.<String, BiConsumer<KeyDefinition.KeyDefinitionBuilder, Attribute>>builder()
+            .put("height", (key, attr) -> key.customHeight(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .put("width", (key, attr) -> key.customWidth(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .put("marginTop", (key, attr) -> key.marginTop(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .put("marginLeft", (key, attr) -> key.marginLeft(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .put("id", (key, attr) -> key.id(AttributeType.INTEGER.parse(attr)))
+            .put("stacked", (key, attr) -> key.stacked(AttributeType.BOOLEAN.parse(attr)))
+            .build();
 
-    public static void processAttribute(KeyDefinition keyModel, Attribute attribute) {
-        switch (attribute.name()) {
-            case "height":
-                keyModel.setCustomHeight(parseNumberWithOptionalUnit(attribute));
-                break;
-            case "width":
-                keyModel.setCustomWidth(parseNumberWithOptionalUnit(attribute));
-                break;
-            case "marginTop":
-                keyModel.setMarginTop(parseNumberWithOptionalUnit(attribute));
-                break;
-            case "marginLeft":
-                keyModel.setMarginLeft(parseNumberWithOptionalUnit(attribute));
-                break;
-            case "id":
-                keyModel.setId(AttributeType.INTEGER.parse(attribute));
-                break;
-            case "stacked":
-                keyModel.setStacked(AttributeType.BOOLEAN.parse(attribute));
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown key attribute: " + attribute.name());
-        }
+    /** Names of all supported key attributes. */
+    public static final List<String> ATTRIBUTE_NAMES = HANDLERS.keySet().asList();
+
+    private KeyAttributesConverter() {
     }
 
-    private static ValueWithUnit parseNumberWithOptionalUnit(Attribute attribute) {
-        ValueWithUnit valueWithUnit = AttributeType.NUMBER_WITH_UNIT.parse(attribute);
-        if (valueWithUnit.unit() == null) {
-            return new ValueWithUnit(valueWithUnit.value(), Unit.KEY);
+    public static void processAttribute(KeyDefinition.KeyDefinitionBuilder keyModel, Attribute attribute) {
+        BiConsumer<KeyDefinition.KeyDefinitionBuilder, Attribute> handler = HANDLERS.get(attribute.name());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown key attribute: " + attribute.name());
         }
-        return valueWithUnit;
+        handler.accept(keyModel, attribute);
     }
 }
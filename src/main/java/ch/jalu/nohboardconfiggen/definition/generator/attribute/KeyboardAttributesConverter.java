@@ -4,32 +4,36 @@ import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
 import ch.jalu.nohboardconfiggen.definition.Unit;
 import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Converts and sets top-level attributes.
  */
 public final class KeyboardAttributesConverter {
 
+    private static final ImmutableMap<String, BiConsumer<KeyboardConfig.KeyboardConfigBuilder, Attribute>> HANDLERS =
+        ImmutableMap.<String, BiConsumer<KeyboardConfig.KeyboardConfigBuilder, Attribute>>builder()
+            .put("spacing", (config, attr) -> config.spacing(parsePixelProperty(attr)))
+            .put("width", (config, attr) -> config.width(parsePixelProperty(attr)))
+            .put("height", (config, attr) -> config.height(parsePixelProperty(attr)))
+            .put("keyboard", (config, attr) -> { }) // Processed when the keyboard layout is determined
+            .build();
+
+    /** Names of all supported keyboard attributes. */
+    public static final List<String> ATTRIBUTE_NAMES = HANDLERS.keySet().asList();
+
     private KeyboardAttributesConverter() {
     }
 
-    public static void processAttribute(KeyboardConfig keyboardConfig, Attribute attribute) {
-        switch (attribute.name()) {
-            case "spacing":
-                keyboardConfig.setSpacing(parsePixelProperty(attribute));
-                break;
-            case "width":
-                keyboardConfig.setWidth(parsePixelProperty(attribute));
-                break;
-            case "height":
-                keyboardConfig.setHeight(parsePixelProperty(attribute));
-                break;
-            case "keyboard":
-                // Ignore
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown keyboard attribute: " + attribute.name());
+    public static void processAttribute(KeyboardConfig.KeyboardConfigBuilder keyboardConfig, Attribute attribute) {
+        BiConsumer<KeyboardConfig.KeyboardConfigBuilder, Attribute> handler = HANDLERS.get(attribute.name());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown keyboard attribute: " + attribute.name());
         }
+        handler.accept(keyboardConfig, attribute);
     }
 
     private static int parsePixelProperty(Attribute attribute) {
@@ -1,36 +1,34 @@
 package ch.jalu.nohboardconfiggen.definition.generator.attribute;
 
 import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
-import ch.jalu.nohboardconfiggen.definition.Unit;
-import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.function.BiConsumer;
 
 /**
  * Converts and sets attributes to key row definitions.
  */
 public final class RowAttributesConverter {
 
-    private RowAttributesConverter() {
-    }
+    private static final ImmutableMap<String, BiConsumer<KeyboardRow.KeyboardRowBuilder, Attribute>> HANDLERS =
+        ImmutableMap.<String, BiConsumer<KeyboardRow.KeyboardRowBuilder, Attribute>>builder()
+            .put("marginTop", (row, attr) -> row.marginTop(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .put("marginLeft", (row, attr) -> row.marginLeft(AttributeType.NUMBER_WITH_KEY_UNIT.parse(attr)))
+            .build();
 
-    public static void processAttribute(KeyboardRow rowModel, Attribute attribute) {
-        switch (attribute.name()) {
-            case "marginTop":
-                rowModel.setMarginTop(parseNumberWithOptionalUnit(attribute));
-                break;
-            case "marginLeft":
-                rowModel.setMarginLeft(parseNumberWithOptionalUnit(attribute));
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown row attribute: " + attribute.name());
-        }
+    /** Names of all supported row attributes. */
+    public static final List<String> ATTRIBUTE_NAMES = HANDLERS.keySet().asList();
+
+    private RowAttributesConverter() {
     }
 
-    private static ValueWithUnit parseNumberWithOptionalUnit(Attribute attribute) {
-        ValueWithUnit valueWithUnit = AttributeType.NUMBER_WITH_UNIT.parse(attribute);
-        if (valueWithUnit.unit() == null) {
-            return new ValueWithUnit(valueWithUnit.value(), Unit.KEY);
+    public static void processAttribute(KeyboardRow.KeyboardRowBuilder rowModel, Attribute attribute) {
+        BiConsumer<KeyboardRow.KeyboardRowBuilder, Attribute> handler = HANDLERS.get(attribute.name());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unknown row attribute: " + attribute.name());
         }
-        return valueWithUnit;
+        handler.accept(rowModel, attribute);
     }
 }
@@ -13,6 +13,12 @@ import java.math.BigDecimal;
 final class ValueWithUnitAttributeType implements AttributeType<ValueWithUnit> {
 
     private final boolean acceptDecimals;
+    /** Unit of values without unit, null to keep such values without unit. */
+    private final Unit defaultUnit;
+
+    ValueWithUnitAttributeType(boolean acceptDecimals) {
+        this(acceptDecimals, null);
+    }
 
     @Override
     public ValueWithUnit parse(String name, String value) {
@@ -22,7 +28,7 @@ final class ValueWithUnitAttributeType implements AttributeType<ValueWithUnit> {
             throw new IllegalArgumentException("Invalid value '" + value + "' for attribute '" + name + "'");
         }
 
-        Unit unit = null;
+        Unit unit = defaultUnit;
         if (numberPart.length() < value.length()) {
             unit = Unit.fromSymbol(value.substring(numberPart.length()));
         }
@@ -0,0 +1,64 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+/**
+ * Scans runs of characters for {@link Tokenizer}. Only ASCII is classified by a scanner: every non-ASCII
+ * character stops a scan, so that the tokenizer can handle it as a code point.
+ * <p>
+ * If the {@code jdk.incubator.vector} module is enabled (e.g. {@code --add-modules jdk.incubator.vector}), a
+ * scanner using the Vector API is used, which classifies multiple characters at once. Otherwise, or if the system
+ * property {@code nohboard.scanner.scalar} is set to true, the characters are classified one by one.
+ */
+interface CharScanner {
+
+    /**
+     * Returns the index of the first character from the given index onwards that is not ASCII whitespace.
+     *
+     * @param chars the characters to scan
+     * @param from the index to start at
+     * @return index of the first character that is not ASCII whitespace, or {@code chars.length}
+     */
+    int skipAsciiWhitespace(char[] chars, int from);
+
+    /**
+     * Returns the index of the first delimiter from the given index onwards. Delimiters are ASCII whitespace,
+     * {@code #}, {@code [}, {@code $}, {@code "}, {@code \} and all non-ASCII characters.
+     *
+     * @param chars the characters to scan
+     * @param from the index to start at
+     * @return index of the first delimiter, or {@code chars.length}
+     */
+    int findDelimiter(char[] chars, int from);
+
+    /**
+     * @return the scanner to use: the vectorized scanner if available, otherwise the scalar one
+     */
+    static CharScanner getDefault() {
+        return DefaultScannerHolder.SCANNER;
+    }
+
+    /**
+     * Holds the default scanner. The vectorized scanner is loaded reflectively because its class cannot be
+     * linked if the incubator module is not present.
+     */
+    final class DefaultScannerHolder {
+
+        static final CharScanner SCANNER = createDefaultScanner();
+
+        private DefaultScannerHolder() {
+        }
+
+        private static CharScanner createDefaultScanner() {
+            if (!Boolean.getBoolean("nohboard.scanner.scalar")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return (CharScanner) Class.forName(CharScanner.class.getPackageName() + ".VectorCharScanner")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                } catch (ReflectiveOperationException | LinkageError ignore) {
+                    // Fall back to the scalar scanner
+                }
+            }
+            return ScalarCharScanner.INSTANCE;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package ch.jalu.nohboardconfiggen.definition.parser;
 
+import ch.jalu.nohboardconfiggen.definition.Unit;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
 import ch.jalu.nohboardconfiggen.definition.parser.element.AttributeList;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyLine;
+import ch.jalu.nohboardconfiggen.definition.parser.element.KeyLineTemplate;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyNameSet;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyRow;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyboardLineParseResult;
@@ -11,24 +13,45 @@ import ch.jalu.nohboardconfiggen.definition.parser.element.Variable;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Variable.AttributeVariable;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Variable.ValueVariable;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Parses a keyboard config file. This parser is stateful, i.e. a new instance should be
- * created for every parsing.
+ * created for every parsing. Instances must not be shared between threads; the Generator
+ * class is the thread-safe entry point.
  */
 public class DefinitionParser {
 
+    /**
+     * Values of a key line template in the key's unquoted text: a range of numbers or letters ({@code {1..8}},
+     * {@code {A..F}}) or a list of at least two values ({@code {Q,W,E}}).
+     */
+    private static final Pattern TEMPLATE_VALUES = Pattern.compile("\\{(\\w+\\.\\.\\w+|[^{}]*,[^{}]*)}");
+    private static final Pattern NUMBER_RANGE = Pattern.compile("(\\d+)\\.\\.(\\d+)");
+    private static final Pattern LETTER_RANGE = Pattern.compile("([a-zA-Z])\\.\\.([a-zA-Z])");
+    /** Maximum number of values of a key line template. */
+    static final int MAX_TEMPLATE_VALUES = 1000;
+
     private final Map<String, String> attributeNamesToValue = new HashMap<>();
     final Map<String, Variable> variablesByName = new HashMap<>();
+    private final ValueExpressionParser valueExpressionParser =
+        new ValueExpressionParser(this::parseSimpleValueOrVariable);
     @Getter
     private List<KeyRow> keyRows;
 
@@ -38,18 +61,40 @@ public class DefinitionParser {
      * @param lines the lines to parse
      */
     public void parse(List<String> lines) {
+        List<KeyRow> rows = new ArrayList<>();
+        parse(lines, rows::add);
+        keyRows = rows;
+    }
+
+    /**
+     * Parses the given lines and passes each row of keys to the consumer as soon as it is complete, so that
+     * the rows don't need to be kept in memory. The keyboard attributes (see {@link #buildAttributes()}) are
+     * complete when the first row is passed to the consumer. {@link #getKeyRows()} is not set by this method.
+     *
+     * @param lines the lines to parse (may be backed by a reader, as they are only iterated over once)
+     * @param rowConsumer consumer to pass the parsed rows to
+     */
+    public void parse(Iterable<String> lines, Consumer<KeyRow> rowConsumer) {
         int lineNumber = 1;
         boolean isHeaderSection = true;
-        RowsContainer rowsContainer = new RowsContainer();
+        RowsContainer rowsContainer = new RowsContainer(rowConsumer);
 
         for (String line : lines) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new ParserException("Parsing was interrupted on line " + lineNumber);
+            }
             Tokenizer tokenizer = new Tokenizer(line, lineNumber);
 
-            if (isHeaderSection) {
-                isHeaderSection = !parseHeaderLine(tokenizer);
-            } else {
-                KeyboardLineParseResult parseResult = parseKeyLine(tokenizer);
-                rowsContainer.processKeyLineResult(parseResult);
+            try {
+                if (isHeaderSection) {
+                    isHeaderSection = !parseHeaderLine(tokenizer);
+                } else {
+                    KeyboardLineParseResult parseResult = parseKeyLine(tokenizer);
+                    rowsContainer.processKeyLineResult(parseResult);
+                }
+            } catch (ParserException e) {
+                e.setLocationIfAbsent(lineNumber, tokenizer.getPosition());
+                throw e;
             }
             if (tokenizer.hasNext()) {
                 throw new IllegalStateException(
@@ -58,7 +103,7 @@ public class DefinitionParser {
 
             ++lineNumber;
         }
-        keyRows = rowsContainer.build();
+        rowsContainer.finish();
     }
 
     /**
@@ -84,7 +129,7 @@ public class DefinitionParser {
         tokenizer.skipWhitespace();
 
         if (tokenizer.hasNext()) {
-            char chr = tokenizer.next();
+            int chr = tokenizer.next();
             if (chr == '#') {
                 tokenizer.moveToEnd();
                 return false; // Comment - ignore rest
@@ -118,62 +163,176 @@ public class DefinitionParser {
             return null;
         } else if (tokenizer.peek() == '[') {
             tokenizer.next();
-            return new AttributeList(parseAttributesUntilLineEnd(tokenizer));
+            List<Integer> columns = new ArrayList<>();
+            List<Attribute> attributes = parseAttributesUntilLineEnd(tokenizer, columns);
+            return new AttributeList(attributes, tokenizer.getLineNumber(), columns);
         }
 
         String keyName;
-        char next = tokenizer.peek();
+        Matcher templateMatcher = null;
+        int next = tokenizer.peek();
         if (next == '"') {
+            // Quoted texts are never templates, so that they can contain braces
             keyName = parseTextInDoubleQuotes(tokenizer);
         } else {
-            keyName = parseUnquotedKeyName(tokenizer);
+            BitSet variableChars = new BitSet();
+            keyName = parseUnquotedKeyName(tokenizer, variableChars);
+            // A key line template has its values in the key's text, e.g. F{1..12}
+            templateMatcher = findTemplateValues(keyName, variableChars);
+        }
+
+        List<String> templateValues = null;
+        if (templateMatcher != null) {
+            templateValues = parseTemplateValues(templateMatcher.group(1), tokenizer);
+            keyName = keyName.substring(0, templateMatcher.start()) + KeyLineTemplate.PLACEHOLDER
+                + keyName.substring(templateMatcher.end());
         }
 
         // After key name, expect keys or attributes
         List<Attribute> attributes = new ArrayList<>();
+        List<Integer> attributeColumns = new ArrayList<>();
         List<KeyNameSet> keys = new ArrayList<>();
+        List<Integer> keyColumns = new ArrayList<>();
+        List<Set<String>> placeholderKeyNames = new ArrayList<>();
 
         tokenizer.skipWhitespace();
         while (tokenizer.hasNext()) {
-            char chr = tokenizer.peek();
+            int chr = tokenizer.peek();
             if (chr == '[') {
                 tokenizer.next();
-                attributes.addAll(parseAttributesUntilLineEnd(tokenizer));
+                attributes.addAll(parseAttributesUntilLineEnd(tokenizer, attributeColumns));
             } else if (chr == '#') {
                 tokenizer.moveToEnd();
             } else if (chr == '$') {
+                int variableColumn = tokenizer.getPosition();
                 tokenizer.next();
                 Variable v = variablesByName.get(extractVariableIdentifierOrThrow(tokenizer));
                 if (v instanceof AttributeVariable av) {
                     attributes.addAll(av.attributes());
+                    // The attributes of a variable are reported at the position where the variable is used
+                    av.attributes().forEach(attribute -> attributeColumns.add(variableColumn));
                 } else {
                     // TODO: Text variables cannot be used as key aliases
                     throw new ParserException(
                         "Variable is not an attribute variable on " + tokenizer.getLineNrColText());
                 }
             } else {
-                keys.add(parseKeyBinding(tokenizer));
+                keyColumns.add(tokenizer.getPosition());
+                Set<String> bindingPlaceholderKeyNames = templateValues == null ? null : new HashSet<>();
+                keys.add(parseKeyBinding(tokenizer, bindingPlaceholderKeyNames));
+                placeholderKeyNames.add(bindingPlaceholderKeyNames);
             }
 
             tokenizer.skipWhitespace();
         }
 
-        return new KeyLine(keyName, keys, attributes);
+        KeyLine keyLine = new KeyLine(keyName, keys, attributes, tokenizer.getLineNumber(), keyColumns,
+            attributeColumns);
+        return templateValues == null
+            ? keyLine
+            : new KeyLineTemplate(keyLine, templateValues, placeholderKeyNames);
+    }
+
+    /**
+     * Returns a matcher positioned on the template values in the given unquoted key text, or null if the text
+     * has none. Braces that come from variables are not considered.
+     *
+     * @param keyName the key's text
+     * @param variableChars indices of the characters in the text that come from variables
+     * @return matcher positioned on the template values, or null
+     */
+    private static Matcher findTemplateValues(String keyName, BitSet variableChars) {
+        Matcher matcher = TEMPLATE_VALUES.matcher(keyName);
+        while (matcher.find()) {
+            if (variableChars.get(matcher.start(), matcher.end()).isEmpty()) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the values of a key line template. The template is expanded into the row right after parsing,
+     * so the number of values is limited to {@link #MAX_TEMPLATE_VALUES}.
+     *
+     * @param valuesDefinition the definition within the braces, e.g. "1..8" or "Q,W,E"
+     * @param tokenizer the tokenizer (for error messages)
+     * @return the values
+     */
+    private static List<String> parseTemplateValues(String valuesDefinition, Tokenizer tokenizer) {
+        Matcher numberRange = NUMBER_RANGE.matcher(valuesDefinition);
+        Matcher letterRange = LETTER_RANGE.matcher(valuesDefinition);
+        Range<Integer> range;
+        boolean isNumberRange = numberRange.matches();
+        if (isNumberRange) {
+            range = createRange(parseRangeBound(numberRange.group(1), valuesDefinition, tokenizer),
+                parseRangeBound(numberRange.group(2), valuesDefinition, tokenizer), valuesDefinition, tokenizer);
+        } else if (letterRange.matches()) {
+            char start = letterRange.group(1).charAt(0);
+            char end = letterRange.group(2).charAt(0);
+            if (Character.isUpperCase(start) != Character.isUpperCase(end)) {
+                throw new ParserException("Invalid range '" + valuesDefinition + "' on "
+                    + tokenizer.getLineNrText() + ": the letters must both be lowercase or both be uppercase");
+            }
+            range = createRange(start, end, valuesDefinition, tokenizer);
+        } else if (valuesDefinition.contains("..")) {
+            throw new ParserException("Invalid range '" + valuesDefinition + "' on " + tokenizer.getLineNrText()
+                + ". Ranges must be between two numbers or two letters");
+        } else {
+            List<String> values = new ArrayList<>();
+            for (String value : valuesDefinition.split(",", -1)) {
+                if (value.isBlank()) {
+                    throw new ParserException("Empty value in '{" + valuesDefinition + "}' on "
+                        + tokenizer.getLineNrText());
+                }
+                values.add(value.trim());
+            }
+            if (values.size() > MAX_TEMPLATE_VALUES) {
+                throw new ParserException("Too many values in '{" + valuesDefinition + "}' on "
+                    + tokenizer.getLineNrText() + ": a template may have at most " + MAX_TEMPLATE_VALUES + " values");
+            }
+            return values;
+        }
+
+        ContiguousSet<Integer> codes = ContiguousSet.create(range, DiscreteDomain.integers());
+        return isNumberRange
+            ? Lists.transform(codes.asList(), String::valueOf)
+            : Lists.transform(codes.asList(), Character::toString);
     }
 
-    private List<Attribute> parseAttributesUntilLineEnd(Tokenizer tokenizer) {
+    private static Range<Integer> createRange(int start, int end, String valuesDefinition, Tokenizer tokenizer) {
+        if (start > end) {
+            throw new ParserException("Invalid range '" + valuesDefinition + "' on " + tokenizer.getLineNrText()
+                + ": the start may not be greater than the end");
+        } else if ((long) end - start + 1 > MAX_TEMPLATE_VALUES) {
+            throw new ParserException("Invalid range '" + valuesDefinition + "' on " + tokenizer.getLineNrText()
+                + ": a template may have at most " + MAX_TEMPLATE_VALUES + " values");
+        }
+        return Range.closed(start, end);
+    }
+
+    private static int parseRangeBound(String number, String valuesDefinition, Tokenizer tokenizer) {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            throw new ParserException("Invalid range '" + valuesDefinition + "' on " + tokenizer.getLineNrText()
+                + ": the number '" + number + "' is too large");
+        }
+    }
+
+    private List<Attribute> parseAttributesUntilLineEnd(Tokenizer tokenizer, List<Integer> columns) {
         List<Attribute> attributes = new ArrayList<>();
-        parseAttributeDeclaration(tokenizer, attributes);
+        parseAttributeDeclaration(tokenizer, attributes, columns, Unit.KEY);
 
         do {
             tokenizer.skipWhitespace();
             if (tokenizer.hasNext()) {
-                char chr = tokenizer.next();
+                int chr = tokenizer.next();
                 if (chr != '[') {
-                    throw new ParserException("Expected only attributes to be declared, but found '" + chr + "' on "
-                        + tokenizer.getLineNrColText());
+                    throw new ParserException("Expected only attributes to be declared, but found '"
+                        + Character.toString(chr) + "' on " + tokenizer.getLineNrColText());
                 } else {
-                    parseAttributeDeclaration(tokenizer, attributes);
+                    parseAttributeDeclaration(tokenizer, attributes, columns, Unit.KEY);
                 }
             } else {
                 return attributes;
@@ -181,26 +340,40 @@ public class DefinitionParser {
         } while (true);
     }
 
-    private String parseUnquotedKeyName(Tokenizer tokenizer) {
+    private String parseUnquotedKeyName(Tokenizer tokenizer, BitSet variableChars) {
         // Key name
         StringBuilder keyName = new StringBuilder();
-        while (tokenizer.hasNext() && !Character.isWhitespace(tokenizer.peek())) {
-            char chr = tokenizer.next();
+        while (true) {
+            tokenizer.appendUntilDelimiter(keyName);
+            if (!tokenizer.hasNext() || Tokenizer.isWhitespace(tokenizer.peek())) {
+                break;
+            }
+            int chr = tokenizer.next();
             if (chr == '$') {
+                int variableStart = keyName.length();
                 keyName.append(parseAndResolveVariableValue(tokenizer));
+                variableChars.set(variableStart, keyName.length());
             } else if (chr == '\\') {
-                keyName.append(handleBackslashEscape(tokenizer));
+                keyName.appendCodePoint(handleBackslashEscape(tokenizer));
             } else {
-                keyName.append(chr);
+                keyName.appendCodePoint(chr);
             }
         }
         return keyName.toString();
     }
 
-    private KeyNameSet parseKeyBinding(Tokenizer tokenizer) {
+    /**
+     * Parses a key binding, e.g. {@code LCtrl & C}.
+     *
+     * @param tokenizer the tokenizer
+     * @param placeholderKeyNames set to add the key names with a placeholder to if the key line is a template,
+     *        null otherwise (only unquoted key names can have a placeholder)
+     * @return the key binding
+     */
+    private KeyNameSet parseKeyBinding(Tokenizer tokenizer, Set<String> placeholderKeyNames) {
         Set<String> keyNames = new HashSet<>();
         while (true) {
-            String keyName = parseKeyBindingName(tokenizer);
+            String keyName = parseKeyBindingName(tokenizer, placeholderKeyNames);
             keyNames.add(keyName);
 
             tokenizer.skipWhitespace();
@@ -211,7 +384,9 @@ public class DefinitionParser {
                 tokenizer.skipWhitespace();
                 // TODO: This is hacky
                 if (!tokenizer.hasNext() || tokenizer.peek() == '&' || tokenizer.peek() == '[') {
-                    String next = tokenizer.hasNext() ? "'" + tokenizer.next() + "'" : "end of line";
+                    String next = tokenizer.hasNext()
+                        ? "'" + Character.toString(tokenizer.next()) + "'"
+                        : "end of line";
                     throw new ParserException("After ampersand, expect another key, but got "
                         + next + " on " + tokenizer.getLineNrColText());
                 }
@@ -221,37 +396,61 @@ public class DefinitionParser {
         return new KeyNameSet(keyNames);
     }
 
-    private String parseKeyBindingName(Tokenizer tokenizer) {
-        char nextChar = tokenizer.peek();
+    private String parseKeyBindingName(Tokenizer tokenizer, Set<String> placeholderKeyNames) {
+        int nextChar = tokenizer.peek();
         if (nextChar == '"') {
             return parseTextInDoubleQuotes(tokenizer);
+        } else if (placeholderKeyNames != null && (isSimpleValueChar(nextChar) || nextChar == '{')) {
+            String keyName = parseKeyBindingNameWithPlaceholders(tokenizer);
+            if (keyName.contains(KeyLineTemplate.PLACEHOLDER)) {
+                placeholderKeyNames.add(keyName);
+            }
+            return keyName;
         } else if (isSimpleValueChar(nextChar)) {
             return tokenizer.nextAllMatching(this::isSimpleValueChar, false);
         } else {
             if (nextChar == '&' || nextChar == '$' || nextChar == '#') {
-                throw new ParserException("Unexpected '" + nextChar + "' on " + tokenizer.getLineNrColText()
-                    + ". Wrap complex names in double quotes");
+                throw new ParserException("Unexpected '" + Character.toString(nextChar) + "' on "
+                    + tokenizer.getLineNrColText() + ". Wrap complex names in double quotes");
             }
-            char keyChar = tokenizer.next();
+            int keyChar = tokenizer.next();
             if (tokenizer.hasNext()) {
-                char followingChar = tokenizer.peek();
-                if (!Character.isWhitespace(followingChar) && followingChar != '&') {
+                int followingChar = tokenizer.peek();
+                if (!Tokenizer.isWhitespace(followingChar) && followingChar != '&') {
                     throw new ParserException("Invalid key name on " + tokenizer.getLineNrColText()
                         + ". Wrap complex names in double quotes");
                 }
             }
-            return String.valueOf(keyChar);
+            return Character.toString(keyChar);
+        }
+    }
+
+    private String parseKeyBindingNameWithPlaceholders(Tokenizer tokenizer) {
+        StringBuilder keyName = new StringBuilder();
+        while (tokenizer.hasNext()) {
+            if (tokenizer.peek() == '{') {
+                tokenizer.next();
+                if (!tokenizer.hasNext() || tokenizer.next() != '}') {
+                    throw new ParserException("Expected placeholder {} on " + tokenizer.getLineNrColText());
+                }
+                keyName.append(KeyLineTemplate.PLACEHOLDER);
+            } else if (isSimpleValueChar(tokenizer.peek())) {
+                keyName.append(tokenizer.nextAllMatching(this::isSimpleValueChar, false));
+            } else {
+                break;
+            }
         }
+        return keyName.toString();
     }
 
-    private boolean isValidIdentifierChar(char c) {
+    private boolean isValidIdentifierChar(int c) {
         return (c >= 'a' && c <= 'z')
             || (c >= 'A' && c <= 'Z')
             || (c >= '0' && c <= '9')
             || (c == '_' || c == '-');
     }
 
-    private boolean isSimpleValueChar(char c) {
+    private boolean isSimpleValueChar(int c) {
         return (c >= 'a' && c <= 'z')
             || (c >= 'A' && c <= 'Z')
             || (c >= '0' && c <= '9')
@@ -259,7 +458,8 @@ public class DefinitionParser {
     }
 
     private void processAttributes(Tokenizer tokenizer) {
-        List<Attribute> attributes = parseAttributeDeclaration(tokenizer);
+        // Keyboard attributes are in pixels by default
+        List<Attribute> attributes = parseAttributeDeclaration(tokenizer, Unit.PIXEL);
         for (Attribute attribute : attributes) {
             String prev = attributeNamesToValue.put(attribute.name(), attribute.value());
             if (prev != null) {
@@ -268,15 +468,26 @@ public class DefinitionParser {
         }
     }
 
-    private List<Attribute> parseAttributeDeclaration(Tokenizer tokenizer) {
+    private List<Attribute> parseAttributeDeclaration(Tokenizer tokenizer, Unit defaultUnit) {
         List<Attribute> attributes = new ArrayList<>();
-        parseAttributeDeclaration(tokenizer, attributes);
+        parseAttributeDeclaration(tokenizer, attributes, new ArrayList<>(), defaultUnit);
         return attributes;
     }
 
-    private void parseAttributeDeclaration(Tokenizer tokenizer, List<Attribute> attributes) {
+    /**
+     * Parses the attributes of a declaration until its closing bracket, adding them to the given list.
+     *
+     * @param tokenizer the tokenizer, positioned after the opening bracket
+     * @param attributes the list to add the attributes to
+     * @param columns the list to add the column of each attribute to
+     * @param defaultUnit the unit of numbers without unit in the values of the attributes
+     */
+    private void parseAttributeDeclaration(Tokenizer tokenizer, List<Attribute> attributes, List<Integer> columns,
+                                           Unit defaultUnit) {
         while (true) {
             // Get attribute name
+            tokenizer.skipWhitespace();
+            columns.add(tokenizer.getPosition());
             String identifier = extractAttributeIdentifierOrThrow(tokenizer);
 
             // Expect '='
@@ -284,10 +495,10 @@ public class DefinitionParser {
 
             // Collect value
             tokenizer.skipWhitespace();
-            char next = tokenizer.peek();
+            int next = tokenizer.peek();
             String value = (next == '"')
                 ? parseTextInDoubleQuotes(tokenizer)
-                : parseSimpleText(tokenizer);
+                : parseSimpleText(tokenizer, defaultUnit);
 
             attributes.add(new Attribute(identifier, value));
 
@@ -295,7 +506,7 @@ public class DefinitionParser {
             if (next == ']') {
                 return;
             } else if (next != ',') {
-                throw new ParserException("Unexpected character '" + next
+                throw new ParserException("Unexpected character '" + Character.toString(next)
                     + "' on " + tokenizer.getLineNrColText());
             }
         }
@@ -318,16 +529,18 @@ public class DefinitionParser {
 
         // Next char determines what happens
         tokenizer.skipWhitespace();
-        char next = tokenizer.peek();
+        int next = tokenizer.peek();
         if (next == '[') {
             tokenizer.next();
-            List<Attribute> attributes = parseAttributeDeclaration(tokenizer);
+            // Attribute variables can only be used in key lines
+            List<Attribute> attributes = parseAttributeDeclaration(tokenizer, Unit.KEY);
             return new AttributeVariable(identifier, attributes);
         } else if (next == '"') {
             String value = parseTextInDoubleQuotes(tokenizer);
             return new ValueVariable(identifier, value);
         } else {
-            String value = parseSimpleText(tokenizer);
+            // The unit of numbers without unit depends on where the variable is used
+            String value = parseSimpleText(tokenizer, null);
             return new ValueVariable(identifier, value);
         }
     }
@@ -349,7 +562,7 @@ public class DefinitionParser {
 
     private String parseTextInDoubleQuotes(Tokenizer tokenizer) {
         StringBuilder value = new StringBuilder();
-        char chr = tokenizer.next();
+        int chr = tokenizer.next();
         if (chr != '"') {
             throw new IllegalStateException("Expected double quote"); // should never happen
         }
@@ -361,9 +574,9 @@ public class DefinitionParser {
             } else if (chr == '"') {
                 break;
             } else if (chr == '\\') {
-                value.append(handleBackslashEscape(tokenizer));
+                value.appendCodePoint(handleBackslashEscape(tokenizer));
             } else {
-                value.append(chr);
+                value.appendCodePoint(chr);
             }
 
             if (tokenizer.hasNext()) {
@@ -376,7 +589,7 @@ public class DefinitionParser {
         return value.toString();
     }
 
-    private void expectKeysSectionOrThrow(char firstCharacter, Tokenizer tokenizer) {
+    private void expectKeysSectionOrThrow(int firstCharacter, Tokenizer tokenizer) {
         if (Character.toLowerCase(firstCharacter) == 'k'
                 && Character.toLowerCase(tokenizer.next()) == 'e'
                 && Character.toLowerCase(tokenizer.next()) == 'y'
@@ -391,14 +604,18 @@ public class DefinitionParser {
     private void expectEndOfContent(Tokenizer tokenizer) {
         tokenizer.skipWhitespace();
         if (!tokenizer.isEmptyOrHasCommentStart()) {
-            char chr = tokenizer.next();
-            throw new ParserException("Expected end of line, but got '" + chr
+            int chr = tokenizer.next();
+            throw new ParserException("Expected end of line, but got '" + Character.toString(chr)
                 + "' on " + tokenizer.getLineNrColText());
         }
         tokenizer.moveToEnd();
     }
 
-    private String parseSimpleText(Tokenizer tokenizer) {
+    private String parseSimpleText(Tokenizer tokenizer, Unit defaultUnit) {
+        return valueExpressionParser.parse(tokenizer, defaultUnit);
+    }
+
+    private String parseSimpleValueOrVariable(Tokenizer tokenizer) {
         if (tokenizer.peek() == '$') {
             tokenizer.next();
             return parseAndResolveVariableValue(tokenizer);
@@ -406,14 +623,14 @@ public class DefinitionParser {
 
         String value = tokenizer.nextAllMatching(this::isSimpleValueChar, false);
         if (value.isEmpty()) {
-            throw new ParserException("Unexpected character '" + tokenizer.peek() + "' on "
+            throw new ParserException("Unexpected character '" + Character.toString(tokenizer.peek()) + "' on "
                 + tokenizer.getLineNrColText() + ". Use double quotes around complex values");
         }
         return value;
     }
 
-    private static char handleBackslashEscape(Tokenizer tokenizer) {
-        char nextChar = tokenizer.next();
+    private static int handleBackslashEscape(Tokenizer tokenizer) {
+        int nextChar = tokenizer.next();
         switch (nextChar) {
             case '\\':
             case '"':
@@ -421,14 +638,14 @@ public class DefinitionParser {
                 return nextChar;
             default:
                 throw new ParserException(
-                    "Unknown escape: \\" + nextChar + " on " + tokenizer.getLineNrColText());
+                    "Unknown escape: \\" + Character.toString(nextChar) + " on " + tokenizer.getLineNrColText());
         }
     }
 
     private String extractAttributeIdentifierOrThrow(Tokenizer tokenizer) {
         String identifier = tokenizer.nextAllMatching(this::isValidIdentifierChar, true);
         if (identifier.isEmpty()) {
-            String actual = tokenizer.hasNext() ? "'" + tokenizer.next() + "'" : "end of line";
+            String actual = tokenizer.hasNext() ? "'" + Character.toString(tokenizer.next()) + "'" : "end of line";
             throw new ParserException("Expected attribute identifier ([a-zA-Z0-9_-]), but got "
                 + actual + " on " + tokenizer.getLineNrColText());
         }
@@ -439,7 +656,7 @@ public class DefinitionParser {
         // '$' was already consumed, so do not ignore initial whitespace -> $ size = 3 is not correct syntax
         String identifier = tokenizer.nextAllMatching(this::isValidIdentifierChar, false);
         if (identifier.isEmpty()) {
-            String actual = tokenizer.hasNext() ? "'" + tokenizer.next() + "'" : "end of line";
+            String actual = tokenizer.hasNext() ? "'" + Character.toString(tokenizer.next()) + "'" : "end of line";
             throw new ParserException("Expected variable identifier ([a-zA-Z0-9_-]), but got "
                 + actual + " on " + tokenizer.getLineNrColText());
         }
@@ -448,14 +665,20 @@ public class DefinitionParser {
 
     private static final class RowsContainer {
 
-        private final List<KeyRow> rows = new ArrayList<>();
+        private final Consumer<KeyRow> rowConsumer;
         private KeyRow currentRow = new KeyRow();
 
+        RowsContainer(Consumer<KeyRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
         void processKeyLineResult(KeyboardLineParseResult keyLineResult) {
             if (keyLineResult instanceof KeyLine keyLine) {
                 currentRow.addKey(keyLine);
+            } else if (keyLineResult instanceof KeyLineTemplate template) {
+                template.forEach(currentRow::addKey);
             } else if (keyLineResult instanceof AttributeList attributeList) {
-                currentRow.getAttributes().addAll(attributeList.attributes());
+                currentRow.addAttributes(attributeList);
             } else if (keyLineResult instanceof KeyboardRowEnd) {
                 processKeyboardRowEnd();
             } else if (keyLineResult != null) {
@@ -463,16 +686,13 @@ public class DefinitionParser {
             }
         }
 
-        List<KeyRow> build() {
-            // build() is not a great name but at least drives the point home that it does something more than just
-            // return rows, since it also potentially ends the currentRow
+        void finish() {
             processKeyboardRowEnd();
-            return rows;
         }
 
         private void processKeyboardRowEnd() {
             if (currentRow.hasKeys()) {
-                rows.add(currentRow);
+                rowConsumer.accept(currentRow);
                 currentRow = new KeyRow();
             } else if (!currentRow.getAttributes().isEmpty()) {
                 String attributeList = currentRow.getAttributes().stream()
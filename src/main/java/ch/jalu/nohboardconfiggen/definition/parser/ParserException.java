@@ -2,6 +2,11 @@ package ch.jalu.nohboardconfiggen.definition.parser;
 
 public class ParserException extends RuntimeException {
 
+    /** Line number (1-based) at which the error occurred, 0 if unknown. */
+    private int lineNumber;
+    /** Column (0-based) at which the error occurred. */
+    private int column;
+
     public ParserException(String message) {
         super(message);
     }
@@ -9,4 +14,31 @@ public class ParserException extends RuntimeException {
     public ParserException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @return the line number (1-based) of the error, 0 if unknown
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the column (0-based) of the error
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Sets the location of the error if none was set yet.
+     *
+     * @param lineNumber the line number (1-based)
+     * @param column the column (0-based)
+     */
+    void setLocationIfAbsent(int lineNumber, int column) {
+        if (this.lineNumber == 0) {
+            this.lineNumber = lineNumber;
+            this.column = column;
+        }
+    }
 }
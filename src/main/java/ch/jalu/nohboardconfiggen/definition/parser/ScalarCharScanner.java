@@ -0,0 +1,40 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+/**
+ * Scanner that classifies one character at a time. Used if the Vector API is not available.
+ */
+final class ScalarCharScanner implements CharScanner {
+
+    static final ScalarCharScanner INSTANCE = new ScalarCharScanner();
+
+    private ScalarCharScanner() {
+    }
+
+    @Override
+    public int skipAsciiWhitespace(char[] chars, int from) {
+        int i = from;
+        while (i < chars.length && isAsciiWhitespace(chars[i])) {
+            ++i;
+        }
+        return i;
+    }
+
+    @Override
+    public int findDelimiter(char[] chars, int from) {
+        int i = from;
+        while (i < chars.length && !isDelimiter(chars[i])) {
+            ++i;
+        }
+        return i;
+    }
+
+    // Same result as Character#isWhitespace for ASCII: space, U+0009 to U+000D and U+001C to U+001F
+    static boolean isAsciiWhitespace(int chr) {
+        return chr == ' ' || (chr >= '\t' && chr <= '\r') || (chr >= '\u001C' && chr <= '\u001F');
+    }
+
+    private static boolean isDelimiter(char chr) {
+        return chr > 0x7F || isAsciiWhitespace(chr)
+            || chr == '#' || chr == '[' || chr == '$' || chr == '"' || chr == '\\';
+    }
+}
@@ -1,16 +1,25 @@
 package ch.jalu.nohboardconfiggen.definition.parser;
 
-import java.util.function.Predicate;
+import java.util.function.IntPredicate;
 
 /**
- * Goes through a String character by character, allowing to fully process a text. The tokenizer
- * keeps its current position and can deliver one or more characters through its methods.
+ * Goes through a String code point by code point, allowing to fully process a text. The tokenizer
+ * keeps its current position and can deliver one or more code points through its methods.
+ * <p>
+ * Characters outside the Basic Multilingual Plane (e.g. emoji) are returned as one code point and never split
+ * into their surrogate pairs. Columns reported by this tokenizer are counted in code points. As definition files
+ * mostly consist of ASCII, all methods check for ASCII characters first and only fall back to the code point
+ * methods of {@link Character} for other characters. Runs of whitespace and of plain characters are scanned with
+ * a {@link CharScanner}, which may classify multiple characters at once.
  */
 class Tokenizer {
 
+    private static final int MAX_ASCII = 0x7F;
+
     private final int lineNumber;
     private final char[] chars;
-    /** Current position of this tokenizer in {@link #chars}. */
+    private final CharScanner scanner;
+    /** Current position of this tokenizer in {@link #chars} (UTF-16 index). */
     private int pos;
 
     /**
@@ -20,42 +29,56 @@ class Tokenizer {
      * @param lineNumber the line number to the text comes from (for error messages)
      */
     Tokenizer(String text, int lineNumber) {
+        this(text, lineNumber, CharScanner.getDefault());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param text the string to wrap
+     * @param lineNumber the line number to the text comes from (for error messages)
+     * @param scanner the scanner to use
+     */
+    Tokenizer(String text, int lineNumber, CharScanner scanner) {
         this.chars = text.toCharArray();
         this.lineNumber = lineNumber;
+        this.scanner = scanner;
     }
 
     /**
-     * Returns the next character without advancing the internal pointer. Throws an exception
+     * Returns the next code point without advancing the internal pointer. Throws an exception
      * if this tokenizer is at the end of the line.
      *
-     * @return next character
+     * @return next code point
      */
-    char peek() {
+    int peek() {
         if (pos < chars.length) {
-            return chars[pos];
+            return codePointAt(pos);
         }
         throw new ParserException("Unexpected end of line on " + getLineNrText());
     }
 
     /**
-     * Returns the next character. Throws an exception if this tokenizer is at the end of the line.
+     * Returns the next code point. Throws an exception if this tokenizer is at the end of the line.
      *
-     * @return next character
+     * @return next code point
      */
-    char next() {
+    int next() {
         if (pos < chars.length) {
-            return chars[pos++];
+            int codePoint = codePointAt(pos);
+            pos += codePoint <= MAX_ASCII ? 1 : Character.charCount(codePoint);
+            return codePoint;
         }
         throw new ParserException("Unexpected end of line on " + getLineNrText());
     }
 
     /**
-     * Returns the next character that is not whitespace. Throws an exception if no non-whitespace character
+     * Returns the next code point that is not whitespace. Throws an exception if no non-whitespace character
      * can be found.
      *
-     * @return next non-whitespace character
+     * @return next non-whitespace code point
      */
-    char nextNonWhitespace() {
+    int nextNonWhitespace() {
         skipWhitespace();
         return next();
     }
@@ -64,42 +87,61 @@ class Tokenizer {
      * Advances this tokenizer's pointer to the next character that is not whitespace.
      */
     void skipWhitespace() {
-        while (hasNext()) {
-            char chr = chars[pos];
-            if (!Character.isWhitespace(chr)) {
+        while (true) {
+            pos = scanner.skipAsciiWhitespace(chars, pos);
+            if (pos == chars.length || chars[pos] <= MAX_ASCII) {
                 return;
             }
-            ++pos;
+            int codePoint = Character.codePointAt(chars, pos);
+            if (!Character.isWhitespace(codePoint)) {
+                return;
+            }
+            pos += Character.charCount(codePoint);
         }
     }
 
+    /**
+     * Appends all characters up to the next delimiter to the given builder and advances this tokenizer's pointer
+     * past them. Delimiters are whitespace, {@code #}, {@code [}, {@code $}, {@code "}, {@code \} and all
+     * non-ASCII characters, which need to be processed by the caller. Nothing is appended if the next character
+     * is a delimiter or if this tokenizer is at the end of the line.
+     *
+     * @param builder the builder to append to
+     */
+    void appendUntilDelimiter(StringBuilder builder) {
+        int end = scanner.findDelimiter(chars, pos);
+        builder.append(chars, pos, end - pos);
+        pos = end;
+    }
+
     /**
      * Returns all characters from the current pointer onwards that consecutively match the given predicate.
      * An exception is thrown if this tokenizer is at the end of the line. Note that an empty String is returned
      * if the next character does not match the predicate.
      *
-     * @param predicate the predicate the characters must match
+     * @param predicate the predicate the code points must match
      * @param ignoreInitialWhitespace true if any whitespace at the current pointer should be skipped
      * @return matching characters (may be empty)
      */
-    String nextAllMatching(Predicate<Character> predicate, boolean ignoreInitialWhitespace) {
+    String nextAllMatching(IntPredicate predicate, boolean ignoreInitialWhitespace) {
         if (ignoreInitialWhitespace) {
             skipWhitespace();
         }
 
         int start = pos;
-        while (hasNext() && predicate.test(chars[pos])) {
-            ++pos;
+        while (pos < chars.length) {
+            int codePoint = codePointAt(pos);
+            if (!predicate.test(codePoint)) {
+                break;
+            }
+            pos += codePoint <= MAX_ASCII ? 1 : Character.charCount(codePoint);
         }
         int endExclusive = pos;
 
         if (start == endExclusive && !hasNext()) {
             throw new ParserException("Unexpected end of line on " + getLineNrText());
         }
-
-        char[] matchingChars = new char[endExclusive - start];
-        System.arraycopy(chars, start, matchingChars, 0, endExclusive - start);
-        return new String(matchingChars);
+        return new String(chars, start, endExclusive - start);
     }
 
     /**
@@ -110,10 +152,10 @@ class Tokenizer {
      * @param expectedChar the character that is expected to be encountered
      */
     void expectCharAfterOptionalWhitespace(char expectedChar) {
-        char next = nextNonWhitespace();
+        int next = nextNonWhitespace();
         if (next != expectedChar) {
             throw new ParserException("Expected '" + expectedChar + "' but got '"
-                + next + "' on " + getLineNrColText());
+                + Character.toString(next) + "' on " + getLineNrColText());
         }
     }
 
@@ -143,7 +185,21 @@ class Tokenizer {
      * @return text with the line number and this tokenizer's current position, for errors
      */
     String getLineNrColText() {
-        return "line " + lineNumber + ", column " + pos;
+        return "line " + lineNumber + ", column " + getPosition();
+    }
+
+    /**
+     * @return the line number of the text this tokenizer wraps
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the current position (0-based column, in code points) of this tokenizer
+     */
+    int getPosition() {
+        return Character.codePointCount(chars, 0, pos);
     }
 
     /**
@@ -152,4 +208,21 @@ class Tokenizer {
     void moveToEnd() {
         pos = chars.length;
     }
+
+    /**
+     * Returns whether the given code point is whitespace, as defined by {@link Character#isWhitespace(int)}.
+     *
+     * @param codePoint the code point to check
+     * @return true if the code point is whitespace
+     */
+    static boolean isWhitespace(int codePoint) {
+        return codePoint <= MAX_ASCII
+            ? ScalarCharScanner.isAsciiWhitespace(codePoint)
+            : Character.isWhitespace(codePoint);
+    }
+
+    private int codePointAt(int index) {
+        char chr = chars[index];
+        return chr <= MAX_ASCII ? chr : Character.codePointAt(chars, index);
+    }
 }
@@ -0,0 +1,198 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+import ch.jalu.nohboardconfiggen.definition.Unit;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses unquoted values that may be arithmetic expressions, such as {@code $keyW * 2 + 3px}, and folds them into
+ * a constant (e.g. {@code 83px}) so that the result can be used like any value that was written out. Supports the
+ * operators {@code + - * /} with the usual precedence, and parentheses. A value without any operator is returned
+ * as is, so that non-numeric values like {@code en-us} are not affected.
+ * <p>
+ * Units are checked when an expression is folded: values that are added or subtracted must have the same unit,
+ * at most one factor of a multiplication may have a unit, and a value can only be divided by a value without
+ * unit or with the same unit. Note that {@code -} is also a valid character in simple values, so subtractions
+ * need whitespace before the operator ({@code 3px - 1px}).
+ * <p>
+ * A number without unit stands for the default unit of the value's context, e.g. keys for the width of a key, so
+ * {@code 1 + 0.5k} is {@code 1.5k} there. In contrast, the quotient of two values with the same unit (e.g.
+ * {@code 80px / 40px}) is a plain number and cannot be the result of a value that has a default unit, since it
+ * would otherwise be read as a value in the default unit. Where the default unit is not known (variables), numbers
+ * without unit can only be added to each other.
+ */
+@RequiredArgsConstructor
+final class ValueExpressionParser {
+
+    private static final Pattern NUMBER_WITH_UNIT = Pattern.compile("(-?\\d+(?:\\.\\d+)?)([a-zA-Z]*)");
+
+    /** Parses an operand, i.e. a simple value or a variable. */
+    private final Function<Tokenizer, String> operandParser;
+
+    /**
+     * Parses the value at the tokenizer's current position. Whitespace after the value is consumed.
+     *
+     * @param tokenizer the tokenizer to parse from
+     * @param defaultUnit the unit of numbers without unit in the context of the value (keys for key and row
+     *        attributes, pixels for keyboard attributes), null if unknown
+     * @return the value, folded to a constant if it is an expression
+     */
+    String parse(Tokenizer tokenizer, Unit defaultUnit) {
+        Operand result = parseSum(tokenizer, defaultUnit);
+        if (result.value == null) {
+            return result.text;
+        } else if (result.value.isRatio && defaultUnit != null) {
+            throw new ParserException("The units of the expression on " + tokenizer.getLineNrText()
+                + " cancel out, so its result would be read as " + result.value.format() + defaultUnit.getSymbol()
+                + ". Multiply it by a value with the intended unit");
+        }
+        return result.value.format();
+    }
+
+    private Operand parseSum(Tokenizer tokenizer, Unit defaultUnit) {
+        Operand result = parseProduct(tokenizer, defaultUnit);
+        int operator;
+        while ((operator = nextOperator(tokenizer, '+', '-')) != 0) {
+            Quantity left = result.toNumber(tokenizer);
+            Quantity right = parseProduct(tokenizer, defaultUnit).toNumber(tokenizer);
+            Unit leftUnit = left.getUnitOrDefault(defaultUnit);
+            if (leftUnit != right.getUnitOrDefault(defaultUnit)) {
+                throw new ParserException("Cannot " + (operator == '+' ? "add " : "subtract ")
+                    + left.format() + " and " + right.format() + " on " + tokenizer.getLineNrColText()
+                    + ": the values must have the same unit");
+            }
+            BigDecimal value = operator == '+'
+                ? left.value.add(right.value)
+                : left.value.subtract(right.value);
+            // Keep the sum without unit if both values have none, so that it can also be used without unit
+            Unit unit = left.unit == null && right.unit == null ? null : leftUnit;
+            result = new Operand(null, new Quantity(value, unit, left.isRatio || right.isRatio));
+        }
+        return result;
+    }
+
+    private Operand parseProduct(Tokenizer tokenizer, Unit defaultUnit) {
+        Operand result = parseFactor(tokenizer, defaultUnit);
+        int operator;
+        while ((operator = nextOperator(tokenizer, '*', '/')) != 0) {
+            Quantity left = result.toNumber(tokenizer);
+            Quantity right = parseFactor(tokenizer, defaultUnit).toNumber(tokenizer);
+            Quantity value = operator == '*'
+                ? multiply(left, right, tokenizer)
+                : divide(left, right, tokenizer);
+            result = new Operand(null, value);
+        }
+        return result;
+    }
+
+    private Operand parseFactor(Tokenizer tokenizer, Unit defaultUnit) {
+        tokenizer.skipWhitespace();
+        if (tokenizer.peek() == '(') {
+            tokenizer.next();
+            Operand result = parseSum(tokenizer, defaultUnit);
+            tokenizer.expectCharAfterOptionalWhitespace(')');
+            return new Operand(null, result.toNumber(tokenizer));
+        }
+        return new Operand(operandParser.apply(tokenizer), null);
+    }
+
+    private static Quantity multiply(Quantity left, Quantity right, Tokenizer tokenizer) {
+        if (left.unit != null && right.unit != null) {
+            throw new ParserException("Cannot multiply " + left.format() + " by " + right.format() + " on "
+                + tokenizer.getLineNrColText() + ": only one of the values may have a unit");
+        }
+        Unit unit = left.unit == null ? right.unit : left.unit;
+        boolean isRatio = unit == null && (left.isRatio || right.isRatio);
+        return new Quantity(left.value.multiply(right.value), unit, isRatio);
+    }
+
+    private static Quantity divide(Quantity left, Quantity right, Tokenizer tokenizer) {
+        if (right.value.signum() == 0) {
+            throw new ParserException("Cannot divide " + left.format() + " by zero on "
+                + tokenizer.getLineNrColText());
+        }
+        BigDecimal value = left.value.divide(right.value, MathContext.DECIMAL64);
+        if (right.unit == null) {
+            boolean isRatio = left.unit == null && (left.isRatio || right.isRatio);
+            return new Quantity(value, left.unit, isRatio);
+        } else if (right.unit == left.unit) {
+            return new Quantity(value, null, true);
+        }
+        throw new ParserException("Cannot divide " + left.format() + " by " + right.format() + " on "
+            + tokenizer.getLineNrColText() + ": the divisor must have no unit or the same unit");
+    }
+
+    /**
+     * Consumes the next operator if it is one of the given characters.
+     *
+     * @return the operator that was consumed, 0 if the next character is not one of the operators
+     */
+    private static int nextOperator(Tokenizer tokenizer, char operator1, char operator2) {
+        tokenizer.skipWhitespace();
+        if (tokenizer.hasNext()) {
+            int next = tokenizer.peek();
+            if (next == operator1 || next == operator2) {
+                tokenizer.next();
+                return next;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Number that an expression or a part of it evaluates to.
+     *
+     * @param value the number
+     * @param unit the unit, null if the number has none
+     * @param isRatio whether the number has no unit because it is the quotient of two values with the same unit
+     *        (as opposed to a number that was written without unit)
+     */
+    private record Quantity(BigDecimal value, Unit unit, boolean isRatio) {
+
+        /**
+         * @param defaultUnit the unit of numbers without unit, null if unknown
+         * @return the unit of this number when it is added to another number
+         */
+        Unit getUnitOrDefault(Unit defaultUnit) {
+            return unit != null || isRatio ? unit : defaultUnit;
+        }
+
+        String format() {
+            String number = value.stripTrailingZeros().toPlainString();
+            return unit == null ? number : number + unit.getSymbol();
+        }
+    }
+
+    /**
+     * Operand of an expression: either the text of a value as it was given, or the number it evaluated to.
+     */
+    private record Operand(String text, Quantity value) {
+
+        Quantity toNumber(Tokenizer tokenizer) {
+            if (value != null) {
+                return value;
+            }
+
+            Matcher matcher = NUMBER_WITH_UNIT.matcher(text);
+            if (!matcher.matches()) {
+                String hint = text.indexOf('-', 1) > 0 ? ". Use spaces around '-' for subtractions" : "";
+                throw new ParserException("Expected a number in the expression on "
+                    + tokenizer.getLineNrText() + ", but got '" + text + "'" + hint);
+            }
+            Unit unit = null;
+            if (!matcher.group(2).isEmpty()) {
+                try {
+                    unit = Unit.fromSymbol(matcher.group(2));
+                } catch (IllegalArgumentException e) {
+                    throw new ParserException(e.getMessage() + " on " + tokenizer.getLineNrText(), e);
+                }
+            }
+            return new Quantity(new BigDecimal(matcher.group(1)), unit, false);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scanner that classifies as many characters at once as fit into the preferred vector size of the platform
+ * (e.g. 16 characters with AVX2, 32 with AVX-512). The remainder that does not fill a vector is classified by
+ * the {@link ScalarCharScanner}.
+ * <p>
+ * Requires the {@code jdk.incubator.vector} module; only instantiated via {@link CharScanner#getDefault()} if
+ * the module is present.
+ */
+final class VectorCharScanner implements CharScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    @Override
+    public int skipAsciiWhitespace(char[] chars, int from) {
+        int i = from;
+        int upperBound = chars.length - SPECIES.length();
+        for (; i <= upperBound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            if (vector.eq((short) ' ').allTrue()) {
+                continue; // most whitespace consists of spaces only
+            }
+            VectorMask<Short> nonWhitespace = isAsciiWhitespace(vector).not();
+            if (nonWhitespace.anyTrue()) {
+                return i + nonWhitespace.firstTrue();
+            }
+        }
+        return ScalarCharScanner.INSTANCE.skipAsciiWhitespace(chars, i);
+    }
+
+    @Override
+    public int findDelimiter(char[] chars, int from) {
+        int i = from;
+        int upperBound = chars.length - SPECIES.length();
+        for (; i <= upperBound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            // Characters from U+8000 onwards are negative as shorts
+            VectorMask<Short> delimiters = vector.compare(VectorOperators.GT, (short) 0x7F)
+                .or(vector.compare(VectorOperators.LT, (short) 0))
+                .or(isAsciiWhitespace(vector))
+                .or(vector.eq((short) '#'))
+                .or(vector.eq((short) '['))
+                .or(vector.eq((short) '$'))
+                .or(vector.eq((short) '"'))
+                .or(vector.eq((short) '\\'));
+            if (delimiters.anyTrue()) {
+                return i + delimiters.firstTrue();
+            }
+        }
+        return ScalarCharScanner.INSTANCE.findDelimiter(chars, i);
+    }
+
+    private static VectorMask<Short> isAsciiWhitespace(ShortVector vector) {
+        return vector.eq((short) ' ')
+            .or(vector.compare(VectorOperators.GE, (short) '\t').and(vector.compare(VectorOperators.LE, (short) '\r')))
+            .or(vector.compare(VectorOperators.GE, (short) 0x1C).and(vector.compare(VectorOperators.LE, (short) 0x1F)));
+    }
+}
@@ -2,6 +2,17 @@ package ch.jalu.nohboardconfiggen.definition.parser.element;
 
 import java.util.List;
 
-public record AttributeList(List<Attribute> attributes) implements KeyboardLineParseResult {
+/**
+ * Line with attributes for the current keyboard row.
+ *
+ * @param attributes the attributes
+ * @param lineNumber the line number in the definition file (0 if unknown)
+ * @param columns the column (0-based, in code points) of each attribute, empty if unknown
+ */
+public record AttributeList(List<Attribute> attributes, int lineNumber, List<Integer> columns)
+    implements KeyboardLineParseResult {
 
+    public AttributeList(List<Attribute> attributes) {
+        this(attributes, 0, List.of());
+    }
 }
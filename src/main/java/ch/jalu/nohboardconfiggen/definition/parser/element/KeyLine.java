@@ -9,9 +9,36 @@ import java.util.List;
  * @param displayText text of the key
  * @param keys key bindings
  * @param attributes attributes
+ * @param lineNumber the line number in the definition file (0 if unknown)
+ * @param keyColumns the column (0-based, in code points) of each key binding, empty if unknown
+ * @param attributeColumns the column (0-based, in code points) of each attribute, empty if unknown
  * @see ch.jalu.nohboardconfiggen.definition.KeyDefinition
  */
-public record KeyLine(String displayText, List<KeyNameSet> keys, List<Attribute> attributes)
+public record KeyLine(String displayText, List<KeyNameSet> keys, List<Attribute> attributes, int lineNumber,
+                      List<Integer> keyColumns, List<Integer> attributeColumns)
     implements KeyboardLineParseResult {
 
+    public KeyLine(String displayText, List<KeyNameSet> keys, List<Attribute> attributes) {
+        this(displayText, keys, attributes, 0);
+    }
+
+    public KeyLine(String displayText, List<KeyNameSet> keys, List<Attribute> attributes, int lineNumber) {
+        this(displayText, keys, attributes, lineNumber, List.of(), List.of());
+    }
+
+    /**
+     * @param index the index of the key binding
+     * @return the column of the key binding, 0 if unknown
+     */
+    public int getKeyColumn(int index) {
+        return index < keyColumns.size() ? keyColumns.get(index) : 0;
+    }
+
+    /**
+     * @param index the index of the attribute
+     * @return the column of the attribute, 0 if unknown
+     */
+    public int getAttributeColumn(int index) {
+        return index < attributeColumns.size() ? attributeColumns.get(index) : 0;
+    }
 }
@@ -0,0 +1,58 @@
+package ch.jalu.nohboardconfiggen.definition.parser.element;
+
+import com.google.common.collect.Iterators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Key line that is repeated for multiple values, e.g. {@code F{1..12} F{}} for the keys F1 to F12. The line is
+ * parsed only once; the key lines for each value are created when this template is iterated over, by replacing
+ * the {@link #PLACEHOLDER} in the key's text and in the unquoted key names with the value. Quoted key names are
+ * never changed, so that they can contain braces. All created key lines share the attributes of the template.
+ * <p>
+ * The parser expands templates into the row as soon as they have been parsed instead of keeping the template in
+ * the row: the keys of a row are accessed by index and counted when the configuration is generated and
+ * validated, which a lazily expanded row would have to support for every consumer. Expanding is cheap, as the
+ * parser limits a template to 1000 values and the created key lines share the template's attributes and the
+ * key bindings without placeholder.
+ *
+ * @param template the key line with placeholders in its text and key names
+ * @param values the values to create a key line for
+ * @param placeholderKeyNames for each key binding of the template, the key names that contain the placeholder
+ *        (only unquoted key names)
+ */
+public record KeyLineTemplate(KeyLine template, List<String> values, List<Set<String>> placeholderKeyNames)
+    implements KeyboardLineParseResult, Iterable<KeyLine> {
+
+    /** Placeholder for the value in the text and key names of the template. */
+    public static final String PLACEHOLDER = "{}";
+
+    @Override
+    public Iterator<KeyLine> iterator() {
+        return Iterators.transform(values.iterator(), this::createKeyLine);
+    }
+
+    private KeyLine createKeyLine(String value) {
+        List<KeyNameSet> keys = new ArrayList<>(template.keys().size());
+        for (int i = 0; i < template.keys().size(); ++i) {
+            keys.add(replacePlaceholder(template.keys().get(i), placeholderKeyNames.get(i), value));
+        }
+        return new KeyLine(template.displayText().replace(PLACEHOLDER, value), keys, template.attributes(),
+            template.lineNumber(), template.keyColumns(), template.attributeColumns());
+    }
+
+    private static KeyNameSet replacePlaceholder(KeyNameSet keyNameSet, Set<String> placeholderKeyNames,
+                                                 String value) {
+        if (placeholderKeyNames.isEmpty()) {
+            return keyNameSet;
+        }
+        Set<String> keys = keyNameSet.keys().stream()
+            .map(key -> placeholderKeyNames.contains(key) ? key.replace(PLACEHOLDER, value) : key)
+            .collect(Collectors.toSet());
+        return new KeyNameSet(keys);
+    }
+}
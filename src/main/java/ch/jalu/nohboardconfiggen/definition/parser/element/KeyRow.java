@@ -1,5 +1,6 @@
 package ch.jalu.nohboardconfiggen.definition.parser.element;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -10,6 +11,9 @@ public class KeyRow {
 
     private final List<Attribute> attributes = new ArrayList<>();
     private final List<KeyLine> keys = new ArrayList<>();
+    /** Line number and column of the attributes added with {@link #addAttributes}, by index of the attribute. */
+    @Getter(AccessLevel.NONE)
+    private final List<int[]> attributePositions = new ArrayList<>();
 
     public boolean hasKeys() {
         return !keys.isEmpty();
@@ -22,4 +26,38 @@ public class KeyRow {
     public KeyLine getKey(int index) {
         return keys.get(index);
     }
+
+    /**
+     * Adds the attributes of the given list to this row, keeping their position in the definition file.
+     *
+     * @param attributeList the attributes to add
+     */
+    public void addAttributes(AttributeList attributeList) {
+        List<Attribute> newAttributes = attributeList.attributes();
+        // Attributes that were added to the list directly have no position
+        while (attributePositions.size() < attributes.size()) {
+            attributePositions.add(new int[] { 0, 0 });
+        }
+        for (int i = 0; i < newAttributes.size(); ++i) {
+            int column = i < attributeList.columns().size() ? attributeList.columns().get(i) : 0;
+            attributePositions.add(new int[] { attributeList.lineNumber(), column });
+        }
+        attributes.addAll(newAttributes);
+    }
+
+    /**
+     * @param index the index of the attribute
+     * @return the line number of the attribute, 0 if unknown
+     */
+    public int getAttributeLineNumber(int index) {
+        return index < attributePositions.size() ? attributePositions.get(index)[0] : 0;
+    }
+
+    /**
+     * @param index the index of the attribute
+     * @return the column of the attribute, 0 if unknown
+     */
+    public int getAttributeColumn(int index) {
+        return index < attributePositions.size() ? attributePositions.get(index)[1] : 0;
+    }
 }
@@ -5,6 +5,7 @@ package ch.jalu.nohboardconfiggen.definition.parser.element;
  * A keyboard line is a line in the "Keys" section. It is one of the following:
  * <ul>
  *   <li>{@link KeyLine} defining an actual keyboard key</li>
+ *   <li>{@link KeyLineTemplate} defining a key for each of its values</li>
  *   <li>{@link AttributeList} for configuring the current keyboard row</li>
  *   <li>{@link KeyboardRowEnd} to create a new keyboard row</li>
  * </ul>
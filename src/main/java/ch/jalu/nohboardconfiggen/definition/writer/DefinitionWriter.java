@@ -0,0 +1,355 @@
+package ch.jalu.nohboardconfiggen.definition.writer;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardLayout;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Creates a definition file from an existing NohBoard configuration, e.g. a keyboard that was created by hand in
+ * NohBoard. Rows are recovered from the boundaries of the elements, key names from the key codes. Positions and
+ * sizes are written in pixels, so that generating a configuration from the definition places the keys at the
+ * same positions as in the original configuration.
+ * <p>
+ * Only rectangular keyboard keys can be represented in a definition file; other elements are listed as comments.
+ */
+public class DefinitionWriter {
+
+    private static final String KEYBOARD_KEY_TYPE = "KeyboardKey";
+    private static final int DEFAULT_SPACING = 1;
+
+    /**
+     * Creates the lines of a definition file that describes the given configuration.
+     *
+     * @param config the configuration to convert
+     * @param region the keyboard region to use for the names of the key codes (null for only general keys)
+     * @return lines of the definition file
+     */
+    public List<String> createDefinition(NohbConfiguration config, KeyboardRegion region) {
+        KeyboardLayout keyboardLayout = KeyboardLayout.create(region);
+        List<String> skippedElements = new ArrayList<>();
+        List<KeyBox> keys = collectKeys(config.getElements(), skippedElements);
+
+        int keyWidth = mostCommonValue(keys, KeyBox::width, 0);
+        int keyHeight = mostCommonValue(keys, KeyBox::height, 0);
+        int spacing = determineSpacing(keys);
+
+        List<String> lines = new ArrayList<>();
+        if (region != null) {
+            lines.add("[keyboard=" + region.getCode() + "]");
+        }
+        lines.add("[width=" + keyWidth + "px]");
+        lines.add("[height=" + keyHeight + "px]");
+        lines.add("[spacing=" + spacing + "px]");
+        lines.add("");
+        lines.add("Keys:");
+
+        Context context = new Context(keyboardLayout, keyWidth, keyHeight, spacing);
+        int nextRowTop = NohboardConfigGenerator.KEYBOARD_SURFACE_MARGIN;
+        for (List<KeyBox> row : groupIntoRows(keys)) {
+            lines.add("");
+            nextRowTop = writeRow(row, nextRowTop, context, lines);
+        }
+
+        if (!skippedElements.isEmpty()) {
+            lines.add("");
+            skippedElements.forEach(element -> lines.add("# Skipped " + element));
+        }
+        return lines;
+    }
+
+    private static List<KeyBox> collectKeys(List<NohbElement> elements, List<String> skippedElements) {
+        List<KeyBox> keys = new ArrayList<>();
+        KeyBox previousKey = null;
+        for (NohbElement element : elements) {
+            if (!KEYBOARD_KEY_TYPE.equals(element.getType())
+                || element.getBoundaryCount() != 4) {
+                skippedElements.add("element " + (element.hasId() ? element.getId() : null)
+                    + " of type " + element.getType());
+                continue;
+            }
+
+            KeyBox key = KeyBox.fromElement(element);
+            if (previousKey != null && previousKey.isSameKeyWithNextBinding(key)) {
+                // Elements with the same boundaries and text whose IDs follow each other originate from one key
+                previousKey.bindings.add(key.bindings.get(0));
+                previousKey.lastId = key.lastId;
+            } else {
+                keys.add(key);
+                previousKey = key;
+            }
+        }
+        return keys;
+    }
+
+    private static int determineSpacing(List<KeyBox> keys) {
+        List<Integer> gaps = new ArrayList<>();
+        for (List<KeyBox> row : groupIntoRows(keys)) {
+            for (int i = 1; i < row.size(); ++i) {
+                int gap = row.get(i).left - row.get(i - 1).right;
+                if (gap >= 0) {
+                    gaps.add(gap);
+                }
+            }
+        }
+        return mostCommonValue(gaps, Integer::intValue, DEFAULT_SPACING);
+    }
+
+    /**
+     * Groups the keys into rows: keys are sorted by their top position, and a key belongs to the current row
+     * as long as its top is above the lowest bottom of all keys in the row. The keys of each row are sorted
+     * from left to right.
+     *
+     * @param keys the keys to group
+     * @return the keys grouped by row
+     */
+    private static List<List<KeyBox>> groupIntoRows(List<KeyBox> keys) {
+        List<KeyBox> sortedKeys = new ArrayList<>(keys);
+        sortedKeys.sort(Comparator.comparingInt(KeyBox::top).thenComparingInt(KeyBox::left));
+
+        List<List<KeyBox>> rows = new ArrayList<>();
+        List<KeyBox> currentRow = null;
+        int currentRowBottom = Integer.MIN_VALUE;
+        for (KeyBox key : sortedKeys) {
+            if (currentRow == null || key.top >= currentRowBottom) {
+                currentRow = new ArrayList<>();
+                rows.add(currentRow);
+            }
+            currentRow.add(key);
+            currentRowBottom = Math.max(currentRowBottom, key.bottom);
+        }
+
+        Comparator<KeyBox> leftToRight = Comparator.comparingInt(KeyBox::left).thenComparingInt(KeyBox::top);
+        rows.forEach(row -> row.sort(leftToRight));
+        return rows;
+    }
+
+    /**
+     * Writes the lines for the given row, mirroring how the generator lays out keys.
+     *
+     * @param row the keys of the row
+     * @param expectedRowTop the top position of the row if it has no top margin
+     * @param context the context
+     * @param lines the lines to add to
+     * @return the top position of the next row without any margin
+     */
+    private static int writeRow(List<KeyBox> row, int expectedRowTop, Context context, List<String> lines) {
+        int rowTop = row.stream().mapToInt(KeyBox::top).min().orElseThrow();
+        if (rowTop != expectedRowTop) {
+            lines.add("[marginTop=" + (rowTop - expectedRowTop) + "px]");
+        }
+
+        int xCurrentCell = NohboardConfigGenerator.KEYBOARD_SURFACE_MARGIN;
+        int rowBottom = 0;
+        KeyBox previousKey = null;
+        for (KeyBox key : row) {
+            List<String> attributes = new ArrayList<>();
+            if (previousKey != null && key.left < previousKey.right && key.top >= previousKey.bottom) {
+                attributes.add("stacked=true");
+                addIfNotZero(attributes, "marginLeft", key.left - previousKey.left);
+                addIfNotZero(attributes, "marginTop", key.top - previousKey.bottom - context.spacing);
+            } else {
+                addIfNotZero(attributes, "marginLeft", key.left - xCurrentCell);
+                addIfNotZero(attributes, "marginTop", key.top - rowTop);
+            }
+            if (key.width() != context.keyWidth) {
+                attributes.add("width=" + key.width() + "px");
+            }
+            if (key.height() != context.keyHeight) {
+                attributes.add("height=" + key.height() + "px");
+            }
+            if (key.firstId != null) {
+                if (key.firstId == context.nextGeneratedId) {
+                    context.nextGeneratedId += key.bindings.size();
+                } else {
+                    attributes.add("id=" + key.firstId);
+                }
+            }
+
+            lines.add(createKeyLine(key, attributes, context.keyboardLayout));
+            xCurrentCell = key.right + context.spacing;
+            rowBottom = Math.max(rowBottom, key.bottom);
+            previousKey = key;
+        }
+        return rowBottom + context.spacing;
+    }
+
+    private static String createKeyLine(KeyBox key, List<String> attributes, KeyboardLayout keyboardLayout) {
+        StringBuilder line = new StringBuilder(formatText(key.text));
+        List<Integer> unknownKeyCodes = new ArrayList<>();
+        for (List<Integer> binding : key.bindings) {
+            String bindingText = binding.stream()
+                .map(code -> {
+                    String name = keyboardLayout.getKeyNameOrNull(code);
+                    if (name == null) {
+                        unknownKeyCodes.add(code);
+                    }
+                    return formatKeyName(name);
+                })
+                .collect(Collectors.joining(" & "));
+            line.append(' ').append(bindingText);
+        }
+
+        if (!attributes.isEmpty()) {
+            line.append(" [").append(String.join(", ", attributes)).append(']');
+        }
+        if (!unknownKeyCodes.isEmpty()) {
+            return "# Unknown key code(s) " + unknownKeyCodes + ": " + line;
+        }
+        return line.toString();
+    }
+
+    private static void addIfNotZero(List<String> attributes, String name, int pixels) {
+        if (pixels != 0) {
+            attributes.add(name + "=" + pixels + "px");
+        }
+    }
+
+    private static String formatText(String text) {
+        if (text == null || text.isEmpty()) {
+            return "\"\"";
+        }
+        char firstChar = text.charAt(0);
+        boolean needsQuotes = firstChar == '"' || firstChar == '#' || firstChar == '['
+            || text.chars().anyMatch(Character::isWhitespace);
+        return needsQuotes ? toQuotedText(text) : escape(text);
+    }
+
+    private static String formatKeyName(String name) {
+        if (name == null) {
+            return "?";
+        } else if (name.chars().allMatch(DefinitionWriter::isSimpleValueChar)) {
+            return name;
+        } else if (name.length() == 1 && "&$#[\"".indexOf(name.charAt(0)) < 0) {
+            return name;
+        }
+        return toQuotedText(name);
+    }
+
+    private static boolean isSimpleValueChar(int c) {
+        return (c >= 'a' && c <= 'z')
+            || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9')
+            || (c == '_' || c == '.' || c == '-');
+    }
+
+    private static String toQuotedText(String text) {
+        return '"' + escape(text).replace("\"", "\\\"") + '"';
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("$", "\\$");
+    }
+
+    private static <T> int mostCommonValue(List<T> entries, ToIntFunction<T> valueExtractor, int defaultValue) {
+        Map<Integer, Integer> countByValue = new HashMap<>();
+        int mostCommonValue = defaultValue;
+        int highestCount = 0;
+        for (T entry : entries) {
+            int value = valueExtractor.applyAsInt(entry);
+            int count = countByValue.merge(value, 1, Integer::sum);
+            if (count > highestCount) {
+                highestCount = count;
+                mostCommonValue = value;
+            }
+        }
+        return mostCommonValue;
+    }
+
+    /**
+     * Rectangle of a NohBoard key, with all the key bindings of the key.
+     */
+    private static final class KeyBox {
+
+        private final String text;
+        private final int left;
+        private final int top;
+        private final int right;
+        private final int bottom;
+        private final List<List<Integer>> bindings = new ArrayList<>(1);
+        private final Integer firstId;
+        private Integer lastId;
+
+        private KeyBox(String text, int left, int top, int right, int bottom, Integer id) {
+            this.text = text;
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+            this.firstId = id;
+            this.lastId = id;
+        }
+
+        static KeyBox fromElement(NohbElement element) {
+            int minX = Integer.MAX_VALUE;
+            int minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE;
+            int maxY = Integer.MIN_VALUE;
+            for (int i = 0; i < element.getBoundaryCount(); ++i) {
+                minX = Math.min(minX, element.getBoundaryX(i));
+                minY = Math.min(minY, element.getBoundaryY(i));
+                maxX = Math.max(maxX, element.getBoundaryX(i));
+                maxY = Math.max(maxY, element.getBoundaryY(i));
+            }
+
+            Integer id = element.hasId() ? element.getId() : null;
+            KeyBox key = new KeyBox(element.getText(), minX, minY, maxX, maxY, id);
+            key.bindings.add(element.getKeyCodes() == null ? List.of() : element.getKeyCodes().asList());
+            return key;
+        }
+
+        boolean isSameKeyWithNextBinding(KeyBox other) {
+            boolean isNextId = lastId == null
+                ? other.firstId == null
+                : other.firstId != null && other.firstId == lastId + 1;
+            return isNextId && left == other.left && top == other.top && right == other.right
+                && bottom == other.bottom && Objects.equals(text, other.text);
+        }
+
+        int left() {
+            return left;
+        }
+
+        int top() {
+            return top;
+        }
+
+        int width() {
+            return right - left;
+        }
+
+        int height() {
+            return bottom - top;
+        }
+    }
+
+    /**
+     * Data used when writing the rows.
+     */
+    private static final class Context {
+
+        private final KeyboardLayout keyboardLayout;
+        private final int keyWidth;
+        private final int keyHeight;
+        private final int spacing;
+        /** The ID the generator will assign to the next key without predefined ID. */
+        private int nextGeneratedId = 1;
+
+        Context(KeyboardLayout keyboardLayout, int keyWidth, int keyHeight, int spacing) {
+            this.keyboardLayout = keyboardLayout;
+            this.keyWidth = keyWidth;
+            this.keyHeight = keyHeight;
+            this.spacing = spacing;
+        }
+    }
+}
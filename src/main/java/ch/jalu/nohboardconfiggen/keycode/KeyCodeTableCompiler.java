@@ -0,0 +1,62 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import ch.jalu.nohboardconfiggen.keycode.KeyCodeTables.Entry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static ch.jalu.nohboardconfiggen.keycode.KeyCodeTables.TEXT_FILE_EXTENSION;
+
+/**
+ * Compiles the key code tables in text format into the binary file read by {@link KeyCodeTables}.
+ * Run as part of the build; usage: {@code KeyCodeTableCompiler <folder with text tables> <output file>}.
+ */
+public final class KeyCodeTableCompiler {
+
+    private KeyCodeTableCompiler() {
+    }
+
+    public static void main(String... args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: KeyCodeTableCompiler <folder with text tables> <output file>");
+        }
+        compile(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Compiles all text tables in the given folder into the given file.
+     *
+     * @param folder the folder containing the text tables
+     * @param outputFile the binary file to write
+     */
+    static void compile(Path folder, Path outputFile) {
+        Map<String, List<Entry>> tablesByName = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.list(folder)) {
+            for (Path file : files.sorted().toList()) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(TEXT_FILE_EXTENSION)) {
+                    String tableName = fileName.substring(0, fileName.length() - TEXT_FILE_EXTENSION.length());
+                    tablesByName.put(tableName, KeyCodeTables.parseText(Files.readAllLines(file), tableName));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read key code tables from '" + folder + "'", e);
+        }
+
+        try (DataOutputStream output =
+                 new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(outputFile)))) {
+            KeyCodeTables.writeBinary(tablesByName, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write '" + outputFile + "'", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides the tables of key codes and their names, which are defined in text files in the {@code keycodes}
+ * resource folder: {@code basic.txt} has the key codes that are the same for all layouts, and every keyboard region
+ * has a file named by its {@link KeyboardRegion#getCode() code} with its region-specific keys.
+ * <p>
+ * During the build, all text files are compiled into one binary file by {@link KeyCodeTableCompiler}. The binary
+ * file starts with an index, so that only the tables that are actually used are decoded. If the binary file is not
+ * present (e.g. when running from an IDE that did not execute the build step), the text files are parsed instead.
+ */
+final class KeyCodeTables {
+
+    static final String BASIC_TABLE = "basic";
+    static final String RESOURCE_FOLDER = "keycodes/";
+    static final String BINARY_FILE_NAME = "keycodes.bin";
+    static final String TEXT_FILE_EXTENSION = ".txt";
+
+    private static final int MAGIC = 0x4E424B43; // "NBKC"
+    private static final int FORMAT_VERSION = 1;
+
+    private KeyCodeTables() {
+    }
+
+    /**
+     * Returns the entries of the given table.
+     *
+     * @param tableName the table name ({@link #BASIC_TABLE} or the code of a keyboard region)
+     * @return the table's entries, in the order of the definition
+     */
+    static List<Entry> getTable(String tableName) {
+        CompiledTables compiledTables = CompiledTablesHolder.COMPILED_TABLES;
+        if (compiledTables != null) {
+            return compiledTables.decode(tableName);
+        }
+        return readTextTable(tableName);
+    }
+
+    /**
+     * Parses a table in text format: one key code per line, followed by its names separated by whitespace.
+     * Lines starting with '#' are comments. Key codes can be written in decimal or hexadecimal with "0x".
+     *
+     * @param lines the lines to parse
+     * @param tableName the name of the table (for error messages)
+     * @return the parsed entries
+     */
+    static List<Entry> parseText(List<String> lines, String tableName) {
+        List<Entry> entries = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : lines) {
+            ++lineNumber;
+            String trimmedLine = line.strip();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = trimmedLine.split("\\s+");
+            if (parts.length < 2) {
+                throw new IllegalStateException("Expected key code and name on line " + lineNumber
+                    + " of key code table '" + tableName + "'");
+            }
+            int code = parts[0].startsWith("0x")
+                ? Integer.parseInt(parts[0].substring(2), 16)
+                : Integer.parseInt(parts[0]);
+            entries.add(new Entry(code, List.of(Arrays.copyOfRange(parts, 1, parts.length))));
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the given tables in binary format.
+     *
+     * @param tablesByName the tables to write
+     * @param output the stream to write to
+     * @throws IOException if writing fails
+     */
+    static void writeBinary(Map<String, List<Entry>> tablesByName, DataOutputStream output) throws IOException {
+        List<byte[]> encodedTables = new ArrayList<>();
+        for (List<Entry> table : tablesByName.values()) {
+            ByteArrayOutputStream tableBytes = new ByteArrayOutputStream();
+            DataOutputStream tableOutput = new DataOutputStream(tableBytes);
+            tableOutput.writeShort(table.size());
+            for (Entry entry : table) {
+                tableOutput.writeByte(entry.code());
+                tableOutput.writeByte(entry.names().size());
+                for (String name : entry.names()) {
+                    tableOutput.writeUTF(name);
+                }
+            }
+            encodedTables.add(tableBytes.toByteArray());
+        }
+
+        // Header: magic, version, and the index of name -> offset relative to the end of the index
+        output.writeInt(MAGIC);
+        output.writeShort(FORMAT_VERSION);
+        output.writeShort(tablesByName.size());
+        int offset = 0;
+        int i = 0;
+        for (String tableName : tablesByName.keySet()) {
+            output.writeUTF(tableName);
+            output.writeInt(offset);
+            offset += encodedTables.get(i).length;
+            ++i;
+        }
+        for (byte[] encodedTable : encodedTables) {
+            output.write(encodedTable);
+        }
+    }
+
+    private static List<Entry> readTextTable(String tableName) {
+        String resource = RESOURCE_FOLDER + tableName + TEXT_FILE_EXTENSION;
+        try (InputStream input = KeyCodeTables.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("No key code table for '" + tableName + "'");
+            }
+            String text = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            return parseText(text.lines().toList(), tableName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read key code table '" + resource + "'", e);
+        }
+    }
+
+    /**
+     * Entry of a key code table.
+     *
+     * @param code the key code
+     * @param names the names of the key code (the first one is its main name)
+     */
+    record Entry(int code, List<String> names) {
+
+        Entry {
+            if (code < 0 || code > 0xFF) {
+                throw new IllegalArgumentException("Key code " + code + " is out of range");
+            }
+        }
+    }
+
+    /**
+     * Binary file with all key code tables. Only the index is read when loading it; tables are decoded on demand.
+     */
+    static final class CompiledTables {
+
+        private final byte[] data;
+        private final Map<String, Integer> tableOffsetsByName = new HashMap<>();
+
+        CompiledTables(byte[] data) throws IOException {
+            this.data = data;
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+            if (input.readInt() != MAGIC || input.readShort() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported key code table file");
+            }
+            int tableCount = input.readShort();
+            Map<String, Integer> relativeOffsets = new HashMap<>();
+            for (int i = 0; i < tableCount; ++i) {
+                relativeOffsets.put(input.readUTF(), input.readInt());
+            }
+            int dataStart = data.length - input.available();
+            relativeOffsets.forEach((name, offset) -> tableOffsetsByName.put(name, dataStart + offset));
+        }
+
+        List<Entry> decode(String tableName) {
+            Integer offset = tableOffsetsByName.get(tableName);
+            if (offset == null) {
+                throw new IllegalStateException("No key code table for '" + tableName + "'");
+            }
+
+            try {
+                DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(data, offset, data.length - offset));
+                int entryCount = input.readUnsignedShort();
+                List<Entry> entries = new ArrayList<>(entryCount);
+                for (int i = 0; i < entryCount; ++i) {
+                    int code = input.readUnsignedByte();
+                    String[] names = new String[input.readUnsignedByte()];
+                    for (int n = 0; n < names.length; ++n) {
+                        names[n] = input.readUTF();
+                    }
+                    entries.add(new Entry(code, List.of(names)));
+                }
+                return entries;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode key code table '" + tableName + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Loads the binary file when the first table is requested.
+     */
+    private static final class CompiledTablesHolder {
+
+        /** The compiled tables, null if the binary file is not available. */
+        static final CompiledTables COMPILED_TABLES = load();
+
+        private static CompiledTables load() {
+            String resource = RESOURCE_FOLDER + BINARY_FILE_NAME;
+            try (InputStream input = KeyCodeTables.class.getClassLoader().getResourceAsStream(resource)) {
+                return input == null ? null : new CompiledTables(input.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read '" + resource + "'", e);
+            }
+        }
+    }
+}
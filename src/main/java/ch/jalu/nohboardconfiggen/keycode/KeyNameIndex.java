@@ -0,0 +1,122 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BK-tree over key names to find the names closest to a misspelled name. Distances are Levenshtein distances
+ * between the lower-case names. Thanks to the triangle inequality, a lookup only visits the subtrees whose
+ * distance to the node lies within the query's tolerance, instead of comparing against every name.
+ */
+final class KeyNameIndex {
+
+    private Node root;
+
+    /**
+     * Adds the given name to the index.
+     *
+     * @param name the name to add (in its original case, in which it is returned as suggestion)
+     */
+    void add(String name) {
+        Node newNode = new Node(name);
+        if (root == null) {
+            root = newNode;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = distance(node.lowerCaseName, newNode.lowerCaseName);
+            if (distance == 0) {
+                return; // same name in different case
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, newNode);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the names closest to the given text, ordered by distance and then alphabetically.
+     *
+     * @param text the text to find similar names for
+     * @param maxDistance the maximum distance of a name to be included
+     * @param limit the maximum number of names to return
+     * @return the closest names
+     */
+    List<String> findClosest(String text, int maxDistance, int limit) {
+        if (root == null) {
+            return List.of();
+        }
+
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        List<Node> nodesToVisit = new ArrayList<>();
+        nodesToVisit.add(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.remove(nodesToVisit.size() - 1);
+            int distance = distance(node.lowerCaseName, lowerCaseText);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.name, distance));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    nodesToVisit.add(child.getValue());
+                }
+            }
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparingInt(Match::distance).thenComparing(Match::name, String.CASE_INSENSITIVE_ORDER))
+            .limit(limit)
+            .map(Match::name)
+            .toList();
+    }
+
+    /**
+     * Computes the Levenshtein distance between the two texts.
+     */
+    static int distance(String text1, String text2) {
+        int[] previousRow = new int[text2.length() + 1];
+        int[] currentRow = new int[text2.length() + 1];
+        for (int j = 0; j <= text2.length(); ++j) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 1; i <= text1.length(); ++i) {
+            currentRow[0] = i;
+            for (int j = 1; j <= text2.length(); ++j) {
+                int substitutionCost = text1.charAt(i - 1) == text2.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(
+                    previousRow[j - 1] + substitutionCost,
+                    Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[text2.length()];
+    }
+
+    private static final class Node {
+
+        private final String name;
+        private final String lowerCaseName;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String name) {
+            this.name = name;
+            this.lowerCaseName = name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record Match(String name, int distance) {
+    }
+}
@@ -1,19 +1,37 @@
 package ch.jalu.nohboardconfiggen.keycode;
 
+import com.google.common.base.Suppliers;
+
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Instance that represents a keyboard layout. Allows to translate key names to key codes
  * that are appropriate for the keyboard layout the instance represents.
+ * <p>
+ * Instances are fully populated in {@link #create} and not modified afterwards, so a layout can be read
+ * by multiple threads once it has been safely published.
  *
  * @see <a href="https://learn.microsoft.com/en-us/windows/win32/inputdev/virtual-key-codes?redirectedfrom=MSDN">Microsoft virtual key codes</a>
  * @see <a href="http://www.kbdlayout.info/features/virtualkeys/">kbdlayout.info</a>
  */
 public class KeyboardLayout {
 
+    /** Highest virtual key code (exclusive); key codes are in the range 0-255. */
+    private static final int KEY_CODE_LIMIT = 256;
+    private static final int MAX_SUGGESTIONS = 3;
+
     private final Map<String, Integer> keyNameToCode = new HashMap<>();
+    /** Names of each key code in the order they were registered (main name first), null if a code has no name. */
+    private final String[][] namesByCode = new String[KEY_CODE_LIMIT][];
+    /** Index for suggestions on unknown key names, only built when it is first needed. */
+    private final Supplier<KeyNameIndex> nameIndex = Suppliers.memoize(this::buildNameIndex);
 
     /**
      * Creates a keyboard layout instance appropriate for the given region. If the region is null,
@@ -24,34 +42,104 @@ public class KeyboardLayout {
      */
     public static KeyboardLayout create(KeyboardRegion region) {
         KeyboardLayout layout = new KeyboardLayout();
-        BasicKeyCodes.addKeys(layout);
+        layout.addAll(KeyCodeTables.getTable(KeyCodeTables.BASIC_TABLE));
         if (region != null) {
-            KeyCodeExtension.addExtensions(layout, region);
+            layout.addAll(KeyCodeTables.getTable(region.getCode()));
         }
         return layout;
     }
 
+    /**
+     * Returns the key code for the given key name (case-insensitive). If the name is unknown, an exception is
+     * thrown with the most similar names of this layout.
+     *
+     * @param text the key name to look up
+     * @return the key code
+     * @throws UnknownKeyException if the key name is unknown
+     */
     public int getKeyCodeOrThrow(String text) {
         Integer result = keyNameToCode.get(text.toLowerCase(Locale.ROOT));
         if (result == null) {
-            throw new IllegalStateException("Unknown key '" + text + "'");
+            throw new UnknownKeyException(text, getSimilarKeyNames(text));
         }
         return result;
     }
 
-    KeyboardLayout add(int code, String name) {
-        if (keyNameToCode.put(name.toLowerCase(Locale.ROOT), code) != null) {
-            throw new IllegalArgumentException("Name '" + name + "' was already registered");
+    /**
+     * Returns the names of this layout that are most similar to the given text.
+     *
+     * @param text the text to find similar names for
+     * @return similar key names, closest first (empty if none is similar enough)
+     */
+    public List<String> getSimilarKeyNames(String text) {
+        // Allow fewer typos in short names, as otherwise almost any other short name would be similar
+        int maxDistance = text.length() <= 5 ? 1 : 2;
+        return nameIndex.get().findClosest(text, maxDistance, MAX_SUGGESTIONS);
+    }
+
+    /**
+     * Returns the name of the given key code, i.e. the name under which the key code was registered first.
+     *
+     * @param code the key code to look up
+     * @return name of the key code, null if the key code is unknown
+     */
+    public String getKeyNameOrNull(int code) {
+        String[] names = getNamesOrNull(code);
+        return names == null ? null : names[0];
+    }
+
+    /**
+     * Returns all names of the given key code: its main name followed by its aliases, in their original case.
+     *
+     * @param code the key code to look up
+     * @return the names of the key code (empty list if the key code is unknown)
+     */
+    public List<String> getNamesOfKeyCode(int code) {
+        String[] names = getNamesOrNull(code);
+        return names == null ? List.of() : Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * @return all names that are mapped to a key code (in lower case)
+     */
+    public Set<String> getKeyNames() {
+        return Collections.unmodifiableSet(keyNameToCode.keySet());
+    }
+
+    private void addAll(List<KeyCodeTables.Entry> entries) {
+        for (KeyCodeTables.Entry entry : entries) {
+            for (String name : entry.names()) {
+                if (keyNameToCode.put(name.toLowerCase(Locale.ROOT), entry.code()) != null) {
+                    throw new IllegalStateException("Name '" + name + "' was already registered");
+                }
+            }
+
+            String[] existingNames = namesByCode[entry.code()];
+            if (existingNames == null) {
+                namesByCode[entry.code()] = entry.names().toArray(String[]::new);
+            } else {
+                String[] names = Arrays.copyOf(existingNames, existingNames.length + entry.names().size());
+                for (int i = 0; i < entry.names().size(); ++i) {
+                    names[existingNames.length + i] = entry.names().get(i);
+                }
+                namesByCode[entry.code()] = names;
+            }
         }
-        return this;
     }
 
-    KeyboardLayout add(int code, String... names) {
-        for (String name : names) {
-            if (keyNameToCode.put(name.toLowerCase(Locale.ROOT), code) != null) {
-                throw new IllegalStateException("Name '" + name + "' was already registered");
+    private KeyNameIndex buildNameIndex() {
+        KeyNameIndex index = new KeyNameIndex();
+        for (String[] names : namesByCode) {
+            if (names != null) {
+                for (String name : names) {
+                    index.add(name);
+                }
             }
         }
-        return this;
+        return index;
+    }
+
+    private String[] getNamesOrNull(int code) {
+        return code >= 0 && code < KEY_CODE_LIMIT ? namesByCode[code] : null;
     }
 }
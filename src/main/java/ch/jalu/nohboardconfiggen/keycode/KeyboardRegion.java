@@ -1,5 +1,6 @@
 package ch.jalu.nohboardconfiggen.keycode;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
@@ -12,6 +13,7 @@ import java.util.stream.Collectors;
  * This enum is called <i>region</i> because {@link KeyboardLayout} is a specific
  * implementation of names to key codes for a keyboard layout.
  */
+@Getter
 @RequiredArgsConstructor
 public enum KeyboardRegion {
 
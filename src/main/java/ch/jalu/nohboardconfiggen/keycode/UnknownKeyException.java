@@ -0,0 +1,39 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when a key name is not known by a {@link KeyboardLayout}. Contains the names of the layout that are
+ * most similar to the unknown name, if any.
+ */
+@Getter
+public class UnknownKeyException extends IllegalStateException {
+
+    private final String keyName;
+    private final List<String> suggestions;
+
+    /**
+     * Constructor.
+     *
+     * @param keyName the unknown key name
+     * @param suggestions similar key names of the layout (may be empty)
+     */
+    public UnknownKeyException(String keyName, List<String> suggestions) {
+        super(createMessage(keyName, suggestions));
+        this.keyName = keyName;
+        this.suggestions = List.copyOf(suggestions);
+    }
+
+    private static String createMessage(String keyName, List<String> suggestions) {
+        String message = "Unknown key '" + keyName + "'";
+        if (suggestions.isEmpty()) {
+            return message;
+        }
+        return message + ". Did you mean: " + suggestions.stream()
+            .map(suggestion -> "'" + suggestion + "'")
+            .collect(Collectors.joining(", ")) + "?";
+    }
+}
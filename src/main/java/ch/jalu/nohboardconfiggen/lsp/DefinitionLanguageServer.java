@@ -0,0 +1,248 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import ch.jalu.nohboardconfiggen.lsp.DocumentAnalyzer.Diagnostic;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Language server for definition files that communicates over stdin and stdout. On every change of a document,
+ * the document is parsed and validated again and the problems are published as diagnostics. Completion is
+ * offered for attribute names and key names.
+ * <p>
+ * Documents are always synchronized in full: definition files are small enough that parsing the entire file
+ * on every change is faster than maintaining incremental parse state. The analysis of a document is kept until
+ * its text changes. See {@code LanguageServerBenchmark} in the tests for the analysis time of large files.
+ */
+public class DefinitionLanguageServer {
+
+    private static final int TEXT_DOCUMENT_SYNC_FULL = 1;
+    private static final int SEVERITY_ERROR = 1;
+    private static final int COMPLETION_KIND_PROPERTY = 10;
+    private static final int COMPLETION_KIND_VALUE = 12;
+    private static final int PARSE_ERROR = -32700;
+    private static final int METHOD_NOT_FOUND = -32601;
+    private static final int INTERNAL_ERROR = -32603;
+
+    private final JsonRpcConnection connection;
+    private final DocumentAnalyzer analyzer = new DocumentAnalyzer();
+    private final Map<String, DocumentState> documentsByUri = new HashMap<>();
+    private boolean isShutdownRequested;
+
+    DefinitionLanguageServer(InputStream input, OutputStream output) {
+        this.connection = new JsonRpcConnection(input, output);
+    }
+
+    public static void main(String... args) {
+        int exitCode = new DefinitionLanguageServer(System.in, System.out).run();
+        System.exit(exitCode);
+    }
+
+    /**
+     * Processes messages until the client sends the exit notification or the input ends. Malformed messages
+     * (invalid headers or content) are answered with a parse error and skipped; only a failure of the streams
+     * ends the processing with an exception.
+     *
+     * @return the exit code
+     */
+    int run() {
+        try {
+            while (true) {
+                JsonObject message;
+                try {
+                    message = connection.readMessage();
+                } catch (JsonParseException e) {
+                    sendError(JsonNull.INSTANCE, PARSE_ERROR, "Invalid message: " + e.getMessage());
+                    continue;
+                }
+                if (message == null) {
+                    return 1;
+                }
+
+                if ("exit".equals(getMethod(message))) {
+                    return isShutdownRequested ? 0 : 1;
+                }
+                handleMessageSafely(message);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Language server communication failed", e);
+        }
+    }
+
+    /**
+     * Handles the given message. Runtime exceptions (e.g. because of a malformed message) are answered with an
+     * error response if the message is a request, and are otherwise ignored, so that the server keeps running.
+     *
+     * @param message the message to handle
+     * @throws IOException if writing a response fails
+     */
+    private void handleMessageSafely(JsonObject message) throws IOException {
+        JsonElement id = message.get("id");
+        try {
+            handleMessage(getMethod(message), message);
+        } catch (RuntimeException e) {
+            if (id != null) {
+                sendError(id, INTERNAL_ERROR, "Failed to handle the request: " + e);
+            }
+        }
+    }
+
+    private void handleMessage(String method, JsonObject message) throws IOException {
+        JsonObject params = message.has("params") ? message.getAsJsonObject("params") : new JsonObject();
+        JsonElement id = message.get("id");
+
+        switch (String.valueOf(method)) {
+            case "initialize" -> sendResult(id, createInitializeResult());
+            case "shutdown" -> {
+                isShutdownRequested = true;
+                sendResult(id, JsonNull.INSTANCE);
+            }
+            case "textDocument/didOpen" -> {
+                JsonObject textDocument = params.getAsJsonObject("textDocument");
+                DocumentState document = new DocumentState(
+                    textDocument.get("uri").getAsString(), textDocument.get("text").getAsString());
+                documentsByUri.put(document.getUri(), document);
+                publishDiagnostics(document);
+            }
+            case "textDocument/didChange" -> {
+                DocumentState document = documentsByUri.get(getUri(params));
+                JsonArray changes = params.getAsJsonArray("contentChanges");
+                if (document != null && !changes.isEmpty()) {
+                    // Full synchronization: the last change contains the entire text
+                    document.setText(changes.get(changes.size() - 1).getAsJsonObject().get("text").getAsString());
+                    publishDiagnostics(document);
+                }
+            }
+            case "textDocument/didClose" -> {
+                DocumentState document = documentsByUri.remove(getUri(params));
+                if (document != null) {
+                    sendDiagnostics(document.getUri(), List.of(), List.of());
+                }
+            }
+            case "textDocument/completion" -> sendResult(id, createCompletionResult(params));
+            default -> {
+                if (id != null) {
+                    sendError(id, METHOD_NOT_FOUND, "Unsupported method: " + method);
+                }
+                // Notifications we don't handle (e.g. "initialized") are ignored
+            }
+        }
+    }
+
+    private static JsonObject createInitializeResult() {
+        JsonArray triggerCharacters = new JsonArray();
+        triggerCharacters.add("[");
+        triggerCharacters.add(",");
+        triggerCharacters.add(" ");
+        JsonObject completionProvider = new JsonObject();
+        completionProvider.add("triggerCharacters", triggerCharacters);
+
+        JsonObject capabilities = new JsonObject();
+        capabilities.addProperty("textDocumentSync", TEXT_DOCUMENT_SYNC_FULL);
+        capabilities.add("completionProvider", completionProvider);
+
+        JsonObject serverInfo = new JsonObject();
+        serverInfo.addProperty("name", "nohboard-definition");
+
+        JsonObject result = new JsonObject();
+        result.add("capabilities", capabilities);
+        result.add("serverInfo", serverInfo);
+        return result;
+    }
+
+    private JsonElement createCompletionResult(JsonObject params) {
+        DocumentState document = documentsByUri.get(getUri(params));
+        JsonArray items = new JsonArray();
+        if (document == null) {
+            return items;
+        }
+
+        JsonObject position = params.getAsJsonObject("position");
+        int line = position.get("line").getAsInt();
+        int character = position.get("character").getAsInt();
+        String lineText = line < document.getLines().size() ? document.getLines().get(line) : "";
+        boolean isAttribute = lineText.substring(0, Math.min(character, lineText.length())).contains("[");
+
+        Collection<String> completions = analyzer.getCompletions(document, line, character);
+        for (String completion : completions) {
+            JsonObject item = new JsonObject();
+            item.addProperty("label", completion);
+            item.addProperty("kind", isAttribute ? COMPLETION_KIND_PROPERTY : COMPLETION_KIND_VALUE);
+            items.add(item);
+        }
+        return items;
+    }
+
+    private void publishDiagnostics(DocumentState document) throws IOException {
+        sendDiagnostics(document.getUri(), analyzer.analyze(document), document.getLines());
+    }
+
+    private void sendDiagnostics(String uri, List<Diagnostic> diagnostics, List<String> lines) throws IOException {
+        JsonArray diagnosticsJson = new JsonArray();
+        for (Diagnostic diagnostic : diagnostics) {
+            int lineLength = diagnostic.line() < lines.size() ? lines.get(diagnostic.line()).length() : 0;
+            JsonObject range = new JsonObject();
+            range.add("start", createPosition(diagnostic.line(), diagnostic.character()));
+            range.add("end", createPosition(diagnostic.line(), Math.max(lineLength, diagnostic.character())));
+
+            JsonObject diagnosticJson = new JsonObject();
+            diagnosticJson.add("range", range);
+            diagnosticJson.addProperty("severity", SEVERITY_ERROR);
+            diagnosticJson.addProperty("source", "nohboard");
+            diagnosticJson.addProperty("message", diagnostic.message());
+            diagnosticsJson.add(diagnosticJson);
+        }
+
+        JsonObject params = new JsonObject();
+        params.addProperty("uri", uri);
+        params.add("diagnostics", diagnosticsJson);
+        JsonObject notification = new JsonObject();
+        notification.addProperty("method", "textDocument/publishDiagnostics");
+        notification.add("params", params);
+        connection.writeMessage(notification);
+    }
+
+    private void sendResult(JsonElement id, JsonElement result) throws IOException {
+        JsonObject response = new JsonObject();
+        response.add("id", id);
+        response.add("result", result);
+        connection.writeMessage(response);
+    }
+
+    private void sendError(JsonElement id, int code, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("message", message);
+        JsonObject response = new JsonObject();
+        response.add("id", id);
+        response.add("error", error);
+        connection.writeMessage(response);
+    }
+
+    private static JsonObject createPosition(int line, int character) {
+        JsonObject position = new JsonObject();
+        position.addProperty("line", line);
+        position.addProperty("character", character);
+        return position;
+    }
+
+    private static String getMethod(JsonObject message) {
+        JsonElement method = message.get("method");
+        return method != null && method.isJsonPrimitive() ? method.getAsString() : null;
+    }
+
+    private static String getUri(JsonObject params) {
+        return params.getAsJsonObject("textDocument").get("uri").getAsString();
+    }
+}
@@ -0,0 +1,146 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import ch.jalu.nohboardconfiggen.definition.generator.KeyboardModelGenerator;
+import ch.jalu.nohboardconfiggen.definition.generator.ValidationError;
+import ch.jalu.nohboardconfiggen.definition.generator.attribute.KeyAttributesConverter;
+import ch.jalu.nohboardconfiggen.definition.generator.attribute.KeyboardAttributesConverter;
+import ch.jalu.nohboardconfiggen.definition.generator.attribute.RowAttributesConverter;
+import ch.jalu.nohboardconfiggen.definition.parser.DefinitionParser;
+import ch.jalu.nohboardconfiggen.definition.parser.ParserException;
+import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Analyzes definition files for the language server: produces diagnostics and completion proposals.
+ */
+class DocumentAnalyzer {
+
+    private final KeyboardModelGenerator modelGenerator = new KeyboardModelGenerator();
+
+    /**
+     * Parses and validates the given document. The result is kept in the document until its text changes.
+     *
+     * @param document the document to analyze
+     * @return the problems of the document (empty if it is valid)
+     */
+    List<Diagnostic> analyze(DocumentState document) {
+        if (document.getDiagnostics() == null) {
+            document.setDiagnostics(computeDiagnostics(document));
+        }
+        return document.getDiagnostics();
+    }
+
+    private List<Diagnostic> computeDiagnostics(DocumentState document) {
+        try {
+            return parseAndValidate(document);
+        } catch (RuntimeException e) {
+            // Report unexpected errors as a problem of the document instead of stopping the language server
+            return List.of(new Diagnostic(0, 0, "Internal error while analyzing the document: " + e));
+        }
+    }
+
+    private List<Diagnostic> parseAndValidate(DocumentState document) {
+        DefinitionParser parser = new DefinitionParser();
+        try {
+            parser.parse(document.getLines());
+        } catch (ParserException e) {
+            int line = Math.max(e.getLineNumber() - 1, 0);
+            int character = toUtf16Column(document.getLines(), line, e.getColumn());
+            return List.of(new Diagnostic(line, character, e.getMessage()));
+        }
+
+        List<Attribute> attributes = parser.buildAttributes();
+        document.setRegion(findRegion(attributes));
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (ValidationError error : modelGenerator.validate(attributes, parser.getKeyRows())) {
+            int line = Math.max(error.lineNumber() - 1, 0);
+            int character = toUtf16Column(document.getLines(), line, error.column());
+            diagnostics.add(new Diagnostic(line, character, error.message()));
+        }
+        return diagnostics;
+    }
+
+    /**
+     * Converts the column of a parser or validation error, which is counted in code points, to the UTF-16 offset
+     * that LSP positions are based on.
+     *
+     * @param lines the lines of the document
+     * @param line the line (0-based)
+     * @param codePointColumn the column in code points
+     * @return the column in UTF-16 code units
+     */
+    private static int toUtf16Column(List<String> lines, int line, int codePointColumn) {
+        if (line >= lines.size()) {
+            return codePointColumn;
+        }
+        String text = lines.get(line);
+        int codePoints = text.codePointCount(0, text.length());
+        return codePointColumn >= codePoints
+            ? text.length() + (codePointColumn - codePoints)
+            : text.offsetByCodePoints(0, codePointColumn);
+    }
+
+    /**
+     * Returns the completion proposals for the given position: attribute names within brackets, key names
+     * after a key's text in the keys section.
+     *
+     * @param document the document
+     * @param line the line (0-based)
+     * @param character the column of the cursor (0-based)
+     * @return the texts that can be inserted
+     */
+    Collection<String> getCompletions(DocumentState document, int line, int character) {
+        List<String> lines = document.getLines();
+        if (line >= lines.size()) {
+            return List.of();
+        }
+        String lineText = lines.get(line);
+        String prefix = lineText.substring(0, Math.min(character, lineText.length()));
+        boolean isKeysSection = document.isInKeysSection(line);
+
+        if (prefix.lastIndexOf('[') > prefix.lastIndexOf(']')) {
+            if (!isKeysSection) {
+                return KeyboardAttributesConverter.ATTRIBUTE_NAMES;
+            }
+            return prefix.stripLeading().startsWith("[")
+                ? RowAttributesConverter.ATTRIBUTE_NAMES
+                : KeyAttributesConverter.ATTRIBUTE_NAMES;
+        } else if (isKeysSection && isAfterKeyText(prefix)) {
+            return modelGenerator.getKeyboardLayout(document.getRegion()).getKeyNames();
+        }
+        return List.of();
+    }
+
+    private static boolean isAfterKeyText(String prefix) {
+        String trimmedPrefix = prefix.stripLeading();
+        return !trimmedPrefix.isEmpty() && !trimmedPrefix.startsWith("#")
+            && trimmedPrefix.chars().anyMatch(Character::isWhitespace);
+    }
+
+    private static KeyboardRegion findRegion(List<Attribute> attributes) {
+        for (Attribute attribute : attributes) {
+            if (attribute.name().equals("keyboard")) {
+                try {
+                    return KeyboardRegion.findByCodeOrThrow(attribute.value());
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Problem in a document.
+     *
+     * @param line the line (0-based)
+     * @param character the column (0-based)
+     * @param message the error message
+     */
+    record Diagnostic(int line, int character, String message) {
+    }
+}
@@ -0,0 +1,73 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+import ch.jalu.nohboardconfiggen.lsp.DocumentAnalyzer.Diagnostic;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * State of a document that is open in the editor. Results that are derived from the text are cached until
+ * the text changes.
+ */
+@Getter
+class DocumentState {
+
+    private static final Pattern KEYS_SECTION_START = Pattern.compile("\\s*keys\\s*:.*", Pattern.CASE_INSENSITIVE);
+    private static final int NOT_COMPUTED = -2;
+
+    private final String uri;
+    private List<String> lines;
+    /** Keyboard region of the last successful parse, kept while the document has errors. */
+    @Setter
+    private KeyboardRegion region;
+    /** Diagnostics of the current text, null if it has not been analyzed yet. */
+    @Setter(AccessLevel.PACKAGE)
+    private List<Diagnostic> diagnostics;
+    @Getter(AccessLevel.NONE)
+    private int keysSectionLine;
+
+    DocumentState(String uri, String text) {
+        this.uri = uri;
+        setText(text);
+    }
+
+    /**
+     * Sets the text of the document. The cached results are discarded if the text is different.
+     *
+     * @param text the new text
+     */
+    void setText(String text) {
+        List<String> newLines = text.lines().toList();
+        if (!newLines.equals(lines)) {
+            this.lines = newLines;
+            this.diagnostics = null;
+            this.keysSectionLine = NOT_COMPUTED;
+        }
+    }
+
+    /**
+     * Returns whether the given line is in the keys section, i.e. whether it comes after the "Keys:" line.
+     *
+     * @param line the line (0-based)
+     * @return true if the line is in the keys section
+     */
+    boolean isInKeysSection(int line) {
+        if (keysSectionLine == NOT_COMPUTED) {
+            keysSectionLine = findKeysSectionLine();
+        }
+        return keysSectionLine >= 0 && line > keysSectionLine;
+    }
+
+    private int findKeysSectionLine() {
+        for (int i = 0; i < lines.size(); ++i) {
+            if (KEYS_SECTION_START.matcher(lines.get(i)).matches()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
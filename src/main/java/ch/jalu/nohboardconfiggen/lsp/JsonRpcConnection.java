@@ -0,0 +1,138 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import com.google.common.primitives.Ints;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Reads and writes JSON-RPC messages with the base protocol of the language server protocol, i.e. every message
+ * is preceded by a {@code Content-Length} header.
+ */
+class JsonRpcConnection {
+
+    private static final String CONTENT_LENGTH_HEADER = "content-length:";
+
+    private final InputStream input;
+    private final OutputStream output;
+    // Null values must be written, e.g. the result of the shutdown request or the ID of a parse error response
+    private final Gson gson = new GsonBuilder().serializeNulls().create();
+    /** Whether the previous header block had no valid Content-Length, so its content must be skipped. */
+    private boolean isResyncNeeded;
+
+    JsonRpcConnection(InputStream input, OutputStream output) {
+        this.input = new BufferedInputStream(input);
+        this.output = output;
+    }
+
+    /**
+     * Reads the next message, blocking until it is available.
+     * <p>
+     * If a header block has no valid {@code Content-Length} header, the end of its content is unknown. A
+     * {@link JsonParseException} is thrown, and the next call skips the input until the next {@code Content-Length}
+     * header, where the next header block is assumed to start.
+     *
+     * @return the next message, null if the input has ended
+     * @throws IOException if reading fails
+     * @throws JsonParseException if the header or the content of the message is invalid; the message is skipped,
+     *         so the next message can still be read
+     */
+    JsonObject readMessage() throws IOException {
+        String header = isResyncNeeded ? skipToContentLengthHeader() : readHeaderLine();
+        isResyncNeeded = false;
+        Integer contentLength = null;
+        String invalidContentLength = null;
+        while (header != null && !header.isEmpty()) {
+            if (isContentLengthHeader(header)) {
+                String value = header.substring(CONTENT_LENGTH_HEADER.length()).trim();
+                contentLength = Ints.tryParse(value);
+                invalidContentLength = contentLength == null || contentLength < 0 ? value : null;
+            }
+            header = readHeaderLine();
+        }
+        if (header == null) {
+            return null;
+        } else if (invalidContentLength != null || contentLength == null) {
+            isResyncNeeded = true;
+            throw new JsonParseException(invalidContentLength == null
+                ? "Message without Content-Length header"
+                : "Invalid Content-Length header: " + invalidContentLength);
+        }
+
+        byte[] content = input.readNBytes(contentLength);
+        if (content.length < contentLength) {
+            return null;
+        }
+        JsonElement message = JsonParser.parseString(new String(content, StandardCharsets.UTF_8));
+        if (!message.isJsonObject()) {
+            throw new JsonParseException("Expected a JSON object, but got: " + message);
+        }
+        return message.getAsJsonObject();
+    }
+
+    /**
+     * Writes the given message.
+     *
+     * @param message the message to write
+     * @throws IOException if writing fails
+     */
+    synchronized void writeMessage(JsonObject message) throws IOException {
+        message.addProperty("jsonrpc", "2.0");
+        byte[] content = gson.toJson(message).getBytes(StandardCharsets.UTF_8);
+        output.write(("Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        output.write(content);
+        output.flush();
+    }
+
+    private static boolean isContentLengthHeader(String header) {
+        return header.toLowerCase(Locale.ROOT).startsWith(CONTENT_LENGTH_HEADER);
+    }
+
+    /**
+     * Skips the input until a {@code Content-Length} header. The header is searched in the entire input and not
+     * only at the start of lines, since the next header block directly follows the content that is skipped.
+     *
+     * @return the Content-Length header line, null if the input has ended before
+     * @throws IOException if reading fails
+     */
+    private String skipToContentLengthHeader() throws IOException {
+        int matchedChars = 0;
+        int chr;
+        while (matchedChars < CONTENT_LENGTH_HEADER.length() && (chr = input.read()) != -1) {
+            if (Character.toLowerCase(chr) == CONTENT_LENGTH_HEADER.charAt(matchedChars)) {
+                ++matchedChars;
+            } else {
+                // The first character of the header does not occur again in it
+                matchedChars = Character.toLowerCase(chr) == CONTENT_LENGTH_HEADER.charAt(0) ? 1 : 0;
+            }
+        }
+        if (matchedChars < CONTENT_LENGTH_HEADER.length()) {
+            return null;
+        }
+        String value = readHeaderLine();
+        return value == null ? null : CONTENT_LENGTH_HEADER + value;
+    }
+
+    private String readHeaderLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int chr;
+        while ((chr = input.read()) != -1) {
+            if (chr == '\n') {
+                return line.toString(StandardCharsets.US_ASCII).stripTrailing();
+            }
+            line.write(chr);
+        }
+        return null;
+    }
+}
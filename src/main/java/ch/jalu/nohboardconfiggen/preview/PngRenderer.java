@@ -0,0 +1,168 @@
+package ch.jalu.nohboardconfiggen.preview;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+
+import javax.imageio.ImageIO;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Renders a NohBoard configuration to a PNG image with Java2D; no display is needed. Large keyboards are split
+ * into tiles that are rendered in parallel, each tile only drawing the elements that intersect with it.
+ */
+public class PngRenderer {
+
+    private static final int DEFAULT_TILE_SIZE = 1024;
+    private static final Font FONT = new Font(Font.SANS_SERIF, Font.PLAIN, PreviewStyle.FONT_SIZE);
+
+    private final int tileSize;
+
+    public PngRenderer() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    PngRenderer(int tileSize) {
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Renders the configuration and writes it as PNG to the given file.
+     *
+     * @param config the configuration to render
+     * @param file the file to write to
+     */
+    public void render(NohbConfiguration config, Path file) {
+        BufferedImage image = render(config);
+        try {
+            ImageIO.write(image, "png", file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Renders the configuration to an image.
+     *
+     * @param config the configuration to render
+     * @return the rendered image
+     */
+    public BufferedImage render(NohbConfiguration config) {
+        int width = Math.max(config.getWidth(), 1);
+        int height = Math.max(config.getHeight(), 1);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        List<ElementShape> shapes = createShapes(config.getElements(), image);
+
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesY = (height + tileSize - 1) / tileSize;
+        if (tilesX * tilesY == 1) {
+            Graphics2D graphics = image.createGraphics();
+            drawShapes(graphics, shapes, new Rectangle(0, 0, width, height));
+            graphics.dispose();
+            return image;
+        }
+
+        List<Tile> tiles = IntStream.range(0, tilesX * tilesY)
+            .parallel()
+            .mapToObj(index -> {
+                int x = (index % tilesX) * tileSize;
+                int y = (index / tilesX) * tileSize;
+                Rectangle area = new Rectangle(x, y, Math.min(tileSize, width - x), Math.min(tileSize, height - y));
+                return renderTile(area, shapes);
+            })
+            .toList();
+        for (Tile tile : tiles) {
+            image.getRaster().setRect(tile.area.x, tile.area.y, tile.image.getRaster());
+        }
+        return image;
+    }
+
+    private static Tile renderTile(Rectangle area, List<ElementShape> shapes) {
+        BufferedImage tileImage = new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = tileImage.createGraphics();
+        graphics.translate(-area.x, -area.y);
+        drawShapes(graphics, shapes, area);
+        graphics.dispose();
+        return new Tile(area, tileImage);
+    }
+
+    private static void drawShapes(Graphics2D graphics, List<ElementShape> shapes, Rectangle area) {
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setFont(FONT);
+        graphics.setColor(PreviewStyle.BACKGROUND);
+        graphics.fill(area);
+
+        for (ElementShape shape : shapes) {
+            if (!shape.bounds.intersects(area)) {
+                continue;
+            }
+            graphics.setColor(PreviewStyle.KEY_FILL);
+            graphics.fillPolygon(shape.polygon);
+            graphics.setColor(PreviewStyle.KEY_OUTLINE);
+            graphics.drawPolygon(shape.polygon);
+            if (shape.text != null) {
+                graphics.setColor(PreviewStyle.TEXT);
+                graphics.drawString(shape.text, shape.textX, shape.textY);
+            }
+        }
+    }
+
+    /**
+     * Converts the elements to shapes once, so that all tiles can use them.
+     *
+     * @param elements the elements to convert
+     * @param image image to create font metrics with
+     * @return shapes to draw
+     */
+    private static List<ElementShape> createShapes(List<NohbElement> elements, BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        FontMetrics fontMetrics = graphics.getFontMetrics(FONT);
+
+        List<ElementShape> shapes = new ArrayList<>(elements.size());
+        for (NohbElement element : elements) {
+            if (element.getBoundaryCount() == 0) {
+                continue;
+            }
+
+            Polygon polygon = new Polygon();
+            for (int i = 0; i < element.getBoundaryCount(); ++i) {
+                polygon.addPoint(element.getBoundaryX(i), element.getBoundaryY(i));
+            }
+            // Include the outline, which is drawn on the right and bottom edge
+            Rectangle bounds = polygon.getBounds();
+            bounds.grow(1, 1);
+
+            String text = element.getText();
+            int textX = 0;
+            int textY = 0;
+            if (text != null && element.hasTextPosition()) {
+                int textWidth = fontMetrics.stringWidth(text);
+                textX = element.getTextX() - textWidth / 2;
+                textY = element.getTextY() + (fontMetrics.getAscent() - fontMetrics.getDescent()) / 2;
+                bounds.add(new Rectangle(textX, textY - fontMetrics.getAscent(), textWidth, fontMetrics.getHeight()));
+            } else {
+                text = null;
+            }
+            shapes.add(new ElementShape(polygon, bounds, text, textX, textY));
+        }
+        graphics.dispose();
+        return shapes;
+    }
+
+    private record ElementShape(Polygon polygon, Rectangle bounds, String text, int textX, int textY) {
+    }
+
+    private record Tile(Rectangle area, BufferedImage image) {
+    }
+}
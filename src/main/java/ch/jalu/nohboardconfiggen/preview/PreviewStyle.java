@@ -0,0 +1,25 @@
+package ch.jalu.nohboardconfiggen.preview;
+
+import java.awt.Color;
+
+/**
+ * Colors and font used for previews, loosely based on NohBoard's default style.
+ */
+final class PreviewStyle {
+
+    static final String BACKGROUND_HEX = "#646464";
+    static final String KEY_FILL_HEX = "#282828";
+    static final String KEY_OUTLINE_HEX = "#d0d0d0";
+    static final String TEXT_HEX = "#ffffff";
+
+    static final Color BACKGROUND = Color.decode(BACKGROUND_HEX);
+    static final Color KEY_FILL = Color.decode(KEY_FILL_HEX);
+    static final Color KEY_OUTLINE = Color.decode(KEY_OUTLINE_HEX);
+    static final Color TEXT = Color.decode(TEXT_HEX);
+
+    static final String FONT_FAMILY = "sans-serif";
+    static final int FONT_SIZE = 12;
+
+    private PreviewStyle() {
+    }
+}
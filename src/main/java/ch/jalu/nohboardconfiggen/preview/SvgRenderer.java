@@ -0,0 +1,89 @@
+package ch.jalu.nohboardconfiggen.preview;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Renders a NohBoard configuration as SVG image to quickly check a layout without NohBoard. The SVG is written
+ * element by element to the writer, so no document is built in memory.
+ */
+public class SvgRenderer {
+
+    /**
+     * Renders the configuration to the given file.
+     *
+     * @param config the configuration to render
+     * @param file the file to write to
+     */
+    public void render(NohbConfiguration config, Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            render(config, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Renders the configuration to the given writer.
+     *
+     * @param config the configuration to render
+     * @param writer the writer to write to (not closed by this method)
+     * @throws IOException if writing fails
+     */
+    public void render(NohbConfiguration config, Writer writer) throws IOException {
+        writer.write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + config.getWidth()
+            + "\" height=\"" + config.getHeight() + "\" viewBox=\"0 0 " + config.getWidth() + " "
+            + config.getHeight() + "\">\n");
+        writer.write("<rect width=\"100%\" height=\"100%\" fill=\"" + PreviewStyle.BACKGROUND_HEX + "\"/>\n");
+        writer.write("<g font-family=\"" + PreviewStyle.FONT_FAMILY + "\" font-size=\"" + PreviewStyle.FONT_SIZE
+            + "\" text-anchor=\"middle\" dominant-baseline=\"central\">\n");
+
+        for (NohbElement element : config.getElements()) {
+            if (element.getBoundaryCount() > 0) {
+                writeElement(element, writer);
+            }
+        }
+
+        writer.write("</g>\n</svg>\n");
+    }
+
+    private static void writeElement(NohbElement element, Writer writer) throws IOException {
+        writer.write("<polygon points=\"");
+        for (int i = 0; i < element.getBoundaryCount(); ++i) {
+            if (i > 0) {
+                writer.write(' ');
+            }
+            writer.write(element.getBoundaryX(i) + "," + element.getBoundaryY(i));
+        }
+        writer.write("\" fill=\"" + PreviewStyle.KEY_FILL_HEX + "\" stroke=\"" + PreviewStyle.KEY_OUTLINE_HEX
+            + "\"/>\n");
+
+        if (element.getText() != null && element.hasTextPosition()) {
+            writer.write("<text x=\"" + element.getTextX() + "\" y=\""
+                + element.getTextY() + "\" fill=\"" + PreviewStyle.TEXT_HEX + "\">");
+            writeEscaped(element.getText(), writer);
+            writer.write("</text>\n");
+        }
+    }
+
+    private static void writeEscaped(String text, Writer writer) throws IOException {
+        for (int i = 0; i < text.length(); ++i) {
+            char chr = text.charAt(i);
+            switch (chr) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                default -> writer.write(chr);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package ch.jalu.nohboardconfiggen.server;
+
+import ch.jalu.nohboardconfiggen.Generator;
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import ch.jalu.nohboardconfiggen.definition.parser.ParserException;
+import com.google.common.io.ByteStreams;
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-running server that generates NohBoard configurations over HTTP, so that JVM startup and the initialization
+ * of the generator (e.g. keyboard layouts, Gson) only happen once. Only local connections are accepted.
+ * <ul>
+ *   <li>{@code POST /generate} with the definition as body returns the generated keyboard JSON</li>
+ *   <li>{@code GET /stats} returns the latency percentiles of the generation requests</li>
+ * </ul>
+ * Every request has a deadline that covers reading the body and the generation; generations that take longer are
+ * interrupted. Bodies larger than {@link #MAX_BODY_SIZE} bytes are rejected.
+ */
+public class GenerationServer {
+
+    private static final int DEFAULT_PORT = 8723;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final int LATENCY_SAMPLES = 4096;
+    /** Maximum size of a request body in bytes. */
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+    /**
+     * Maximum number of bytes that are read and discarded from a body that is too large, so that the client gets
+     * the 413 response instead of a reset connection. Larger bodies abort the connection.
+     */
+    private static final long MAX_DISCARDED_BODY_SIZE = 8L * MAX_BODY_SIZE;
+
+    private final Generator generator = new Generator();
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+    private final Gson gson = new Gson();
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder(LATENCY_SAMPLES);
+    private final Duration timeout;
+    private final HttpServer httpServer;
+    private final ExecutorService requestExecutor;
+    private final ExecutorService generationExecutor;
+
+    /**
+     * Constructor. Creates the server without starting it.
+     *
+     * @param port the port to listen on (0 for any free port)
+     * @param timeout maximum time a generation may take
+     */
+    public GenerationServer(int port, Duration timeout) {
+        this.timeout = timeout;
+        this.requestExecutor = createRequestExecutor();
+        this.generationExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "nohboard-generation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create server on port " + port, e);
+        }
+        httpServer.setExecutor(requestExecutor);
+        httpServer.createContext("/generate", this::handleGenerate);
+        httpServer.createContext("/stats", this::handleStats);
+    }
+
+    public static void main(String... args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GenerationServer server = new GenerationServer(port, DEFAULT_TIMEOUT);
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getPort() + "/generate");
+    }
+
+    /**
+     * Warms up the generator and starts the server.
+     */
+    public void start() {
+        // Initialize the generator's caches and classes before the first request comes in
+        exporter.toJson(generator.generateConfig(List.of("Keys:", "Esc Esc")));
+        httpServer.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        httpServer.stop(0);
+        requestExecutor.shutdownNow();
+        generationExecutor.shutdownNow();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendResponse(exchange, 405, "text/plain", "Use POST with the definition as body");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        Future<String> bodyRead = null;
+        Future<String> generation = null;
+        try {
+            bodyRead = requestExecutor.submit(() -> readBody(exchange));
+            String definition = bodyRead.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            generation = generationExecutor.submit(() -> generateJson(definition));
+            String json = generation.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            sendResponse(exchange, 200, "application/json", json);
+        } catch (TimeoutException e) {
+            if (generation == null) {
+                writeResponse(exchange, 408, "text/plain", "Request body was not received within "
+                    + timeout.toMillis() + " ms");
+                // Interrupting the read closes the connection, so the response must be written before
+                bodyRead.cancel(true);
+                exchange.close();
+            } else {
+                generation.cancel(true);
+                sendResponse(exchange, 503, "text/plain", "Generation did not finish within "
+                    + timeout.toMillis() + " ms");
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BodyTooLargeException) {
+                sendResponse(exchange, 413, "text/plain", cause.getMessage());
+            } else if (cause instanceof ParserException || cause instanceof IllegalArgumentException
+                || cause instanceof IllegalStateException) {
+                sendResponse(exchange, 400, "text/plain", cause.getMessage());
+            } else {
+                sendResponse(exchange, 500, "text/plain", "Internal error: " + cause);
+            }
+        } catch (InterruptedException e) {
+            if (bodyRead != null) {
+                bodyRead.cancel(true);
+            }
+            if (generation != null) {
+                generation.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            sendResponse(exchange, 503, "text/plain", "Server is shutting down");
+        } finally {
+            latencyRecorder.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reads the request body as UTF-8 text. If the body is too large, the rest of it is discarded (up to
+     * {@link #MAX_DISCARDED_BODY_SIZE} bytes) without keeping it in memory.
+     *
+     * @param exchange the exchange to read the body of
+     * @return the body
+     * @throws IOException if the body could not be read
+     * @throws BodyTooLargeException if the body has more than {@link #MAX_BODY_SIZE} bytes
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        boolean isDeclaredTooLarge = contentLength != null && parseContentLength(contentLength) > MAX_BODY_SIZE;
+        byte[] bytes = isDeclaredTooLarge ? null : body.readNBytes(MAX_BODY_SIZE + 1);
+        if (bytes == null || bytes.length > MAX_BODY_SIZE) {
+            ByteStreams.exhaust(ByteStreams.limit(body, MAX_DISCARDED_BODY_SIZE));
+            throw new BodyTooLargeException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long parseContentLength(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String generateJson(String definition) {
+        List<String> lines = definition.lines().toList();
+        NohbConfiguration config = generator.generateConfig(lines);
+        return exporter.toJson(config);
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        sendResponse(exchange, 200, "application/json", gson.toJson(latencyRecorder.getStats()));
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, String contentType,
+                                     String body) throws IOException {
+        writeResponse(exchange, status, contentType, body);
+        exchange.close();
+    }
+
+    /**
+     * Writes and flushes the response without closing the exchange. Closing the exchange first discards the
+     * unread part of the request body, which may abort the connection if the body was not read completely
+     * (e.g. because it was too large), so the response must be flushed before.
+     *
+     * @param exchange the exchange to respond to
+     * @param status the HTTP status code
+     * @param contentType the content type of the body
+     * @param body the response body
+     * @throws IOException if the response could not be written
+     */
+    private static void writeResponse(HttpExchange exchange, int status, String contentType,
+                                      String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream outputStream = exchange.getResponseBody();
+        outputStream.write(bytes);
+        outputStream.flush();
+    }
+
+    /**
+     * Creates the executor that handles the HTTP requests: one virtual thread per request if the Java version
+     * supports it (Java 21+), otherwise a cached pool of daemon threads.
+     *
+     * @return executor for the HTTP requests
+     */
+    private static ExecutorService createRequestExecutor() {
+        try {
+            Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "nohboard-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Thrown when a request body exceeds {@link #MAX_BODY_SIZE}.
+     */
+    private static final class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException() {
+            super("Definition is larger than " + MAX_BODY_SIZE + " bytes");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ch.jalu.nohboardconfiggen.server;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent requests to compute percentiles over them.
+ */
+class LatencyRecorder {
+
+    private final long[] latenciesNanos;
+    private int nextIndex;
+    private int size;
+    private long totalCount;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity number of most recent latencies to keep
+     */
+    LatencyRecorder(int capacity) {
+        this.latenciesNanos = new long[capacity];
+    }
+
+    synchronized void record(long latencyNanos) {
+        latenciesNanos[nextIndex] = latencyNanos;
+        nextIndex = (nextIndex + 1) % latenciesNanos.length;
+        size = Math.min(size + 1, latenciesNanos.length);
+        ++totalCount;
+    }
+
+    /**
+     * Returns the latency percentiles of the recorded requests.
+     *
+     * @return snapshot of the latency statistics
+     */
+    LatencyStats getStats() {
+        long[] sortedLatencies;
+        long count;
+        synchronized (this) {
+            sortedLatencies = Arrays.copyOf(latenciesNanos, size);
+            count = totalCount;
+        }
+        Arrays.sort(sortedLatencies);
+        return new LatencyStats(count,
+            percentileMillis(sortedLatencies, 50), percentileMillis(sortedLatencies, 90),
+            percentileMillis(sortedLatencies, 99), percentileMillis(sortedLatencies, 100));
+    }
+
+    private static double percentileMillis(long[] sortedValues, int percentile) {
+        if (sortedValues.length == 0) {
+            return 0;
+        }
+        // Nearest-rank method
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    /**
+     * Latency statistics.
+     *
+     * @param requests total number of recorded requests
+     * @param p50 median latency in milliseconds
+     * @param p90 90th percentile latency in milliseconds
+     * @param p99 99th percentile latency in milliseconds
+     * @param max maximum latency in milliseconds
+     */
+    record LatencyStats(long requests, double p50, double p90, double p99, double max) {
+    }
+}
@@ -0,0 +1,81 @@
+package ch.jalu.nohboardconfiggen;
+
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Stress test for using one {@link Generator} from multiple threads. See {@link GeneratorThroughputBenchmark}
+ * for the throughput.
+ */
+class GeneratorConcurrencyTest {
+
+    private static final List<String> TEST_CONFIGS = List.of(
+        "tr1_simple.txt", "tr1_full.txt", "tr2.txt", "tr3.txt", "tr3_hs.txt", "tr_demo1.txt");
+    private static final int ROUNDS_PER_THREAD = 50;
+
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    @Test
+    void shouldProduceSameOutputWhenSharedBetweenThreads() throws Exception {
+        // given
+        List<List<String>> definitions = new ArrayList<>();
+        for (String testConfig : TEST_CONFIGS) {
+            definitions.add(Files.readAllLines(Paths.get("src/test/resources/testconfigs", testConfig)));
+        }
+        List<String> expectedJson = definitions.stream()
+            .map(lines -> exporter.toJson(new Generator().generateConfig(lines)))
+            .toList();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        // when / then - each thread verifies its output
+        run(threads, definitions, expectedJson);
+    }
+
+    /**
+     * Generates all definitions {@link #ROUNDS_PER_THREAD} times in each thread with one shared generator,
+     * verifying every result.
+     */
+    private void run(int threads, List<List<String>> definitions,
+                     List<String> expectedJson) throws Exception {
+        Generator sharedGenerator = new Generator();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; ++thread) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS_PER_THREAD; ++round) {
+                        // Start with a different definition in each thread so that they interleave
+                        for (int i = 0; i < definitions.size(); ++i) {
+                            int index = (i + offset) % definitions.size();
+                            String json = exporter.toJson(sharedGenerator.generateConfig(definitions.get(index)));
+                            assertThat(json, equalTo(expectedJson.get(index)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(); // rethrows assertion errors
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -2,9 +2,11 @@ package ch.jalu.nohboardconfiggen;
 
 import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
 import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import ch.jalu.nohboardconfiggen.config.StreamingConfigWriter;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -12,6 +14,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -54,6 +58,66 @@ public class GeneratorTest {
         checkTestConfigFileGeneratesExpectedJson("tr_demo1.txt", "tr_demo1_expected.json");
     }
 
+    @Test
+    void shouldGenerateSameJsonWhenStreaming() throws IOException {
+        for (String configFileName : List.of("tr1_simple", "tr1_full", "tr2", "tr3", "tr3_hs", "tr_demo1")) {
+            // given
+            Path file = getResourceFile("testconfigs/" + configFileName + ".txt");
+            StringWriter stringWriter = new StringWriter();
+
+            // when
+            try (StreamingConfigWriter writer = exporter.createStreamingWriter(stringWriter)) {
+                generator.generateStreaming(file, writer);
+            }
+
+            // then
+            String expected = readFile(getResourceFile("testconfigs/" + configFileName + "_expected.json"));
+            assertThat(configFileName, stringWriter.toString().replace("\r\n", "\n"),
+                equalTo(expected.replace("\r\n", "\n")));
+        }
+    }
+
+    @Test
+    void shouldStreamKeyboardWithoutRows() throws IOException {
+        // given
+        Path file = Files.createTempFile("empty", ".txt");
+        Files.write(file, List.of("[keyboard=fr]", "Keys:"));
+        StringWriter stringWriter = new StringWriter();
+
+        // when
+        try (StreamingConfigWriter writer = exporter.createStreamingWriter(stringWriter)) {
+            generator.generateStreaming(file, writer);
+        } finally {
+            Files.delete(file);
+        }
+
+        // then
+        String expected = exporter.toJson(generator.generateConfig(List.of("[keyboard=fr]", "Keys:")));
+        assertThat(stringWriter.toString(), equalTo(expected));
+    }
+
+    @Test
+    void shouldGenerateSameConfigForKeyLineTemplate() throws IOException {
+        // given
+        List<String> lines = Files.readAllLines(getResourceFile("testconfigs/tr3.txt"));
+        List<String> linesWithTemplate = new ArrayList<>();
+        for (String line : lines) {
+            if (line.equals("1 1 $weapon")) {
+                linesWithTemplate.add("{1..8} {} $weapon");
+            } else if (!line.matches("[2-8] [2-8] \\$weapon")) {
+                linesWithTemplate.add(line);
+            }
+        }
+
+        // when
+        NohbConfiguration result = generator.generateConfig(linesWithTemplate);
+
+        // then
+        assertThat(linesWithTemplate.size(), equalTo(lines.size() - 7));
+        String expected = readFile(getResourceFile("testconfigs/tr3_expected.json"));
+        assertThat(exporter.toJson(result).replace("\r\n", "\n"), equalTo(expected.replace("\r\n", "\n")));
+    }
+
     private void checkTestConfigFileGeneratesExpectedJson(String configFileName, String expectedResultFileName) {
         // given
         Path file = getResourceFile("testconfigs/" + configFileName);
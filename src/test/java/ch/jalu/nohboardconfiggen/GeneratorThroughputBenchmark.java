@@ -0,0 +1,87 @@
+package ch.jalu.nohboardconfiggen;
+
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the throughput of one {@link Generator} shared by multiple threads, compared to a single thread.
+ * Not run as part of the tests.
+ * <p>
+ * Usage: {@code GeneratorThroughputBenchmark [<threads>] [<rounds>]}.
+ */
+public final class GeneratorThroughputBenchmark {
+
+    private static final List<String> TEST_CONFIGS = List.of(
+        "tr1_simple.txt", "tr1_full.txt", "tr2.txt", "tr3.txt", "tr3_hs.txt", "tr_demo1.txt");
+
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+    private final List<List<String>> definitions = new ArrayList<>();
+
+    private GeneratorThroughputBenchmark() throws IOException {
+        for (String testConfig : TEST_CONFIGS) {
+            definitions.add(Files.readAllLines(Paths.get("src/test/resources/testconfigs", testConfig)));
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        int threads = args.length > 0
+            ? Integer.parseInt(args[0])
+            : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        GeneratorThroughputBenchmark benchmark = new GeneratorThroughputBenchmark();
+
+        benchmark.run(1, rounds); // warm-up
+        long singleThreadedNanos = benchmark.run(1, rounds);
+        long multiThreadedNanos = benchmark.run(threads, rounds);
+
+        double speedup = (double) singleThreadedNanos * threads / multiThreadedNanos;
+        System.out.printf("Generator throughput with %d threads: %.1fx of single-threaded (%d cores)%n",
+            threads, speedup, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Generates all definitions the given number of times in each thread with one shared generator.
+     *
+     * @return elapsed nanoseconds
+     */
+    private long run(int threads, int rounds) throws Exception {
+        Generator sharedGenerator = new Generator();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; ++thread) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; ++round) {
+                        // Start with a different definition in each thread so that they interleave
+                        for (int i = 0; i < definitions.size(); ++i) {
+                            int index = (i + offset) % definitions.size();
+                            exporter.toJson(sharedGenerator.generateConfig(definitions.get(index)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ch.jalu.nohboardconfiggen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the start-up time of {@link GeneratorRunner}: the time from launching a fresh JVM until the first
+ * byte of output is received, as well as until the process has exited. Not run as part of the tests.
+ * <p>
+ * Usage: {@code StartupBenchmark [<iterations>]}. The following system properties are supported:
+ * <ul>
+ *   <li>{@code startup.classpath}: class path of the launched JVMs (default: class path of this JVM). Must be
+ *       identical to the class path the archive was created with for the archive to be used.</li>
+ *   <li>{@code startup.archive}: AppCDS archive to compare against (see the {@code appcds} profile)</li>
+ *   <li>{@code startup.definition}: definition file to generate (default: tr3 test config)</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 3;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        String classpath = System.getProperty("startup.classpath", System.getProperty("java.class.path"));
+        String definition = System.getProperty("startup.definition", "src/test/resources/testconfigs/tr3.txt");
+        String archive = System.getProperty("startup.archive");
+
+        run("default", iterations, classpath, definition, List.of());
+        if (archive != null) {
+            if (!Files.exists(Paths.get(archive))) {
+                throw new IllegalArgumentException("Archive '" + archive + "' does not exist");
+            }
+            run("appcds", iterations, classpath, definition,
+                List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"));
+        }
+    }
+
+    private static void run(String name, int iterations, String classpath, String definition,
+                            List<String> jvmOptions) throws IOException, InterruptedException {
+        for (int i = 0; i < WARM_UP_ITERATIONS; ++i) {
+            measure(classpath, definition, jvmOptions);
+        }
+
+        long[] firstByteNanos = new long[iterations];
+        long[] exitNanos = new long[iterations];
+        for (int i = 0; i < iterations; ++i) {
+            long[] result = measure(classpath, definition, jvmOptions);
+            firstByteNanos[i] = result[0];
+            exitNanos[i] = result[1];
+        }
+        System.out.printf("%-8s first byte: %s; exit: %s%n", name, summarize(firstByteNanos), summarize(exitNanos));
+    }
+
+    /**
+     * Launches the generator in a new JVM.
+     *
+     * @return nanoseconds until the first byte of output, and nanoseconds until the process exited
+     */
+    private static long[] measure(String classpath, String definition,
+                                  List<String> jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, GeneratorRunner.class.getName(), definition));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        long firstByte;
+        try (InputStream output = process.getInputStream()) {
+            if (output.read() < 0) {
+                throw new IllegalStateException("Generator produced no output");
+            }
+            firstByte = System.nanoTime() - start;
+            output.transferTo(OutputStream.nullOutputStream());
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Generator exited with " + process.exitValue());
+        }
+        return new long[]{ firstByte, System.nanoTime() - start };
+    }
+
+    private static String summarize(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("min %.1f ms, median %.1f ms", sorted[0] / 1e6, sorted[sorted.length / 2] / 1e6);
+    }
+}
@@ -0,0 +1,118 @@
+package ch.jalu.nohboardconfiggen;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbCoords;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link VariantGenerator}.
+ */
+class VariantGeneratorTest {
+
+    private static final List<String> DEFINITION = List.of(
+        "[keyboard = de-ch]",
+        "[width = 40]",
+        "Keys:",
+        "A A",
+        "Ä ä [width = 1.5]",
+        "Sh LShift RShift",
+        "",
+        "Ü ü");
+
+    private final VariantGenerator variantGenerator = new VariantGenerator();
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldGenerateSameConfigAsGeneratorForUnscaledVariant() {
+        // given
+        NohbConfiguration expected = new Generator().generateConfig(DEFINITION);
+
+        // when
+        Map<ConfigVariant, NohbConfiguration> result = variantGenerator.generateVariants(
+            DEFINITION, List.of(KeyboardRegion.SWISS_GERMAN), List.of(1.0));
+
+        // then
+        assertThat(result.keySet(), contains(new ConfigVariant(KeyboardRegion.SWISS_GERMAN, 1.0)));
+        assertThat(exporter.toJson(result.values().iterator().next()), equalTo(exporter.toJson(expected)));
+    }
+
+    @Test
+    void shouldGenerateAllVariants() {
+        // given / when
+        Map<ConfigVariant, NohbConfiguration> result = variantGenerator.generateVariants(
+            List.of("Keys:", "A A", "Apos '"), List.of(KeyboardRegion.SWISS_GERMAN, KeyboardRegion.US),
+            List.of(1.0, 1.5));
+
+        // then
+        assertThat(result.keySet(), contains(
+            new ConfigVariant(KeyboardRegion.SWISS_GERMAN, 1.0), new ConfigVariant(KeyboardRegion.SWISS_GERMAN, 1.5),
+            new ConfigVariant(KeyboardRegion.US, 1.0), new ConfigVariant(KeyboardRegion.US, 1.5)));
+
+        NohbConfiguration swissConfig = result.get(new ConfigVariant(KeyboardRegion.SWISS_GERMAN, 1.0));
+        NohbConfiguration usScaledConfig = result.get(new ConfigVariant(KeyboardRegion.US, 1.5));
+        assertThat(swissConfig.getElements().get(1).getKeyCodes().asList(), contains(0xDB));
+        assertThat(usScaledConfig.getElements().get(1).getKeyCodes().asList(), contains(0xDE));
+        assertThat(usScaledConfig.getElements().get(0).getKeyCodes().asList(), contains(65));
+
+        // Second key: (46, 5) to (86, 45) unscaled
+        NohbElement scaledElement = usScaledConfig.getElements().get(1);
+        assertThat(toString(scaledElement.getBoundaries()), equalTo("(69, 8) (129, 8) (129, 68) (69, 68)"));
+        assertThat(scaledElement.getId(), equalTo(swissConfig.getElements().get(1).getId()));
+        assertThat(usScaledConfig.getWidth(), equalTo(Math.round(swissConfig.getWidth() * 1.5f)));
+        assertThat(usScaledConfig.getHeight(), equalTo(Math.round(swissConfig.getHeight() * 1.5f)));
+    }
+
+    @Test
+    void shouldWriteVariantFiles() throws IOException {
+        // given
+        Path definitionFile = tempDir.resolve("board.txt");
+        Files.write(definitionFile, DEFINITION);
+
+        // when
+        Map<ConfigVariant, Path> result = variantGenerator.writeVariants(definitionFile,
+            List.of(KeyboardRegion.SWISS_GERMAN, KeyboardRegion.GERMAN), List.of(1.0, 2.0, 1.25), tempDir);
+
+        // then
+        assertThat(result.values().stream().map(file -> file.getFileName().toString()).toList(), contains(
+            "board_de-ch@1x.json", "board_de-ch@2x.json", "board_de-ch@1.25x.json",
+            "board_de@1x.json", "board_de@2x.json", "board_de@1.25x.json"));
+        String expectedJson = exporter.toJson(new Generator().generateConfig(DEFINITION));
+        assertThat(Files.readString(result.get(new ConfigVariant(KeyboardRegion.SWISS_GERMAN, 1.0))),
+            equalTo(expectedJson));
+        for (Path file : result.values()) {
+            assertThat(Files.exists(file), equalTo(true));
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidScale() {
+        // given / when
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> variantGenerator.generateVariants(DEFINITION, List.of(KeyboardRegion.US), List.of(0.0)));
+
+        // then
+        assertThat(ex.getMessage(), equalTo("Scale must be a positive number, got 0.0"));
+    }
+
+    private static String toString(List<NohbCoords> coords) {
+        return String.join(" ", coords.stream().map(c -> "(" + c.getX() + ", " + c.getY() + ")").toList());
+    }
+}
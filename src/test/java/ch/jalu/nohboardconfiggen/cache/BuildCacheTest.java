@@ -0,0 +1,90 @@
+package ch.jalu.nohboardconfiggen.cache;
+
+import ch.jalu.nohboardconfiggen.Generator;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link BuildCache}.
+ */
+class BuildCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldReuseConfigurationOfUnchangedDefinition() throws IOException {
+        // given
+        BuildCache cache = newCache(100_000);
+        Path definition = Paths.get("src/test/resources/testconfigs/tr2.txt");
+        Path commentedDefinition = tempDir.resolve("commented.txt");
+        List<String> lines = Files.readAllLines(definition);
+        Files.write(commentedDefinition, lines.stream().flatMap(line -> Stream.of("# comment", "  " + line)).toList());
+        Path firstOutput = tempDir.resolve("first.json");
+        Path secondOutput = tempDir.resolve("second.json");
+
+        // when
+        boolean firstHit = cache.generate(definition, firstOutput);
+        boolean secondHit = cache.generate(commentedDefinition, secondOutput);
+
+        // then
+        assertThat(firstHit, equalTo(false));
+        assertThat(secondHit, equalTo(true));
+        String expectedJson = new NohboardConfigExporter().toJson(new Generator().generateConfig(definition));
+        assertThat(Files.readString(firstOutput), equalTo(expectedJson));
+        assertThat(Files.readString(secondOutput), equalTo(expectedJson));
+        CacheStats stats = cache.getStats();
+        assertThat(stats.hits(), equalTo(1L));
+        assertThat(stats.misses(), equalTo(1L));
+        assertThat(stats.entries(), equalTo(1));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        // given
+        Path definition1 = writeDefinition("one.txt", "Keys:", "Q Q");
+        Path definition2 = writeDefinition("two.txt", "Keys:", "W W");
+        Path definition3 = writeDefinition("three.txt", "Keys:", "E E");
+        Path output = tempDir.resolve("keyboard.json");
+        long entrySize;
+        {
+            BuildCache sizingCache = newCache(Long.MAX_VALUE);
+            sizingCache.generate(definition1, output);
+            entrySize = sizingCache.getStats().sizeInBytes();
+        }
+        BuildCache cache = newCache(entrySize * 2);
+
+        // when
+        boolean hit1 = cache.generate(definition1, output);
+        cache.generate(definition2, output);
+        cache.generate(definition1, output); // definition2 is now the least recently used
+        cache.generate(definition3, output);
+
+        // then
+        assertThat(hit1, equalTo(true)); // entry from the sizing cache in the same directory
+        CacheStats stats = cache.getStats();
+        assertThat(stats.entries(), equalTo(2));
+        assertThat(stats.evictions(), equalTo(1L));
+        assertThat(cache.generate(definition1, output), equalTo(true));
+        assertThat(cache.generate(definition2, output), equalTo(false));
+    }
+
+    private BuildCache newCache(long maxSize) {
+        return new BuildCache(tempDir.resolve("cache"), maxSize, new Generator(), new NohboardConfigExporter());
+    }
+
+    private Path writeDefinition(String fileName, String... lines) throws IOException {
+        return Files.write(tempDir.resolve(fileName), List.of(lines));
+    }
+}
@@ -0,0 +1,67 @@
+package ch.jalu.nohboardconfiggen.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Test for {@link DefinitionHasher}.
+ */
+class DefinitionHasherTest {
+
+    @Test
+    void shouldNormalizeLines() {
+        // given
+        List<String> lines = List.of(
+            "# Keyboard for testing",
+            "  [keyboard = fr]   # French",
+            "",
+            "Keys:",
+            "\tEsc\t Esc  [width=2]  ",
+            "# Comment in the middle of a row",
+            "\"A  #  B\"   A",
+            "",
+            "",
+            "C#  C",
+            "D\\\"  D",
+            "",
+            "");
+
+        // when
+        List<String> result = DefinitionHasher.normalize(lines);
+
+        // then
+        assertThat(result, contains(
+            "[keyboard = fr] #",
+            "Keys:",
+            "Esc Esc [width=2]",
+            "\"A  #  B\" A",
+            "",
+            "C# C",
+            "D\\\" D"));
+    }
+
+    @Test
+    void shouldIgnoreCommentsAndWhitespaceInHash() {
+        // given
+        List<String> lines = List.of("[width=40px]", "Keys:", "Esc Esc", "", "Q Q");
+        List<String> equivalentLines = List.of("# Test", "[width=40px]", "", "Keys:", "  Esc   Esc", "", "", "Q Q", "");
+        List<String> otherLines = List.of("[width=40px]", "Keys:", "Esc Esc", "Q Q");
+
+        // when
+        String hash = DefinitionHasher.hash(lines, 1);
+        String equivalentHash = DefinitionHasher.hash(equivalentLines, 1);
+        String otherHash = DefinitionHasher.hash(otherLines, 1);
+        String otherVersionHash = DefinitionHasher.hash(lines, 2);
+
+        // then
+        assertThat(equivalentHash, equalTo(hash));
+        assertThat(otherHash, not(equalTo(hash)));
+        assertThat(otherVersionHash, not(equalTo(hash)));
+    }
+}
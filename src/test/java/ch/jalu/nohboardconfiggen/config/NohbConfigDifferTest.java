@@ -0,0 +1,113 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfigDiff.ChangeType;
+import ch.jalu.nohboardconfiggen.config.NohbConfigDiff.ElementChange;
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link NohbConfigDiffer}.
+ */
+class NohbConfigDifferTest {
+
+    private final NohbConfigDiffer differ = new NohbConfigDiffer();
+
+    @Test
+    void shouldReturnEmptyDiffForEquivalentConfigs() {
+        // given
+        NohbConfiguration config1 = createConfig(
+            createElement(1, "Q", 5, 5, 16),
+            createElement(2, "W", 46, 5, 17));
+        NohbConfiguration config2 = createConfig(
+            createElement(2, "W", 46, 5, 17),
+            createElement(1, "Q", 5, 5, 16));
+
+        // when
+        NohbConfigDiff diff = differ.diff(config1, config2);
+
+        // then
+        assertThat(diff.isEmpty(), equalTo(true));
+        assertThat(diff.toReport(), equalTo(""));
+    }
+
+    @Test
+    void shouldDetectChanges() {
+        // given
+        NohbElement resized = createElement(3, "E", 87, 5, 18);
+        resized.getBoundaryCoordinates()[4] = 120; // x of the third boundary
+        NohbConfiguration config1 = createConfig(
+            createElement(1, "Q", 5, 5, 16),
+            createElement(2, "W", 46, 5, 17),
+            createElement(3, "E", 87, 5, 18),
+            createElement(4, "R", 128, 5, 19));
+        NohbConfiguration config2 = createConfig(
+            createElement(1, "Q", 5, 5, 16),
+            createElement(2, "Up", 46, 50, 38),
+            resized,
+            createElement(5, "T", 169, 5, 20));
+
+        // when
+        NohbConfigDiff diff = differ.diff(config1, config2);
+
+        // then
+        assertThat(diff.isEmpty(), equalTo(false));
+        assertThat(diff.addedIds(), contains(5));
+        assertThat(diff.removedIds(), contains(4));
+        assertThat(diff.changedElements(), contains(
+            new ElementChange(2, Set.of(ChangeType.MOVED, ChangeType.REBOUND, ChangeType.TEXT, ChangeType.TEXT_POSITION)),
+            new ElementChange(3, Set.of(ChangeType.RESIZED))));
+        assertThat(diff.sizeChanged(), equalTo(false));
+        assertThat(diff.toReport(), equalTo("""
+            + 5
+            - 4
+            ~ 2: moved, rebound, text, text_position
+            ~ 3: resized
+            """));
+    }
+
+    @Test
+    void shouldDetectKeyboardSizeChange() {
+        // given
+        NohbConfiguration config1 = createConfig(createElement(1, "Q", 5, 5, 16));
+        NohbConfiguration config2 = createConfig(createElement(1, "Q", 5, 5, 16));
+        config2.setWidth(80);
+
+        // when
+        NohbConfigDiff diff = differ.diff(config1, config2);
+
+        // then
+        assertThat(diff.changedElements(), empty());
+        assertThat(diff.sizeChanged(), equalTo(true));
+        assertThat(diff.isEmpty(), equalTo(false));
+    }
+
+    private static NohbConfiguration createConfig(NohbElement... elements) {
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(elements));
+        config.setWidth(50);
+        config.setHeight(50);
+        return config;
+    }
+
+    private static NohbElement createElement(int id, String text, int x, int y, int keyCode) {
+        NohbElement element = new NohbElement();
+        element.setId(id);
+        element.setTexts(text);
+        element.setKeyCodes(ImmutableIntArray.of(keyCode));
+        element.setBoundaries(List.of(
+            new NohbCoords(x, y),
+            new NohbCoords(x + 40, y),
+            new NohbCoords(x + 40, y + 40),
+            new NohbCoords(x, y + 40)));
+        element.setTextPosition(new NohbCoords(x + 20, y + 20));
+        return element;
+    }
+}
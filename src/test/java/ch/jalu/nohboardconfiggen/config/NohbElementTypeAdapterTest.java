@@ -0,0 +1,209 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.common.primitives.ImmutableIntArray;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Test for {@link NohbElementTypeAdapter}.
+ */
+class NohbElementTypeAdapterTest {
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    @Test
+    void shouldWriteSameJsonAsReflectiveSerializationForFullElement() {
+        // given
+        NohbElement element = new NohbElement();
+        element.setId(7);
+        element.setBoundaryCoordinates(new int[] { 5, 5, 45, 5, 45, 45, 5, 45 });
+        element.setKeyCodes(ImmutableIntArray.of(16, 65));
+        element.setText("Shift A");
+        element.setShiftText("SHIFT A");
+        element.setTextPosition(12, 20);
+        element.setChangeOnCaps(true);
+
+        ReflectiveElement expected = new ReflectiveElement();
+        expected.id = 7;
+        expected.boundaries = List.of(new NohbCoords(5, 5), new NohbCoords(45, 5),
+            new NohbCoords(45, 45), new NohbCoords(5, 45));
+        expected.keyCodes = List.of(16, 65);
+        expected.text = "Shift A";
+        expected.shiftText = "SHIFT A";
+        expected.textPosition = new NohbCoords(12, 20);
+        expected.changeOnCaps = true;
+
+        // when
+        String json = gson.toJson(element);
+
+        // then
+        assertThat(json, equalTo(gson.toJson(expected)));
+    }
+
+    @Test
+    void shouldOmitAbsentValuesLikeReflectiveSerialization() {
+        // given
+        NohbElement element = new NohbElement();
+        element.setBoundaryCoordinates(new int[0]);
+        element.setKeyCodes(ImmutableIntArray.of());
+
+        ReflectiveElement expected = new ReflectiveElement();
+        expected.boundaries = List.of();
+        expected.keyCodes = List.of();
+
+        NohbElement elementWithoutType = new NohbElement();
+        elementWithoutType.setType(null);
+        elementWithoutType.setText("");
+        ReflectiveElement expectedWithoutType = new ReflectiveElement();
+        expectedWithoutType.type = null;
+        expectedWithoutType.text = "";
+
+        // when
+        String json = gson.toJson(element);
+        String jsonWithoutType = gson.toJson(elementWithoutType);
+
+        // then
+        assertThat(json, equalTo(gson.toJson(expected)));
+        assertThat(json, equalTo("""
+            {
+              "__type": "KeyboardKey",
+              "Boundaries": [],
+              "KeyCodes": [],
+              "ChangeOnCaps": false
+            }"""));
+        assertThat(jsonWithoutType, equalTo(gson.toJson(expectedWithoutType)));
+    }
+
+    @Test
+    void shouldReadElementWithAbsentValuesAndWriteItIdentically() {
+        // given
+        String json = """
+            {
+              "__type": "KeyboardKey",
+              "Boundaries": [],
+              "KeyCodes": [
+                32
+              ],
+              "ChangeOnCaps": false
+            }""";
+
+        // when
+        NohbElement element = gson.fromJson(json, NohbElement.class);
+
+        // then
+        assertThat(element.hasId(), equalTo(false));
+        assertThat(element.hasBoundaries(), equalTo(true));
+        assertThat(element.getBoundaryCount(), equalTo(0));
+        assertThat(element.getKeyCodes(), equalTo(ImmutableIntArray.of(32)));
+        assertThat(element.getText(), nullValue());
+        assertThat(element.getShiftText(), nullValue());
+        assertThat(element.hasTextPosition(), equalTo(false));
+        assertThat(gson.toJson(element), equalTo(json));
+    }
+
+    @Test
+    void shouldTreatNullValuesAsAbsent() {
+        // given
+        String json = """
+            { "__type": "KeyboardKey", "Id": null, "Boundaries": null, "KeyCodes": null, "Text": null,
+              "TextPosition": null, "ShiftText": null }""";
+
+        // when
+        NohbElement element = gson.fromJson(json, NohbElement.class);
+
+        // then
+        assertThat(element.getType(), equalTo("KeyboardKey"));
+        assertThat(element.hasId(), equalTo(false));
+        assertThat(element.hasBoundaries(), equalTo(false));
+        assertThat(element.getKeyCodes(), nullValue());
+        assertThat(element.getText(), nullValue());
+        assertThat(element.hasTextPosition(), equalTo(false));
+        assertThat(element.getShiftText(), nullValue());
+        assertThat(gson.toJson(element), equalTo(gson.toJson(new ReflectiveElement())));
+    }
+
+    @Test
+    void shouldSkipUnknownProperties() {
+        // given
+        String json = """
+            { "__type": "MouseSpeedIndicator", "Id": 20, "Location": { "X": 150, "Y": 60 }, "Radius": 30,
+              "Extra": [ 1, { "Nested": null } ], "TextPosition": { "X": 3, "Z": 4, "Y": -2 },
+              "Text": "Speed" }""";
+
+        // when
+        NohbElement element = gson.fromJson(json, NohbElement.class);
+
+        // then
+        assertThat(element.getType(), equalTo("MouseSpeedIndicator"));
+        assertThat(element.getId(), equalTo(20));
+        assertThat(element.getText(), equalTo("Speed"));
+        assertThat(element.getTextX(), equalTo(3));
+        assertThat(element.getTextY(), equalTo(-2));
+        assertThat(element.hasBoundaries(), equalTo(false));
+    }
+
+    @Test
+    void shouldRoundTripElementList() {
+        // given
+        NohbElement element1 = new NohbElement();
+        element1.setId(1);
+        element1.setTexts("Q");
+        element1.setBoundaries(List.of(new NohbCoords(0, 0), new NohbCoords(10, 0)));
+        NohbElement element2 = new NohbElement(element1);
+        element2.removeId();
+        element2.setTextPosition(null);
+        element2.setText(null);
+        NohbElement[] elements = { element1, element2 };
+
+        // when
+        String json = gson.toJson(elements);
+        NohbElement[] result = gson.fromJson(json, NohbElement[].class);
+
+        // then
+        assertThat(gson.toJson(result), equalTo(json));
+        assertThat(result[1].hasId(), equalTo(false));
+        assertThat(result[1].getText(), nullValue());
+        assertThat(result[1].getShiftText(), equalTo("Q"));
+        assertThat(result[1].getBoundaries().stream().map(NohbCoords::getX).toList(), contains(0, 10));
+    }
+
+    /**
+     * Element with the fields of {@link NohbElement} before it stored its values as primitives, to compare with
+     * Gson's reflective serialization.
+     */
+    private static final class ReflectiveElement {
+
+        @SerializedName("__type")
+        private String type = "KeyboardKey";
+
+        @SerializedName("Id")
+        private Integer id;
+
+        @SerializedName("Boundaries")
+        private List<NohbCoords> boundaries;
+
+        @SerializedName("KeyCodes")
+        private List<Integer> keyCodes;
+
+        @SerializedName("Text")
+        private String text;
+
+        @SerializedName("TextPosition")
+        private NohbCoords textPosition;
+
+        @SerializedName("ChangeOnCaps")
+        private boolean changeOnCaps;
+
+        @SerializedName("ShiftText")
+        private String shiftText;
+    }
+}
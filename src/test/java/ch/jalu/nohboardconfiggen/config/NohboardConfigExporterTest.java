@@ -0,0 +1,220 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link NohboardConfigExporter}.
+ */
+class NohboardConfigExporterTest {
+
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldMergeIntoExistingFile() throws IOException {
+        // given
+        Path file = tempDir.resolve("keyboard.json");
+        Files.writeString(file, """
+            {
+              "Elements": [
+                { "__type": "KeyboardKey", "Id": 1, "Text": "Old", "KeyCodes": [ 65 ] },
+                { "__type": "MouseSpeedIndicator", "Id": 20, "Location": { "X": 150, "Y": 60 }, "Radius": 30, "Extra": null },
+                { "__type": "KeyboardKey", "Id": 2, "Text": "Kept", "KeyCodes": [ 66 ] }
+              ],
+              "Height": 95,
+              "Width": 185,
+              "Version": 2
+            }""", StandardCharsets.UTF_8);
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createElement(1, "New"), createElement(3, "Added")));
+        config.setWidth(90);
+        config.setHeight(50);
+
+        // when
+        exporter.exportMerging(config, file);
+
+        // then
+        NohbConfiguration result = new NohboardConfigImporter().load(file);
+        assertThat(result.getElements().stream().map(NohbElement::getId).toList(), contains(1, 20, 2, 3));
+        assertThat(result.getElements().stream().map(NohbElement::getText).toList(),
+            contains("New", null, "Kept", "Added"));
+        assertThat(result.getWidth(), equalTo(185));
+        assertThat(result.getHeight(), equalTo(95));
+        assertThat(Files.readString(file), containsString("\"Extra\": null"));
+    }
+
+    @Test
+    void shouldKeepHandMadeElementWhoseIdIsGenerated() throws IOException {
+        // given
+        Path file = tempDir.resolve("keyboard.json");
+        Files.writeString(file, """
+            {
+              "Elements": [
+                { "__type": "KeyboardKey", "Id": 1, "Text": "Old Q", "KeyCodes": [ 81 ] },
+                { "__type": "MouseSpeedIndicator", "Id": 2, "Location": { "X": 150, "Y": 60 }, "Radius": 30 },
+                { "__type": "KeyboardKey", "Id": 4, "Text": "Hand-made", "KeyCodes": [ 90 ] }
+              ],
+              "Version": 2
+            }""", StandardCharsets.UTF_8);
+        // A row was added: the generated IDs now include the IDs of the hand-made elements
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createGeneratedElement(1, "Q"), createGeneratedElement(2, "W"),
+            createGeneratedElement(3, "A"), createElement(5, "S")));
+
+        // when
+        exporter.exportMerging(config, file);
+        String firstMergeResult = Files.readString(file);
+        exporter.exportMerging(config, file);
+
+        // then
+        NohbConfiguration result = new NohboardConfigImporter().load(file);
+        assertThat(Files.readString(file), equalTo(firstMergeResult)); // moved element is not added again
+        assertThat(result.getElements().stream().map(NohbElement::getType).toList(), contains(
+            "KeyboardKey", "MouseSpeedIndicator", "KeyboardKey", "KeyboardKey", "KeyboardKey", "KeyboardKey"));
+        assertThat(result.getElements().stream().map(NohbElement::getId).toList(), contains(1, 2, 4, 6, 3, 5));
+        assertThat(result.getElements().stream().map(NohbElement::getText).toList(),
+            contains("Q", null, "Hand-made", "W", "A", "S"));
+        assertThat(config.getElements().get(1).getId(), equalTo(2)); // generated config is not changed
+    }
+
+    @Test
+    void shouldThrowForPredefinedIdUsedByHandMadeElement() throws IOException {
+        // given
+        Path file = tempDir.resolve("keyboard.json");
+        String existingContent = """
+            { "Elements": [ { "__type": "MouseKey", "Id": 3, "KeyCode": 1 } ], "Version": 2 }""";
+        Files.writeString(file, existingContent, StandardCharsets.UTF_8);
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createGeneratedElement(1, "Q"), createElement(3, "W")));
+
+        // when
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> exporter.exportMerging(config, file));
+
+        // then
+        assertThat(ex.getMessage(), equalTo(
+            "Predefined ID '3' of key 'W' is used by an element of type 'MouseKey' in the existing file"));
+        assertThat(Files.readString(file), equalTo(existingContent));
+    }
+
+    @Test
+    void shouldNotLeaveTemporaryFileForMalformedExistingFile() throws IOException {
+        // given
+        Path file = tempDir.resolve("keyboard.json");
+        String existingContent = """
+            { "Elements": [ { "__type": "KeyboardKey", "Id": "one" } ], "Version": 2 }""";
+        Files.writeString(file, existingContent, StandardCharsets.UTF_8);
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createElement(1, "New")));
+
+        // when
+        assertThrows(RuntimeException.class, () -> exporter.exportMerging(config, file));
+
+        // then
+        assertThat(Files.readString(file), equalTo(existingContent));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.toList(), contains(file));
+        }
+    }
+
+    @Test
+    void shouldExportNormallyIfFileDoesNotExist() throws IOException {
+        // given
+        Path file = tempDir.resolve("keyboard.json");
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createElement(1, "New")));
+
+        // when
+        exporter.exportMerging(config, file);
+
+        // then
+        assertThat(Files.readString(file), equalTo(exporter.toJson(config)));
+    }
+
+    @Test
+    void shouldExportToMultipleFilesAsynchronously() throws IOException {
+        // given
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(createElement(1, "Q"), createElement(2, "W")));
+        Path file1 = tempDir.resolve("keyboard1.json");
+        Path file2 = tempDir.resolve("keyboard2.json");
+        Path invalidFile = tempDir.resolve("nonexistent/keyboard.json");
+        Files.writeString(file2, "Previous content that is longer than the new content. ".repeat(100));
+
+        // when
+        List<ExportResult> results = exporter.exportAsync(config, List.of(file1, invalidFile, file2)).join();
+
+        // then
+        assertThat(results.stream().map(ExportResult::target).toList(), contains(file1, invalidFile, file2));
+        assertThat(results.stream().map(ExportResult::isSuccessful).toList(), contains(true, false, true));
+        assertThat(Files.readString(file1), equalTo(exporter.toJson(config)));
+        assertThat(Files.readString(file2), equalTo(exporter.toJson(config)));
+    }
+
+    @Test
+    void shouldWriteZipBundle() throws IOException {
+        // given
+        NohbConfiguration config1 = new NohbConfiguration();
+        config1.setElements(List.of(createElement(1, "Q")));
+        NohbConfiguration config2 = new NohbConfiguration();
+        config2.setElements(List.of(createElement(1, "W"), createElement(2, "E")));
+        Path zipFile = tempDir.resolve("keyboards.zip");
+
+        // when
+        try (ZipBundleWriter bundleWriter = exporter.createZipBundle(zipFile)) {
+            bundleWriter.add("TR", "tr1", config1);
+            bundleWriter.add("TR", "tr2", config2);
+        }
+
+        // then
+        try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+            assertThat(zip.stream().map(ZipEntry::getName).toList(),
+                contains("TR/tr1/keyboard.json", "TR/tr2/keyboard.json"));
+            assertThat(readEntry(zip, "TR/tr1/keyboard.json"), equalTo(exporter.toJson(config1)));
+            assertThat(readEntry(zip, "TR/tr2/keyboard.json"), equalTo(exporter.toJson(config2)));
+        }
+    }
+
+    private static String readEntry(ZipFile zip, String name) throws IOException {
+        try (InputStream inputStream = zip.getInputStream(zip.getEntry(name))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static NohbElement createGeneratedElement(int id, String text) {
+        NohbElement element = createElement(id, text);
+        element.setIdGenerated(true);
+        return element;
+    }
+
+    private static NohbElement createElement(int id, String text) {
+        NohbElement element = new NohbElement();
+        element.setId(id);
+        element.setTexts(text);
+        element.setKeyCodes(ImmutableIntArray.of(64 + id));
+        element.setBoundaries(List.of(
+            new NohbCoords(5, 5), new NohbCoords(45, 5), new NohbCoords(45, 45), new NohbCoords(5, 45)));
+        element.setTextPosition(new NohbCoords(25, 25));
+        return element;
+    }
+}
@@ -0,0 +1,144 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.generator.KeyboardModelGenerator;
+import ch.jalu.nohboardconfiggen.definition.parser.DefinitionParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link NohboardConfigGenerator}.
+ */
+class NohboardConfigGeneratorTest {
+
+    private static final List<String> DEFINITION = List.of(
+        "[width=40px]",
+        "Keys:",
+        "Esc Esc",
+        "F1 F1 [id=4]",
+        "",
+        "Q Q",
+        "W W",
+        "",
+        "[marginLeft=0.5]",
+        "A A",
+        "S S [width=2]",
+        "");
+
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    @Test
+    void shouldRegenerateRowWithDifferentHeight() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        NohbConfiguration initialResult = generator.generate(createConfig(DEFINITION));
+        List<String> changedDefinition = replaceLines(DEFINITION, 5, "Q Q [height=60px]", "Ctrl LCtrl RCtrl");
+
+        // when
+        NohbConfiguration result = generator.regenerateRow(1, createConfig(changedDefinition).getRows().get(1));
+
+        // then
+        assertThat(result, sameInstance(initialResult));
+        String expectedJson = exporter.toJson(new NohboardConfigGenerator().generate(createConfig(changedDefinition)));
+        assertThat(exporter.toJson(result), equalTo(expectedJson));
+    }
+
+    @Test
+    void shouldRegenerateRowRepeatedly() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        generator.generate(createConfig(DEFINITION));
+        List<String> changedDefinition1 = replaceLines(DEFINITION, 2, "Esc Esc [height=20px]", "F1 F1 [id=4]");
+        List<String> changedDefinition2 = replaceLines(changedDefinition1, 9, "A A [marginTop=10px]", "S S");
+
+        // when
+        generator.regenerateRow(0, createConfig(changedDefinition1).getRows().get(0));
+        NohbConfiguration result = generator.regenerateRow(2, createConfig(changedDefinition2).getRows().get(2));
+
+        // then
+        String expectedJson = exporter.toJson(new NohboardConfigGenerator().generate(createConfig(changedDefinition2)));
+        assertThat(exporter.toJson(result), equalTo(expectedJson));
+    }
+
+    @Test
+    void shouldRegenerateIdsOfPreviousRowsForNewPredefinedId() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        generator.generate(createConfig(DEFINITION));
+        List<String> changedDefinition = replaceLines(DEFINITION, 9, "A A [id=1]", "S S [id=3]");
+
+        // when
+        NohbConfiguration result = generator.regenerateRow(2, createConfig(changedDefinition).getRows().get(2));
+
+        // then
+        String expectedJson = exporter.toJson(new NohboardConfigGenerator().generate(createConfig(changedDefinition)));
+        assertThat(exporter.toJson(result), equalTo(expectedJson));
+        assertThat(result.getElements().get(0).getId(), equalTo(2));
+    }
+
+    @Test
+    void shouldRegenerateRowWithRemovedPredefinedId() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        generator.generate(createConfig(DEFINITION));
+        List<String> changedDefinition = replaceLines(DEFINITION, 2, "Esc Esc", "F1 F1");
+
+        // when
+        NohbConfiguration result = generator.regenerateRow(0, createConfig(changedDefinition).getRows().get(0));
+
+        // then
+        String expectedJson = exporter.toJson(new NohboardConfigGenerator().generate(createConfig(changedDefinition)));
+        assertThat(exporter.toJson(result), equalTo(expectedJson));
+    }
+
+    @Test
+    void shouldLeaveConfigurationUnchangedForDuplicatePredefinedId() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        NohbConfiguration initialResult = generator.generate(createConfig(DEFINITION));
+        String initialJson = exporter.toJson(initialResult);
+        List<String> changedDefinition = replaceLines(DEFINITION, 5, "Q Q [height=60px]", "W W [id=4]");
+
+        // when
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> generator.regenerateRow(1, createConfig(changedDefinition).getRows().get(1)));
+
+        // then
+        assertThat(ex.getMessage(), equalTo("Predefined ID '4' is used multiple times!"));
+        assertThat(exporter.toJson(initialResult), equalTo(initialJson));
+
+        // The generator can still be used with the previous state
+        List<String> validDefinition = replaceLines(DEFINITION, 5, "Q Q [height=60px]");
+        NohbConfiguration result = generator.regenerateRow(1, createConfig(validDefinition).getRows().get(1));
+        String expectedJson = exporter.toJson(new NohboardConfigGenerator().generate(createConfig(validDefinition)));
+        assertThat(exporter.toJson(result), equalTo(expectedJson));
+    }
+
+    @Test
+    void shouldThrowForRegenerationWithoutPreviousResult() {
+        // given
+        NohboardConfigGenerator generator = new NohboardConfigGenerator();
+        KeyboardConfig config = createConfig(DEFINITION);
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> generator.regenerateRow(0, config.getRows().get(0)));
+    }
+
+    private static KeyboardConfig createConfig(List<String> lines) {
+        DefinitionParser parser = new DefinitionParser();
+        parser.parse(lines);
+        return new KeyboardModelGenerator().generate(parser.buildAttributes(), parser.getKeyRows());
+    }
+
+    private static List<String> replaceLines(List<String> lines, int startIndex, String... replacements) {
+        String[] result = lines.toArray(new String[0]);
+        System.arraycopy(replacements, 0, result, startIndex, replacements.length);
+        return List.of(result);
+    }
+}
@@ -0,0 +1,88 @@
+package ch.jalu.nohboardconfiggen.config;
+
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Test for {@link NohboardConfigImporter}.
+ */
+class NohboardConfigImporterTest {
+
+    private final NohboardConfigImporter importer = new NohboardConfigImporter();
+
+    @Test
+    void shouldReadExportedConfiguration() throws IOException {
+        // given
+        NohbElement element = new NohbElement();
+        element.setId(3);
+        element.setTexts("Jump");
+        element.setKeyCodes(ImmutableIntArray.of(32, 162));
+        element.setBoundaries(List.of(
+            new NohbCoords(5, 5), new NohbCoords(45, 5), new NohbCoords(45, 45), new NohbCoords(5, 45)));
+        element.setTextPosition(new NohbCoords(25, 25));
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(element));
+        config.setWidth(50);
+        config.setHeight(51);
+        String json = new NohboardConfigExporter().toJson(config);
+        List<NohbElement> elements = new ArrayList<>();
+
+        // when
+        NohbConfiguration result = importer.read(new StringReader(json), elements::add);
+
+        // then
+        assertThat(result.getElements(), empty());
+        assertThat(result.getWidth(), equalTo(50));
+        assertThat(result.getHeight(), equalTo(51));
+        assertThat(result.getVersion(), equalTo(2));
+        assertThat(elements, hasSize(1));
+        NohbElement readElement = elements.get(0);
+        assertThat(readElement.getType(), equalTo("KeyboardKey"));
+        assertThat(readElement.getId(), equalTo(3));
+        assertThat(readElement.getText(), equalTo("Jump"));
+        assertThat(readElement.getShiftText(), equalTo("Jump"));
+        assertThat(readElement.getKeyCodes().asList(), contains(32, 162));
+        assertThat(readElement.getBoundaries(), hasSize(4));
+        assertThat(readElement.getBoundaries().get(2).getX(), equalTo(45));
+        assertThat(readElement.getBoundaries().get(2).getY(), equalTo(45));
+        assertThat(readElement.getTextPosition().getX(), equalTo(25));
+    }
+
+    @Test
+    void shouldSkipUnknownProperties() throws IOException {
+        // given
+        String json = """
+            \uFEFF{
+              "Elements": [
+                { "__type": "MouseSpeedIndicator", "Id": 7, "Location": { "X": 1, "Y": 2 }, "Radius": 20 },
+                { "__type": "KeyboardKey", "Id": 8, "KeyCodes": [ 65 ], "Text": null, "Unknown": [ { "a": 1 } ] }
+              ],
+              "Height": 100,
+              "Width": 200,
+              "Version": 2
+            }""";
+        List<NohbElement> elements = new ArrayList<>();
+
+        // when
+        NohbConfiguration result = importer.read(new StringReader(json), elements::add);
+
+        // then
+        assertThat(result.getWidth(), equalTo(200));
+        assertThat(elements, hasSize(2));
+        assertThat(elements.get(0).getType(), equalTo("MouseSpeedIndicator"));
+        assertThat(elements.get(0).getId(), equalTo(7));
+        assertThat(elements.get(1).getId(), equalTo(8));
+        assertThat(elements.get(1).getKeyCodes().asList(), contains(65));
+    }
+}
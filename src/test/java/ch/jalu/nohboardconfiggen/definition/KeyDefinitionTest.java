@@ -0,0 +1,59 @@
+package ch.jalu.nohboardconfiggen.definition;
+
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link KeyDefinition}.
+ */
+class KeyDefinitionTest {
+
+    @Test
+    void shouldStoreIdAndStackedFlag() {
+        // given / when
+        KeyDefinition key1 = KeyDefinition.builder().text("A").id(0).build();
+        KeyDefinition key2 = KeyDefinition.builder().text("B").stacked(true).build();
+        KeyDefinition key3 = KeyDefinition.builder().text("C").id(-3).stacked(true).build();
+
+        // then
+        assertThat(key1.hasId(), equalTo(true));
+        assertThat(key1.getId(), equalTo(0));
+        assertThat(key1.isStacked(), equalTo(false));
+        assertThat(key2.hasId(), equalTo(false));
+        assertThat(key2.isStacked(), equalTo(true));
+        assertThat(key3.hasId(), equalTo(true));
+        assertThat(key3.getId(), equalTo(-3));
+        assertThat(key3.isStacked(), equalTo(true));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, key2::getId);
+        assertThat(ex.getMessage(), equalTo("Key 'B' has no predefined ID"));
+    }
+
+    @Test
+    void shouldCopyKeysAndShareEmptyList() {
+        // given
+        List<KeyBinding> bindings = new ArrayList<>();
+        bindings.add(new KeyBinding(ImmutableIntArray.of(16, 65)));
+
+        // when
+        KeyDefinition key = KeyDefinition.builder().text("Shift A").keys(bindings).build();
+        KeyDefinition keyWithoutBindings1 = KeyDefinition.builder().text("-").build();
+        KeyDefinition keyWithoutBindings2 = KeyDefinition.builder().text("-").keys(new ArrayList<>()).build();
+        bindings.clear();
+
+        // then
+        assertThat(key.getKeys(), contains(new KeyBinding(ImmutableIntArray.of(16, 65))));
+        assertThrows(UnsupportedOperationException.class,
+            () -> key.getKeys().add(new KeyBinding(ImmutableIntArray.of(66))));
+        assertThat(keyWithoutBindings1.getKeys(), sameInstance(keyWithoutBindings2.getKeys()));
+    }
+}
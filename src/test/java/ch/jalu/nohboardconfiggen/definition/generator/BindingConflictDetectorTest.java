@@ -0,0 +1,133 @@
+package ch.jalu.nohboardconfiggen.definition.generator;
+
+import ch.jalu.nohboardconfiggen.definition.KeyBinding;
+import ch.jalu.nohboardconfiggen.definition.KeyDefinition;
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.KeyboardRow;
+import ch.jalu.nohboardconfiggen.definition.generator.BindingConflict.Type;
+import com.google.common.primitives.ImmutableIntArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Test for {@link BindingConflictDetector}.
+ */
+class BindingConflictDetectorTest {
+
+    private final BindingConflictDetector detector = new BindingConflictDetector();
+
+    @Test
+    void shouldReturnEmptyListForNoConflicts() {
+        // given
+        KeyboardConfig config = createConfig(
+            List.of(key("A", List.of(65)), key("B", List.of(66)), key("C", List.of(67), List.of(99))),
+            List.of(key("Ctrl+Alt", List.of(17, 18)), key("Alt+Shift", List.of(18, 16))));
+
+        // when
+        List<BindingConflict> conflicts = detector.findConflicts(config);
+
+        // then
+        assertThat(conflicts, empty());
+    }
+
+    @Test
+    void shouldFindDuplicateBindings() {
+        // given
+        KeyboardConfig config = createConfig(
+            List.of(key("Enter", List.of(13)), key("Ctrl+Alt", List.of(17, 18))),
+            List.of(key("NumEnter", List.of(13)), key("Alt+Ctrl", List.of(18, 17)), key("Enter2", List.of(13))));
+
+        // when
+        List<BindingConflict> conflicts = detector.findConflicts(config);
+
+        // then
+        assertThat(conflicts, contains(
+            new BindingConflict(Type.DUPLICATE, "NumEnter", "Enter", List.of(13), List.of(13)),
+            new BindingConflict(Type.DUPLICATE, "Alt+Ctrl", "Ctrl+Alt", List.of(18, 17), List.of(17, 18)),
+            new BindingConflict(Type.DUPLICATE, "Enter2", "Enter", List.of(13), List.of(13))));
+        assertThat(conflicts.get(1).toMessage(),
+            equalTo("Key 'Alt+Ctrl' has the same binding [18, 17] as key 'Ctrl+Alt'"));
+    }
+
+    @Test
+    void shouldFindShadowedBindings() {
+        // given
+        KeyboardConfig config = createConfig(
+            List.of(key("Ctrl", List.of(17)), key("Alt", List.of(18)), key("Shift", List.of(16))),
+            List.of(key("Ctrl+Alt", List.of(17, 18)), key("Ctrl+Alt+Del", List.of(17, 18, 46))));
+
+        // when
+        List<BindingConflict> conflicts = detector.findConflicts(config);
+
+        // then
+        assertThat(conflicts, containsInAnyOrder(
+            new BindingConflict(Type.SHADOWED, "Ctrl", "Ctrl+Alt", List.of(17), List.of(17, 18)),
+            new BindingConflict(Type.SHADOWED, "Alt", "Ctrl+Alt", List.of(18), List.of(17, 18)),
+            new BindingConflict(Type.SHADOWED, "Ctrl", "Ctrl+Alt+Del", List.of(17), List.of(17, 18, 46)),
+            new BindingConflict(Type.SHADOWED, "Alt", "Ctrl+Alt+Del", List.of(18), List.of(17, 18, 46)),
+            new BindingConflict(Type.SHADOWED, "Ctrl+Alt", "Ctrl+Alt+Del", List.of(17, 18), List.of(17, 18, 46))));
+        assertThat(conflicts.get(0).toMessage(), equalTo(
+            "Key 'Ctrl' with binding [17] is also highlighted by the binding [17, 18] of key 'Ctrl+Alt'"));
+    }
+
+    @Test
+    void shouldIgnoreConflictsWithinSameKey() {
+        // given
+        KeyboardConfig config = createConfig(
+            List.of(key("Shift", List.of(16), List.of(16, 160), List.of(16))));
+
+        // when
+        List<BindingConflict> conflicts = detector.findConflicts(config);
+
+        // then
+        assertThat(conflicts, empty());
+    }
+
+    @Test
+    void shouldHandleLargeBoard() {
+        // given
+        List<KeyDefinition> keys = IntStream.range(0, 4000)
+            .mapToObj(i -> key("K" + i, List.of(i % 200, 200 + i / 200)))
+            .collect(Collectors.toList());
+        keys.add(key("Single5", List.of(5)));
+        keys.add(key("Duplicate", List.of(200, 0)));
+        KeyboardConfig config = createConfig(keys);
+
+        // when
+        List<BindingConflict> conflicts = detector.findConflicts(config);
+
+        // then
+        assertThat(conflicts, hasSize(21));
+        assertThat(conflicts.get(0),
+            equalTo(new BindingConflict(Type.DUPLICATE, "Duplicate", "K0", List.of(200, 0), List.of(0, 200))));
+        assertThat(conflicts.subList(1, 21).stream().allMatch(c -> c.type() == Type.SHADOWED
+            && c.keyText().equals("Single5")), equalTo(true));
+    }
+
+    @SafeVarargs
+    private static KeyDefinition key(String text, List<Integer>... bindings) {
+        List<KeyBinding> keyBindings = Arrays.stream(bindings)
+            .map(binding -> new KeyBinding(ImmutableIntArray.copyOf(binding)))
+            .toList();
+        return KeyDefinition.builder().text(text).keys(keyBindings).build();
+    }
+
+    @SafeVarargs
+    private static KeyboardConfig createConfig(List<KeyDefinition>... rows) {
+        List<KeyboardRow> keyboardRows = Arrays.stream(rows)
+            .map(keys -> KeyboardRow.builder().keys(keys).build())
+            .toList();
+        return KeyboardConfig.builder().rows(keyboardRows).build();
+    }
+}
@@ -0,0 +1,104 @@
+package ch.jalu.nohboardconfiggen.definition.generator.attribute;
+
+import ch.jalu.nohboardconfiggen.definition.Unit;
+import ch.jalu.nohboardconfiggen.definition.ValueWithUnit;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link AttributeValueCache}.
+ */
+class AttributeValueCacheTest {
+
+    @Test
+    void shouldReturnSameInstanceForRepeatedValues() {
+        // given
+        AttributeValueCache cache = new AttributeValueCache(10);
+        AttributeType<ValueWithUnit> numberType = cache.wrap(new ValueWithUnitAttributeType(true));
+
+        // when
+        ValueWithUnit result1 = numberType.parse("width", "40px");
+        ValueWithUnit result2 = numberType.parse("height", "40px");
+        ValueWithUnit result3 = numberType.parse("width", "40");
+
+        // then
+        assertThat(result1, equalTo(new ValueWithUnit(BigDecimal.valueOf(40), Unit.PIXEL)));
+        assertThat(result2, sameInstance(result1));
+        assertThat(result3, not(equalTo(result1)));
+        assertThat(cache.stats().hitCount(), equalTo(1L));
+        assertThat(cache.stats().missCount(), equalTo(2L));
+    }
+
+    @Test
+    void shouldKeepResultsOfAttributeTypesSeparate() {
+        // given
+        AttributeValueCache cache = new AttributeValueCache(10);
+        AttributeType<ValueWithUnit> numberType = cache.wrap(new ValueWithUnitAttributeType(true));
+        AttributeType<Integer> integerType = cache.wrap(SimpleAttributeTypes.createIntegerAttributeType());
+
+        // when
+        ValueWithUnit number = numberType.parse("width", "3");
+        Integer integer = integerType.parse("id", "3");
+
+        // then
+        assertThat(number, equalTo(new ValueWithUnit(BigDecimal.valueOf(3), null)));
+        assertThat(integer, equalTo(3));
+        assertThat(cache.stats().hitCount(), equalTo(0L));
+    }
+
+    @Test
+    void shouldNotCacheInvalidValues() {
+        // given
+        AttributeValueCache cache = new AttributeValueCache(10);
+        AttributeType<Boolean> booleanType = cache.wrap(SimpleAttributeTypes.createBooleanAttributeType());
+
+        // when
+        IllegalArgumentException ex1 = assertThrows(IllegalArgumentException.class,
+            () -> booleanType.parse("stacked", "yes"));
+        IllegalArgumentException ex2 = assertThrows(IllegalArgumentException.class,
+            () -> booleanType.parse("other", "yes"));
+
+        // then
+        assertThat(ex1.getMessage(), equalTo("Invalid value 'yes' for attribute 'stacked': expected a boolean"));
+        assertThat(ex2.getMessage(), equalTo("Invalid value 'yes' for attribute 'other': expected a boolean"));
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+    @Test
+    void shouldEvictEntriesBeyondMaximumSize() {
+        // given
+        AttributeValueCache cache = new AttributeValueCache(16);
+        AttributeType<Integer> integerType = cache.wrap(SimpleAttributeTypes.createIntegerAttributeType());
+
+        // when
+        for (int i = 0; i < 1000; ++i) {
+            integerType.parse("id", String.valueOf(i));
+        }
+
+        // then
+        assertThat(cache.size(), lessThanOrEqualTo(16L));
+        assertThat(cache.stats().evictionCount(), equalTo(1000L - cache.size()));
+    }
+
+    @Test
+    void shouldUseSharedCacheForPredefinedTypes() {
+        // given
+        long hitCount = AttributeValueCache.getSharedStats().hitCount();
+
+        // when
+        ValueWithUnit result1 = AttributeType.NUMBER_WITH_UNIT.parse("marginLeft", "0.8123k");
+        ValueWithUnit result2 = AttributeType.NUMBER_WITH_UNIT.parse("marginTop", "0.8123k");
+
+        // then
+        assertThat(result2, sameInstance(result1));
+        assertThat(AttributeValueCache.getSharedStats().hitCount(), equalTo(hitCount + 1));
+    }
+}
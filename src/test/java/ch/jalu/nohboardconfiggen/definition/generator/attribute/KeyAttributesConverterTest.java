@@ -20,21 +20,23 @@ class KeyAttributesConverterTest {
     @Test
     void shouldConvertAttributes() {
         // given
-        KeyDefinition keyModel = new KeyDefinition();
+        KeyDefinition.KeyDefinitionBuilder builder = KeyDefinition.builder();
 
         // when
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("height", "30px"));
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("width", "0.75"));
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("marginLeft", "20px"));
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("marginTop", "0.5"));
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("id", "250"));
-        KeyAttributesConverter.processAttribute(keyModel, new Attribute("stacked", "true"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("height", "30px"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("width", "0.75"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("marginLeft", "20px"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("marginTop", "0.5"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("id", "250"));
+        KeyAttributesConverter.processAttribute(builder, new Attribute("stacked", "true"));
+        KeyDefinition keyModel = builder.build();
 
         // then
         assertThat(keyModel.getCustomHeight(), equalTo(new ValueWithUnit(BigDecimal.valueOf(30), Unit.PIXEL)));
         assertThat(keyModel.getCustomWidth(), equalTo(new ValueWithUnit(new BigDecimal("0.75"), Unit.KEY)));
         assertThat(keyModel.getMarginLeft(), equalTo(new ValueWithUnit(BigDecimal.valueOf(20), Unit.PIXEL)));
         assertThat(keyModel.getMarginTop(), equalTo(new ValueWithUnit(new BigDecimal("0.5"), Unit.KEY)));
+        assertThat(keyModel.hasId(), equalTo(true));
         assertThat(keyModel.getId(), equalTo(250));
         assertThat(keyModel.isStacked(), equalTo(true));
     }
@@ -43,7 +45,7 @@ class KeyAttributesConverterTest {
     void shouldThrowForUnknownAttribute() {
         // given / when
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
-            () -> KeyAttributesConverter.processAttribute(new KeyDefinition(), new Attribute("opacity", "0.5")));
+            () -> KeyAttributesConverter.processAttribute(KeyDefinition.builder(), new Attribute("opacity", "0.5")));
 
         // then
         assertThat(ex.getMessage(), equalTo("Unknown key attribute: opacity"));
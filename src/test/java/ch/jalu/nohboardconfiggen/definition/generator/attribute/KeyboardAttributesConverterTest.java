@@ -16,12 +16,13 @@ class KeyboardAttributesConverterTest {
     @Test
     void shouldConvertAttributes() {
         // given
-        KeyboardConfig keyboardConfig = new KeyboardConfig();
+        KeyboardConfig.KeyboardConfigBuilder builder = KeyboardConfig.builder();
 
         // when
-        KeyboardAttributesConverter.processAttribute(keyboardConfig, new Attribute("height", "30px"));
-        KeyboardAttributesConverter.processAttribute(keyboardConfig, new Attribute("width", "32"));
-        KeyboardAttributesConverter.processAttribute(keyboardConfig, new Attribute("spacing", "4"));
+        KeyboardAttributesConverter.processAttribute(builder, new Attribute("height", "30px"));
+        KeyboardAttributesConverter.processAttribute(builder, new Attribute("width", "32"));
+        KeyboardAttributesConverter.processAttribute(builder, new Attribute("spacing", "4"));
+        KeyboardConfig keyboardConfig = builder.build();
 
         // then
         assertThat(keyboardConfig.getHeight(), equalTo(30));
@@ -33,7 +34,7 @@ class KeyboardAttributesConverterTest {
     void shouldThrowForUnknownAttribute() {
         // given / when
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
-            () -> KeyboardAttributesConverter.processAttribute(new KeyboardConfig(), new Attribute("opacity", "0.5")));
+            () -> KeyboardAttributesConverter.processAttribute(KeyboardConfig.builder(), new Attribute("opacity", "0.5")));
 
         // then
         assertThat(ex.getMessage(), equalTo("Unknown keyboard attribute: opacity"));
@@ -42,19 +43,23 @@ class KeyboardAttributesConverterTest {
     @Test
     void shouldIgnoreKeyboardAttribute() {
         // given
-        KeyboardConfig keyboardConfig = new KeyboardConfig();
+        KeyboardConfig.KeyboardConfigBuilder builder = KeyboardConfig.builder();
 
         // when
-        KeyboardAttributesConverter.processAttribute(keyboardConfig, new Attribute("keyboard", "nl"));
+        KeyboardAttributesConverter.processAttribute(builder, new Attribute("keyboard", "nl"));
 
-        // then - no exception
+        // then - no exception, default values are kept
+        KeyboardConfig keyboardConfig = builder.build();
+        assertThat(keyboardConfig.getWidth(), equalTo(40));
+        assertThat(keyboardConfig.getHeight(), equalTo(40));
+        assertThat(keyboardConfig.getSpacing(), equalTo(1));
     }
 
     @Test
     void shouldThrowForUnitIfNotEqualToPixels() {
         // given / when
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
-            () -> KeyboardAttributesConverter.processAttribute(new KeyboardConfig(), new Attribute("width", "1k")));
+            () -> KeyboardAttributesConverter.processAttribute(KeyboardConfig.builder(), new Attribute("width", "1k")));
 
         // then
         assertThat(ex.getMessage(), equalTo("Invalid value for keyboard attribute 'width'. Expected units in pixel, but got: k"));
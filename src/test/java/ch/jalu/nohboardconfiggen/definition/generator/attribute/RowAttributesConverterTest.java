@@ -20,11 +20,12 @@ class RowAttributesConverterTest {
     @Test
     void shouldConvertAttributes() {
         // given
-        KeyboardRow rowModel = new KeyboardRow();
+        KeyboardRow.KeyboardRowBuilder builder = KeyboardRow.builder();
 
         // when
-        RowAttributesConverter.processAttribute(rowModel, new Attribute("marginLeft", "20px"));
-        RowAttributesConverter.processAttribute(rowModel, new Attribute("marginTop", "0.5"));
+        RowAttributesConverter.processAttribute(builder, new Attribute("marginLeft", "20px"));
+        RowAttributesConverter.processAttribute(builder, new Attribute("marginTop", "0.5"));
+        KeyboardRow rowModel = builder.build();
 
         // then
         assertThat(rowModel.getMarginLeft(), equalTo(new ValueWithUnit(BigDecimal.valueOf(20), Unit.PIXEL)));
@@ -35,7 +36,7 @@ class RowAttributesConverterTest {
     void shouldThrowForUnknownAttribute() {
         // given / when
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
-            () -> RowAttributesConverter.processAttribute(new KeyboardRow(), new Attribute("opacity", "0.5")));
+            () -> RowAttributesConverter.processAttribute(KeyboardRow.builder(), new Attribute("opacity", "0.5")));
 
         // then
         assertThat(ex.getMessage(), equalTo("Unknown row attribute: opacity"));
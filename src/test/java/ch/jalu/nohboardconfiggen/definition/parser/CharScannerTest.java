@@ -0,0 +1,84 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test for {@link CharScanner} implementations.
+ */
+class CharScannerTest {
+
+    private static final List<String> TEXTS = List.of(
+        "",
+        "   ",
+        "a",
+        "  \t Esc Esc",
+        "Shift LShift & LCtrl  RShift $wide",
+        "                                        Key123          [width = 1.5]    # comment",
+        "LongNameWithoutAnyDelimiterThatSpansMultipleVectorsOfThirtyTwoCharacters",
+        "\u001C\u001D\u001E\u001F\u000B\u000C\r\n                                 x",
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ\"quoted\"",
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ\u00E4\u00F6",
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ\uD83D\uDE00",
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ\u3000",
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ\\",
+        "\u0085\u00A0                                           ");
+
+    @Test
+    void shouldScanWithScalarScanner() {
+        verifyScanner(ScalarCharScanner.INSTANCE);
+    }
+
+    @Test
+    void shouldScanWithVectorScanner() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        verifyScanner(new VectorCharScanner());
+    }
+
+    @Test
+    void shouldUseVectorScannerIfModuleIsPresent() {
+        // given
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+
+        // when
+        CharScanner scanner = CharScanner.getDefault();
+
+        // then
+        assertThat(scanner, instanceOf(VectorCharScanner.class));
+    }
+
+    private static void verifyScanner(CharScanner scanner) {
+        for (String text : TEXTS) {
+            char[] chars = text.toCharArray();
+            for (int from = 0; from <= chars.length; ++from) {
+                assertThat(text + " @" + from, scanner.skipAsciiWhitespace(chars, from),
+                    equalTo(expectedWhitespaceEnd(chars, from)));
+                assertThat(text + " @" + from, scanner.findDelimiter(chars, from),
+                    equalTo(expectedDelimiter(chars, from)));
+            }
+        }
+    }
+
+    private static int expectedWhitespaceEnd(char[] chars, int from) {
+        int i = from;
+        while (i < chars.length && chars[i] < 0x80 && Character.isWhitespace(chars[i])) {
+            ++i;
+        }
+        return i;
+    }
+
+    private static int expectedDelimiter(char[] chars, int from) {
+        int i = from;
+        while (i < chars.length && chars[i] < 0x80 && !Character.isWhitespace(chars[i])
+            && "#[$\"\\".indexOf(chars[i]) < 0) {
+            ++i;
+        }
+        return i;
+    }
+}
@@ -3,6 +3,7 @@ package ch.jalu.nohboardconfiggen.definition.parser;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Attribute;
 import ch.jalu.nohboardconfiggen.definition.parser.element.AttributeList;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyLine;
+import ch.jalu.nohboardconfiggen.definition.parser.element.KeyLineTemplate;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyNameSet;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyRow;
 import ch.jalu.nohboardconfiggen.definition.parser.element.KeyboardLineParseResult;
@@ -10,14 +11,18 @@ import ch.jalu.nohboardconfiggen.definition.parser.element.KeyboardRowEnd;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Variable.AttributeVariable;
 import ch.jalu.nohboardconfiggen.definition.parser.element.Variable.ValueVariable;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -26,10 +31,12 @@ import static org.hamcrest.Matchers.anEmptyMap;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -346,6 +353,34 @@ class DefinitionParserTest {
             assertThat(key3.attributes(), empty());
         }
 
+        @Test
+        void shouldParseKeysWithCharactersOutsideBasicMultilingualPlane() {
+            // given / when
+            KeyLine key1 = (KeyLine) parseKeyLine("\uD83D\uDE00\uD83D\uDE03 Space");
+            KeyLine key2 = (KeyLine) parseKeyLine("Up \uD83E\uDC61 & W");
+
+            // then
+            assertThat(key1.displayText(), equalTo("\uD83D\uDE00\uD83D\uDE03"));
+            assertThat(key1.keys(), contains(new KeyNameSet("Space")));
+            assertThat(key2.displayText(), equalTo("Up"));
+            assertThat(key2.keys(), contains(new KeyNameSet("\uD83E\uDC61", "W")));
+        }
+
+        @Test
+        void shouldReportColumnInCodePoints() {
+            // given
+            List<String> definitions = List.of(
+                "Keys:",
+                "\uD83D\uDE00\uD83D\uDE03 A [width = 2px] x");
+
+            // when
+            ParserException ex = assertThrows(ParserException.class, () -> parser.parse(definitions));
+
+            // then
+            assertThat(ex.getMessage(), equalTo("Expected only attributes to be declared, but found 'x' on line 2, column 20"));
+            assertThat(ex.getColumn(), equalTo(20)); // 22 in UTF-16 code units
+        }
+
         @Test
         void shouldParseKeyDefinitionWithAttribute() {
             // given / when
@@ -417,6 +452,18 @@ class DefinitionParserTest {
             assertThat(attributes3.attributes(), contains(new Attribute("marginLeft", "5px"), new Attribute("marginTop", "10")));
         }
 
+        @Test
+        void shouldKeepColumnsOfKeysAndAttributes() {
+            // given / when
+            KeyLine key = (KeyLine) parseKeyLine("\uD83D\uDE00 LeftAlt & R \"Q\" [width=20][ height = 40px, dark=true]");
+            AttributeList attributes = (AttributeList) parseKeyLine("  [marginLeft=5px] [ marginTop = 10]");
+
+            // then
+            assertThat(key.keyColumns(), contains(2, 14));
+            assertThat(key.attributeColumns(), contains(19, 30, 45));
+            assertThat(attributes.columns(), contains(3, 21));
+        }
+
         @Test
         void shouldThrowForUnexpectedContentAfterAttributes() {
             // given / when
@@ -535,6 +582,31 @@ class DefinitionParserTest {
         assertThat(row3.getKey(0).attributes(), contains(new Attribute("width", "3")));
     }
 
+    @Test
+    void shouldPassRowsToConsumerWhileParsing() {
+        // given
+        List<String> lines = List.of(
+            "[keyboard=de]",
+            "Keys:",
+            "W ArrowUp",
+            "",
+            "A ArrowLeft",
+            "S ArrowDown");
+        int[] linesRead = new int[1];
+        Iterable<String> lineIterable = () -> lines.stream().peek(line -> ++linesRead[0]).iterator();
+        List<String> events = new ArrayList<>();
+
+        // when
+        parser.parse(lineIterable, row -> events.add(linesRead[0] + ": " + row.getKeys().size()
+            + " key(s), attributes " + parser.buildAttributes()));
+
+        // then
+        assertThat(events, contains(
+            "4: 1 key(s), attributes [Attribute[name=keyboard, value=de]]",
+            "6: 2 key(s), attributes [Attribute[name=keyboard, value=de]]"));
+        assertThat(parser.getKeyRows(), nullValue());
+    }
+
     @Test
     void shouldParse2() {
         // given / when
@@ -644,6 +716,278 @@ class DefinitionParserTest {
         assertThat(ex.getMessage(), equalTo("You have defined attributes for a keyboard row, but there are no keys. Attributes: marginTop, marginLeft"));
     }
 
+    @Nested
+    class KeyLineTemplateParse {
+
+        @Test
+        void shouldParseNumberRange() {
+            // given / when
+            KeyLineTemplate template = (KeyLineTemplate) parseKeyLine("{1..3} {} [width = 2]");
+
+            // then
+            assertThat(template.template(), isKey("{}", "{}"));
+            assertThat(template.values(), contains("1", "2", "3"));
+            List<KeyLine> keys = Lists.newArrayList(template);
+            assertThat(keys, contains(isKey("1", "1"), isKey("2", "2"), isKey("3", "3")));
+            assertThat(keys.get(0).attributes(), contains(new Attribute("width", "2")));
+            assertThat(keys.get(2).attributes(), sameInstance(template.template().attributes()));
+        }
+
+        @Test
+        void shouldParseCharacterRangeAndList() {
+            // given / when
+            KeyLineTemplate template1 = (KeyLineTemplate) parseKeyLine("Num{A..C} NumPad{}  Num_{}");
+            KeyLineTemplate template2 = (KeyLineTemplate) parseKeyLine("Key_{Q,W} {} & LCtrl \"{}\"");
+            KeyLineTemplate template3 = (KeyLineTemplate) parseKeyLine("{Up,Down} {}");
+
+            // then
+            assertThat(Lists.newArrayList(template1), contains(
+                isKey("NumA", "NumPadA", "Num_A"), isKey("NumB", "NumPadB", "Num_B"),
+                isKey("NumC", "NumPadC", "Num_C")));
+
+            List<KeyLine> keys2 = Lists.newArrayList(template2);
+            assertThat(keys2, hasSize(2));
+            assertThat(keys2.get(1).displayText(), equalTo("Key_W"));
+            // Quoted key names are never templates
+            assertThat(keys2.get(1).keys(), contains(new KeyNameSet("W", "LCtrl"), new KeyNameSet("{}")));
+
+            assertThat(Lists.newArrayList(template3), contains(isKey("Up", "Up"), isKey("Down", "Down")));
+        }
+
+        @Test
+        void shouldNotTreatBracesWithoutRangeOrListAsTemplate() {
+            // given / when
+            KeyLine key = (KeyLine) parseKeyLine("{x} X");
+
+            // then
+            assertThat(key, isKey("{x}", "X"));
+        }
+
+        @Test
+        void shouldNotTreatQuotedTextOrVariablesAsTemplate() {
+            // given
+            parser.variablesByName.put("list", new ValueVariable("list", "{a,b}"));
+
+            // when
+            KeyLine key1 = (KeyLine) parseKeyLine("\"Set {a,b}\" S");
+            KeyLine key2 = (KeyLine) parseKeyLine("Set$list S");
+
+            // then
+            assertThat(key1, isKey("Set {a,b}", "S"));
+            assertThat(key2, isKey("Set{a,b}", "S"));
+        }
+
+        @Test
+        void shouldThrowForTooLargeRanges() {
+            // given / when
+            ParserException ex1 = assertThrows(ParserException.class, () -> parseKeyLine("{1..99999999999} {}"));
+            ParserException ex2 = assertThrows(ParserException.class, () -> parseKeyLine("{0..2000000000} {}"));
+            ParserException ex3 = assertThrows(ParserException.class, () -> parseKeyLine("{A..z} {}"));
+            String longList = IntStream.rangeClosed(0, DefinitionParser.MAX_TEMPLATE_VALUES)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+            ParserException ex4 = assertThrows(ParserException.class, () -> parseKeyLine("{" + longList + "} {}"));
+
+            // then
+            assertThat(ex1.getMessage(),
+                equalTo("Invalid range '1..99999999999' on line 4: the number '99999999999' is too large"));
+            assertThat(ex2.getMessage(),
+                equalTo("Invalid range '0..2000000000' on line 4: a template may have at most 1000 values"));
+            assertThat(ex3.getMessage(), equalTo(
+                "Invalid range 'A..z' on line 4: the letters must both be lowercase or both be uppercase"));
+            assertThat(ex4.getMessage(), endsWith("on line 4: a template may have at most 1000 values"));
+            assertThat(((KeyLineTemplate) parseKeyLine("{1..1000} {}")).values(), hasSize(1000));
+        }
+
+        @Test
+        void shouldThrowForInvalidTemplates() {
+            // given / when
+            ParserException ex1 = assertThrows(ParserException.class, () -> parseKeyLine("{3..1} {}"));
+            ParserException ex2 = assertThrows(ParserException.class, () -> parseKeyLine("{1,,2} {}"));
+            ParserException ex3 = assertThrows(ParserException.class, () -> parseKeyLine("{1..2} {x}"));
+            ParserException ex4 = assertThrows(ParserException.class, () -> parseKeyLine("{1..B} {}"));
+
+            // then
+            assertThat(ex1.getMessage(),
+                equalTo("Invalid range '3..1' on line 4: the start may not be greater than the end"));
+            assertThat(ex2.getMessage(), equalTo("Empty value in '{1,,2}' on line 4"));
+            assertThat(ex3.getMessage(), equalTo("Expected placeholder {} on line 4, column 9"));
+            assertThat(ex4.getMessage(), equalTo(
+                "Invalid range '1..B' on line 4. Ranges must be between two numbers or two letters"));
+        }
+
+        @Test
+        void shouldExpandTemplatesIntoRows() {
+            // given
+            List<String> definitions = List.of(
+                "$weapon = [height=37px]",
+                "Keys:",
+                "Inv Esc",
+                "{1..8} {} $weapon",
+                "",
+                "F{1..12} F{}");
+
+            // when
+            parser.parse(definitions);
+
+            // then
+            List<KeyRow> rows = parser.getKeyRows();
+            assertThat(rows, hasSize(2));
+            assertThat(rows.get(0).getKeys(), hasSize(9));
+            assertThat(rows.get(0).getKey(8), isKey("8", "8"));
+            assertThat(rows.get(0).getKey(8).attributes(), contains(new Attribute("height", "37px")));
+            assertThat(rows.get(1).getKeys(), hasSize(12));
+            assertThat(rows.get(1).getKey(11), isKey("F12", "F12"));
+        }
+    }
+
+    @Nested
+    class ValueExpressionParse {
+
+        @Test
+        void shouldFoldExpressionsInVariablesAndAttributes() {
+            // given
+            parseHeaderLine("$keyW = 40px");
+            parseHeaderLine("$gap = ($keyW - 4px) / 4");
+
+            // when
+            parseHeaderLine("[keyWidth = $keyW * 2 + 3px, spacing = $gap*2, marginLeft = 0.5 + 1 / 4]");
+
+            // then
+            assertThat(parser.variablesByName.get("gap"), equalTo(new ValueVariable("gap", "9px")));
+            assertThat(parser.buildAttributes(), containsInAnyOrder(
+                new Attribute("keyWidth", "83px"),
+                new Attribute("spacing", "18px"),
+                new Attribute("marginLeft", "0.75")));
+        }
+
+        @Test
+        void shouldKeepSimpleValuesAsIs() {
+            // given
+            parseHeaderLine("$layout = en-us");
+
+            // when
+            parseHeaderLine("[keyboard = $layout, width = 1.50k , height=-2]");
+
+            // then
+            assertThat(parser.buildAttributes(), containsInAnyOrder(
+                new Attribute("keyboard", "en-us"),
+                new Attribute("width", "1.50k"),
+                new Attribute("height", "-2")));
+        }
+
+        @Test
+        void shouldFoldExpressionInKeyLineAttributes() {
+            // given
+            parseHeaderLine("$half = 0.5k");
+
+            // when
+            KeyLine keyLine = (KeyLine) parseKeyLine("Space Space [width = 6k + $half, marginLeft = ($half)]");
+
+            // then
+            assertThat(keyLine.attributes(), contains(
+                new Attribute("width", "6.5k"),
+                new Attribute("marginLeft", "0.5k")));
+        }
+
+        @Test
+        void shouldTreatNumbersWithoutUnitAsDefaultUnit() {
+            // given
+            parseHeaderLine("$ratio = 80px / 40px");
+
+            // when
+            parseHeaderLine("[spacing = 2 + 3px, width = 400 - 10px * 2]");
+            AttributeList rowAttributes = (AttributeList) parseKeyLine("[marginLeft = 0.5 + 0.25k]");
+            KeyLine keyLine = (KeyLine) parseKeyLine("A A [width = 1 + 0.5k, height = 0.25 + 2 * 0.5k, "
+                + "marginTop = 1 + 1, id = 10 / 2, marginLeft = $ratio * 1k]");
+
+            // then
+            assertThat(parser.variablesByName.get("ratio"), equalTo(new ValueVariable("ratio", "2")));
+            assertThat(parser.buildAttributes(), containsInAnyOrder(
+                new Attribute("spacing", "5px"),
+                new Attribute("width", "380px")));
+            assertThat(rowAttributes.attributes(), contains(new Attribute("marginLeft", "0.75k")));
+            assertThat(keyLine.attributes(), contains(
+                new Attribute("width", "1.5k"),
+                new Attribute("height", "1.25k"),
+                new Attribute("marginTop", "2"),
+                new Attribute("id", "5"),
+                new Attribute("marginLeft", "2k")));
+        }
+
+        @Test
+        void shouldThrowForNumberWithoutUnitThatDoesNotMatchDefaultUnit() {
+            // given / when
+            ParserException ex1 = assertThrows(ParserException.class,
+                () -> parseKeyLine("A A [width = 1 + 10px]", 2));
+            ParserException ex2 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("[width = 1 + 0.5k]", 3));
+            ParserException ex3 = assertThrows(ParserException.class,
+                () -> parseKeyLine("A A [width = 80px / 40px]", 4));
+            ParserException ex4 = assertThrows(ParserException.class,
+                () -> parseKeyLine("[marginTop = 80px / 40px + 1]", 5));
+
+            // then
+            assertThat(ex1.getMessage(), equalTo(
+                "Cannot add 1 and 10px on line 2, column 21: the values must have the same unit"));
+            assertThat(ex2.getMessage(), equalTo(
+                "Cannot add 1 and 0.5k on line 3, column 17: the values must have the same unit"));
+            assertThat(ex3.getMessage(), equalTo("The units of the expression on line 4 cancel out, so its result "
+                + "would be read as 2k. Multiply it by a value with the intended unit"));
+            assertThat(ex4.getMessage(), equalTo(
+                "Cannot add 2 and 1 on line 5, column 28: the values must have the same unit"));
+        }
+
+        @Test
+        void shouldThrowForUnitMismatch() {
+            // given / when
+            ParserException ex1 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$a = 3px + 1", 2));
+            ParserException ex2 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$b = 3px * 2k", 3));
+            ParserException ex3 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$c = 2 / 2px", 4));
+            ParserException ex4 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$d = 2px / 0", 5));
+
+            // then
+            assertThat(ex1.getMessage(), equalTo(
+                "Cannot add 3px and 1 on line 2, column 12: the values must have the same unit"));
+            assertThat(ex2.getMessage(), equalTo(
+                "Cannot multiply 3px by 2k on line 3, column 13: only one of the values may have a unit"));
+            assertThat(ex3.getMessage(), equalTo(
+                "Cannot divide 2 by 2px on line 4, column 12: the divisor must have no unit or the same unit"));
+            assertThat(ex4.getMessage(), equalTo("Cannot divide 2px by zero on line 5, column 12"));
+        }
+
+        @Test
+        void shouldThrowForInvalidOperands() {
+            // given
+            parseHeaderLine("$text = \"abc\"");
+
+            // when
+            ParserException ex1 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("[width = $text * 2]", 2));
+            ParserException ex2 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$a = 4px-1px + 2px", 3));
+            ParserException ex3 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$b = 4cm * 2", 4));
+            ParserException ex4 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$c = (2 + 3", 5));
+            ParserException ex5 = assertThrows(ParserException.class,
+                () -> parseHeaderLine("$d = 2 *", 6));
+
+            // then
+            assertThat(ex1.getMessage(), equalTo("Expected a number in the expression on line 2, but got 'abc'"));
+            assertThat(ex2.getMessage(), equalTo(
+                "Expected a number in the expression on line 3, but got '4px-1px'. Use spaces around '-' for subtractions"));
+            assertThat(ex3.getMessage(), equalTo(
+                "Unknown unit 'cm'. Supported units: keys (k), pixels (px) on line 4"));
+            assertThat(ex4.getMessage(), equalTo("Unexpected end of line on line 5"));
+            assertThat(ex5.getMessage(), equalTo("Unexpected end of line on line 6"));
+        }
+    }
+
     private void parseHeaderLine(String text) {
         parseHeaderLine(text, 4);
     }
@@ -0,0 +1,63 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the throughput of {@link DefinitionParser} on a large, ASCII-only definition, which is representative
+ * of most definition files. Not run as part of the tests.
+ * <p>
+ * Usage: {@code ParserBenchmark [<iterations>] [<rows>]}.
+ */
+public final class ParserBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 20;
+
+    private ParserBenchmark() {
+    }
+
+    public static void main(String... args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        List<String> lines = createDefinition(rows);
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; ++i) {
+            parse(lines);
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; ++i) {
+            nanos[i] = parse(lines);
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("%d lines: min %.2f ms, median %.2f ms (%.0f ns/line)%n", lines.size(),
+            nanos[0] / 1e6, nanos[iterations / 2] / 1e6, (double) nanos[iterations / 2] / lines.size());
+    }
+
+    private static long parse(List<String> lines) {
+        long start = System.nanoTime();
+        new DefinitionParser().parse(lines);
+        return System.nanoTime() - start;
+    }
+
+    private static List<String> createDefinition(int rows) {
+        List<String> lines = new ArrayList<>();
+        lines.add("[keyboard = en-us]");
+        lines.add("[width = 40]");
+        lines.add("$wide = [width = 1.5, marginLeft = 2px]");
+        lines.add("$name = \"Left \\\"Shift\\\"\"");
+        lines.add("");
+        lines.add("Keys:");
+        for (int row = 0; row < rows; ++row) {
+            lines.add("  # Row " + row);
+            lines.add("Esc Esc");
+            lines.add("\"Tab \\\\ " + row + "\"   Tab   [height = 2, marginTop = 0.5]");
+            lines.add("Shift LShift & LCtrl  RShift $wide");
+            lines.add("Sprint  /  # comment");
+            lines.add("Jmp Space [width = 6] [marginLeft = 0.25]");
+            lines.add("");
+        }
+        return lines;
+    }
+}
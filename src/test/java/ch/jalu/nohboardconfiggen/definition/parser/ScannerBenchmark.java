@@ -0,0 +1,125 @@
+package ch.jalu.nohboardconfiggen.definition.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the scalar and the vectorized {@link CharScanner} on synthetic definitions of several
+ * megabytes. Not run as part of the tests. Usage, after {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test class path&gt; org.openjdk.jmh.Main ScannerBenchmark
+ * </pre>
+ * The forked JVMs are started with the incubator module enabled. The {@code parse} benchmark measures the
+ * entire parser with the scanner of the given parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class ScannerBenchmark {
+
+    @Param({ "scalar", "vector" })
+    private String scanner;
+
+    /** Approximate length of the generated lines: typical files have short lines, generated ones often long. */
+    @Param({ "40", "400" })
+    private int lineLength;
+
+    private CharScanner charScanner;
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        // Each parameter combination runs in its own fork, so the default scanner used by the parser can be set
+        if ("scalar".equals(scanner)) {
+            System.setProperty("nohboard.scanner.scalar", "true");
+        }
+        charScanner = CharScanner.getDefault();
+        Class<?> expectedType = "scalar".equals(scanner) ? ScalarCharScanner.class : VectorCharScanner.class;
+        if (charScanner.getClass() != expectedType) {
+            throw new IllegalStateException("Expected " + expectedType + " but got " + charScanner.getClass());
+        }
+        lines = createDefinition(4 * 1024 * 1024, lineLength);
+    }
+
+    /**
+     * Tokenizes the keys section like the parser does for unquoted key lines: whitespace and plain characters are
+     * skipped in runs, every delimiter is consumed individually.
+     *
+     * @return number of tokens (to prevent dead code elimination)
+     */
+    @Benchmark
+    public int tokenize() {
+        int tokens = 0;
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines.size(); ++i) {
+            Tokenizer tokenizer = new Tokenizer(lines.get(i), i + 1, charScanner);
+            tokenizer.skipWhitespace();
+            while (tokenizer.hasNext()) {
+                builder.setLength(0);
+                tokenizer.appendUntilDelimiter(builder);
+                if (tokenizer.hasNext()) {
+                    tokenizer.next();
+                }
+                tokenizer.skipWhitespace();
+                ++tokens;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Parses the entire definition.
+     *
+     * @return number of rows
+     */
+    @Benchmark
+    public int parse() {
+        DefinitionParser parser = new DefinitionParser();
+        parser.parse(lines);
+        return parser.getKeyRows().size();
+    }
+
+    private static List<String> createDefinition(int totalChars, int lineLength) {
+        List<String> lines = new ArrayList<>();
+        lines.add("[keyboard = en-us]");
+        lines.add("$wide = [width = 1.5, marginLeft = 2px]");
+        lines.add("Keys:");
+
+        String[] keyLines = {
+            "Esc Esc",
+            "Shift LShift & LCtrl  RShift $wide",
+            "Jmp Space [width = 6] [marginLeft = 0.25]",
+            "\"Tab \\\\ key\"   Tab   [height = 2, marginTop = 0.5]",
+            "Sprint  /  # comment" };
+        int chars = 0;
+        int index = 0;
+        while (chars < totalChars) {
+            String keyLine = keyLines[index % keyLines.length];
+            // Indentation and padding between the key text and the bindings make up the rest of the line
+            int padding = Math.max(0, lineLength - keyLine.length());
+            String line = " ".repeat(padding / 2) + keyLine.replaceFirst(" ", " ".repeat(padding - padding / 2 + 1));
+            lines.add(line);
+            chars += line.length();
+            if (++index % 8 == 0) {
+                lines.add("");
+            }
+        }
+        return lines;
+    }
+}
@@ -18,9 +18,9 @@ class TokenizerTest {
         Tokenizer tokenizer = new Tokenizer("abcd", 12);
 
         // when / then
-        assertThat(tokenizer.next(), equalTo('a'));
-        assertThat(tokenizer.next(), equalTo('b'));
-        assertThat(tokenizer.next(), equalTo('c'));
+        assertThat(tokenizer.next(), equalTo((int) 'a'));
+        assertThat(tokenizer.next(), equalTo((int) 'b'));
+        assertThat(tokenizer.next(), equalTo((int) 'c'));
     }
 
     @Test
@@ -31,7 +31,7 @@ class TokenizerTest {
 
         // when / then
         assertThat(tokenizer1.nextAllMatching(Character::isDigit, false), equalTo("1337"));
-        assertThat(tokenizer1.next(), equalTo(' '));
+        assertThat(tokenizer1.next(), equalTo((int) ' '));
         assertThat(tokenizer2.nextAllMatching(Character::isDigit, false), equalTo("1337"));
         assertThat(tokenizer2.hasNext(), equalTo(false));
     }
@@ -43,7 +43,7 @@ class TokenizerTest {
 
         // when / then
         assertThat(tokenizer.nextAllMatching(Character::isWhitespace, false), equalTo(""));
-        assertThat(tokenizer.next(), equalTo('1'));
+        assertThat(tokenizer.next(), equalTo((int) '1'));
     }
 
     @Test
@@ -56,13 +56,13 @@ class TokenizerTest {
 
         // when / then
         assertThat(tokenizer1.nextAllMatching(Character::isDigit, true), equalTo("1337"));
-        assertThat(tokenizer1.next(), equalTo(' '));
+        assertThat(tokenizer1.next(), equalTo((int) ' '));
         assertThat(tokenizer2.nextAllMatching(Character::isDigit, true), equalTo(""));
-        assertThat(tokenizer2.next(), equalTo('a'));
+        assertThat(tokenizer2.next(), equalTo((int) 'a'));
         assertThat(tokenizer3.nextAllMatching(Character::isDigit, true), equalTo("1337"));
-        assertThat(tokenizer3.next(), equalTo('h'));
+        assertThat(tokenizer3.next(), equalTo((int) 'h'));
         assertThat(tokenizer4.nextAllMatching(Character::isDigit, true), equalTo("1337"));
-        assertThat(tokenizer4.next(), equalTo(' '));
+        assertThat(tokenizer4.next(), equalTo((int) ' '));
     }
 
     @Test
@@ -71,9 +71,9 @@ class TokenizerTest {
         Tokenizer tokenizer = new Tokenizer("The quick brown fox", 1);
 
         // when / then
-        assertThat(tokenizer.peek(), equalTo('T'));
-        assertThat(tokenizer.peek(), equalTo('T'));
-        assertThat(tokenizer.peek(), equalTo('T'));
+        assertThat(tokenizer.peek(), equalTo((int) 'T'));
+        assertThat(tokenizer.peek(), equalTo((int) 'T'));
+        assertThat(tokenizer.peek(), equalTo((int) 'T'));
     }
 
     @Test
@@ -87,8 +87,8 @@ class TokenizerTest {
         tokenizer2.skipWhitespace();
 
         // then
-        assertThat(tokenizer1.next(), equalTo('T'));
-        assertThat(tokenizer2.next(), equalTo('T'));
+        assertThat(tokenizer1.next(), equalTo((int) 'T'));
+        assertThat(tokenizer2.next(), equalTo((int) 'T'));
     }
 
     @Test
@@ -99,9 +99,9 @@ class TokenizerTest {
 
         // when / then
         tokenizer1.expectCharAfterOptionalWhitespace(';'); // no exception
-        assertThat(tokenizer1.nextNonWhitespace(), equalTo('#'));
+        assertThat(tokenizer1.nextNonWhitespace(), equalTo((int) '#'));
         tokenizer2.expectCharAfterOptionalWhitespace(';'); // no exception
-        assertThat(tokenizer2.nextNonWhitespace(), equalTo('['));
+        assertThat(tokenizer2.nextNonWhitespace(), equalTo((int) '['));
     }
 
     @Test
@@ -129,6 +129,55 @@ class TokenizerTest {
         assertThat(tokenizer1.getLineNrColText(), equalTo("line 17, column 4"));
     }
 
+    @Test
+    void shouldReturnCodePointsOutsideBasicMultilingualPlane() {
+        // given
+        Tokenizer tokenizer = new Tokenizer("a\uD83D\uDE00b \uD83E\uDC61", 2);
+
+        // when / then
+        assertThat(tokenizer.next(), equalTo((int) 'a'));
+        assertThat(tokenizer.peek(), equalTo(0x1F600));
+        assertThat(tokenizer.next(), equalTo(0x1F600));
+        assertThat(tokenizer.getPosition(), equalTo(2));
+        assertThat(tokenizer.next(), equalTo((int) 'b'));
+        assertThat(tokenizer.nextNonWhitespace(), equalTo(0x1F861));
+        assertThat(tokenizer.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void shouldReturnAllMatchingCodePoints() {
+        // given
+        Tokenizer tokenizer = new Tokenizer("\uD83D\uDE00\uD83D\uDE01x", 2);
+
+        // when
+        String result = tokenizer.nextAllMatching(cp -> cp != 'x', false);
+
+        // then
+        assertThat(result, equalTo("\uD83D\uDE00\uD83D\uDE01"));
+        assertThat(tokenizer.getLineNrColText(), equalTo("line 2, column 2"));
+    }
+
+    @Test
+    void shouldSkipNonAsciiWhitespace() {
+        // given
+        Tokenizer tokenizer = new Tokenizer("\u2003 \u3000\tx", 1);
+
+        // when
+        tokenizer.skipWhitespace();
+
+        // then
+        assertThat(tokenizer.next(), equalTo((int) 'x'));
+    }
+
+    @Test
+    void shouldDetermineWhitespaceLikeCharacterClass() {
+        // given / when / then
+        for (int codePoint = 0; codePoint <= 0x3000; ++codePoint) {
+            assertThat(Tokenizer.isWhitespace(codePoint), equalTo(Character.isWhitespace(codePoint)));
+        }
+        assertThat(Tokenizer.isWhitespace(0x1F600), equalTo(false));
+    }
+
     @Nested
     class EndOfLineExceptionTests {
 
@@ -0,0 +1,101 @@
+package ch.jalu.nohboardconfiggen.definition.writer;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigGenerator;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigImporter;
+import ch.jalu.nohboardconfiggen.definition.KeyboardConfig;
+import ch.jalu.nohboardconfiggen.definition.generator.KeyboardModelGenerator;
+import ch.jalu.nohboardconfiggen.definition.parser.DefinitionParser;
+import ch.jalu.nohboardconfiggen.keycode.KeyboardRegion;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link DefinitionWriter}.
+ */
+class DefinitionWriterTest {
+
+    private final DefinitionWriter definitionWriter = new DefinitionWriter();
+    private final NohboardConfigImporter importer = new NohboardConfigImporter();
+    private final NohboardConfigExporter exporter = new NohboardConfigExporter();
+
+    @Test
+    void shouldRecreateDefinitionForTr1Simple() {
+        checkDefinitionGeneratesSameJson("tr1_simple_expected.json", null);
+    }
+
+    @Test
+    void shouldRecreateDefinitionForTr1Full() {
+        checkDefinitionGeneratesSameJson("tr1_full_expected.json", null);
+    }
+
+    @Test
+    void shouldRecreateDefinitionForTr2() {
+        checkDefinitionGeneratesSameJson("tr2_expected.json", null);
+    }
+
+    @Test
+    void shouldRecreateDefinitionForTr3() {
+        checkDefinitionGeneratesSameJson("tr3_expected.json", null);
+    }
+
+    @Test
+    void shouldRecreateDefinitionForTr3Hs() {
+        checkDefinitionGeneratesSameJson("tr3_hs_expected.json", null);
+    }
+
+    @Test
+    void shouldRecreateDefinitionForTrDemo1() {
+        checkDefinitionGeneratesSameJson("tr_demo1_expected.json", KeyboardRegion.FRENCH);
+    }
+
+    private void checkDefinitionGeneratesSameJson(String file, KeyboardRegion region) {
+        // given
+        Path jsonFile = getResourceFile("testconfigs/" + file);
+        NohbConfiguration config = importer.load(jsonFile);
+
+        // when
+        List<String> definition = definitionWriter.createDefinition(config, region);
+
+        // then
+        DefinitionParser parser = new DefinitionParser();
+        parser.parse(definition);
+        KeyboardConfig keyboardConfig =
+            new KeyboardModelGenerator().generate(parser.buildAttributes(), parser.getKeyRows());
+        String json = exporter.toJson(new NohboardConfigGenerator().generate(keyboardConfig));
+        assertThat(json.replace("\r\n", "\n"), equalTo(readFile(jsonFile).replace("\r\n", "\n")));
+    }
+
+    private Path getResourceFile(String path) {
+        try {
+            URL url = getClass().getClassLoader().getResource(path);
+            if (url == null) {
+                throw new IllegalStateException("File '" + path + "' does not exist");
+            }
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Failed to get file '" + path + "'", e);
+        }
+    }
+
+    private String readFile(Path path) {
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read from '" + path + "'", e);
+        }
+    }
+}
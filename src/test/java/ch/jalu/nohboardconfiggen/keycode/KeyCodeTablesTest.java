@@ -0,0 +1,85 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import ch.jalu.nohboardconfiggen.keycode.KeyCodeTables.CompiledTables;
+import ch.jalu.nohboardconfiggen.keycode.KeyCodeTables.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for {@link KeyCodeTables} and {@link KeyCodeTableCompiler}.
+ */
+class KeyCodeTablesTest {
+
+    private static final Path TEXT_TABLES_FOLDER = Paths.get("src/main/resources/keycodes");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldParseTextTable() {
+        // given
+        List<String> lines = List.of(
+            "# Comment",
+            "",
+            "13 Enter Return",
+            "  0xDE   #  ",
+            "0xE2 Left\\");
+
+        // when
+        List<Entry> entries = KeyCodeTables.parseText(lines, "test");
+
+        // then
+        assertThat(entries, contains(
+            new Entry(13, List.of("Enter", "Return")),
+            new Entry(0xDE, List.of("#")),
+            new Entry(0xE2, List.of("Left\\"))));
+    }
+
+    @Test
+    void shouldDecodeSameTablesAsText() throws IOException {
+        // given
+        Path binaryFile = tempDir.resolve("keycodes.bin");
+        KeyCodeTableCompiler.compile(TEXT_TABLES_FOLDER, binaryFile);
+
+        // when
+        CompiledTables compiledTables = new CompiledTables(Files.readAllBytes(binaryFile));
+
+        // then
+        assertThat(compiledTables.decode(KeyCodeTables.BASIC_TABLE),
+            equalTo(parseTextTable(KeyCodeTables.BASIC_TABLE)));
+        for (KeyboardRegion region : KeyboardRegion.values()) {
+            assertThat(compiledTables.decode(region.getCode()), equalTo(parseTextTable(region.getCode())));
+        }
+    }
+
+    @Test
+    void shouldThrowForUnknownTable() throws IOException {
+        // given
+        Path binaryFile = tempDir.resolve("keycodes.bin");
+        KeyCodeTableCompiler.compile(TEXT_TABLES_FOLDER, binaryFile);
+        CompiledTables compiledTables = new CompiledTables(Files.readAllBytes(binaryFile));
+
+        // when
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> compiledTables.decode("cy"));
+
+        // then
+        assertThat(ex.getMessage(), equalTo("No key code table for 'cy'"));
+    }
+
+    private static List<Entry> parseTextTable(String tableName) throws IOException {
+        Path file = TEXT_TABLES_FOLDER.resolve(tableName + KeyCodeTables.TEXT_FILE_EXTENSION);
+        return KeyCodeTables.parseText(Files.readAllLines(file, StandardCharsets.UTF_8), tableName);
+    }
+}
@@ -0,0 +1,43 @@
+package ch.jalu.nohboardconfiggen.keycode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link KeyNameIndex}.
+ */
+class KeyNameIndexTest {
+
+    @Test
+    void shouldComputeDistance() {
+        // given / when / then
+        assertThat(KeyNameIndex.distance("", ""), equalTo(0));
+        assertThat(KeyNameIndex.distance("esc", ""), equalTo(3));
+        assertThat(KeyNameIndex.distance("esc", "escape"), equalTo(3));
+        assertThat(KeyNameIndex.distance("kitten", "sitting"), equalTo(3));
+        assertThat(KeyNameIndex.distance("pageup", "pagedown"), equalTo(4));
+        assertThat(KeyNameIndex.distance("lctrl", "rctrl"), equalTo(1));
+    }
+
+    @Test
+    void shouldFindClosestNames() {
+        // given
+        KeyNameIndex index = new KeyNameIndex();
+        List.of("Esc", "Escape", "Enter", "Return", "LCtrl", "RCtrl", "LeftCtrl", "RightCtrl", "Space", "Tab")
+            .forEach(index::add);
+
+        // when / then
+        assertThat(index.findClosest("escap", 1, 3), contains("Escape"));
+        assertThat(index.findClosest("ESCAPEE", 2, 3), contains("Escape"));
+        assertThat(index.findClosest("Ctrl", 1, 3), contains("LCtrl", "RCtrl"));
+        assertThat(index.findClosest("LeftCtl", 2, 3), contains("LeftCtrl"));
+        assertThat(index.findClosest("Qwerty", 2, 3), empty());
+        assertThat(index.findClosest("Ctrl", 1, 1), contains("LCtrl"));
+    }
+}
@@ -3,12 +3,19 @@ package ch.jalu.nohboardconfiggen.keycode;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test for {@link KeyboardLayout}.
@@ -42,6 +49,55 @@ class KeyboardLayoutTest {
         }
     }
 
+    @Test
+    void shouldThrowWithSuggestionsForUnknownKey() {
+        // given
+        KeyboardLayout layout = KeyboardLayout.create(KeyboardRegion.GERMAN);
+
+        // when
+        UnknownKeyException ex1 = assertThrows(UnknownKeyException.class, () -> layout.getKeyCodeOrThrow("Spce"));
+        UnknownKeyException ex2 = assertThrows(UnknownKeyException.class, () -> layout.getKeyCodeOrThrow("NumPad10"));
+        UnknownKeyException ex3 = assertThrows(UnknownKeyException.class, () -> layout.getKeyCodeOrThrow("Qwerty"));
+
+        // then
+        assertThat(ex1.getMessage(), equalTo("Unknown key 'Spce'. Did you mean: 'Space'?"));
+        assertThat(ex2.getSuggestions(), contains("NumPad0", "NumPad1", "NumPad*"));
+        assertThat(ex3.getMessage(), equalTo("Unknown key 'Qwerty'"));
+        assertThat(ex3.getSuggestions(), empty());
+    }
+
+    @Test
+    void shouldReturnNamesOfKeyCode() {
+        // given
+        KeyboardLayout layout = KeyboardLayout.create(KeyboardRegion.US);
+
+        // when / then
+        assertThat(layout.getNamesOfKeyCode(44), contains("PrintScreen", "PrtScrn", "PrntScr"));
+        assertThat(layout.getNamesOfKeyCode(0xDC), contains("\\", "Right\\"));
+        assertThat(layout.getKeyNameOrNull(0xDC), equalTo("\\"));
+        assertThat(layout.getNamesOfKeyCode(65), contains("A"));
+        assertThat(layout.getNamesOfKeyCode(10), empty());
+        assertThat(layout.getKeyNameOrNull(10), nullValue());
+        assertThat(layout.getNamesOfKeyCode(-1), empty());
+        assertThat(layout.getKeyNameOrNull(256), nullValue());
+    }
+
+    @Test
+    void shouldHaveReverseEntryForEveryName() {
+        for (KeyboardRegion region : KeyboardRegion.values()) {
+            // given
+            KeyboardLayout layout = KeyboardLayout.create(region);
+
+            // when / then
+            for (Map.Entry<String, Integer> nameAndCode : getKeyCodeMap(layout).entrySet()) {
+                List<String> names = layout.getNamesOfKeyCode(nameAndCode.getValue()).stream()
+                    .map(name -> name.toLowerCase(Locale.ROOT))
+                    .toList();
+                assertThat(names, hasItem(nameAndCode.getKey()));
+            }
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static Map<String, Integer> getKeyCodeMap(KeyboardLayout layout) {
         try {
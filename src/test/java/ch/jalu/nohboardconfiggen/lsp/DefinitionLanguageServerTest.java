@@ -0,0 +1,253 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Test for {@link DefinitionLanguageServer}.
+ */
+class DefinitionLanguageServerTest {
+
+    private static final String URI = "file:///keyboard.txt";
+
+    @Test
+    void shouldPublishDiagnosticsForInvalidDocument() throws IOException {
+        // given
+        String input = frame(request(1, "initialize", new JsonObject()))
+            + frame(didOpen("Keys:\nEsc Esc\nQ Qwerty\n"))
+            + frame(didChange("Keys:\nEsc Esc\nQ Q [width=3\n"))
+            + frame(didChange("Keys:\nEsc Esc\nQ Q\n"))
+            + frame(request(2, "shutdown", null))
+            + frame(notification("exit", null));
+
+        // when
+        List<JsonObject> messages = runServer(input, 0);
+
+        // then
+        assertThat(messages, hasSize(5));
+        assertThat(messages.get(0).getAsJsonObject("result").getAsJsonObject("capabilities")
+            .get("textDocumentSync").getAsInt(), equalTo(1));
+
+        JsonArray unknownKeyDiagnostics = getDiagnostics(messages.get(1));
+        assertThat(unknownKeyDiagnostics.size(), equalTo(1));
+        JsonObject unknownKey = unknownKeyDiagnostics.get(0).getAsJsonObject();
+        assertThat(unknownKey.get("message").getAsString(), equalTo("Unknown key 'Qwerty'"));
+        assertThat(unknownKey.getAsJsonObject("range").getAsJsonObject("start").get("line").getAsInt(), equalTo(2));
+        assertThat(unknownKey.getAsJsonObject("range").getAsJsonObject("start").get("character").getAsInt(),
+            equalTo(2));
+
+        JsonArray parseErrorDiagnostics = getDiagnostics(messages.get(2));
+        assertThat(parseErrorDiagnostics.size(), equalTo(1));
+        JsonObject parseError = parseErrorDiagnostics.get(0).getAsJsonObject();
+        assertThat(parseError.getAsJsonObject("range").getAsJsonObject("start").get("line").getAsInt(), equalTo(2));
+
+        assertThat(getDiagnostics(messages.get(3)).size(), equalTo(0));
+        assertThat(messages.get(4).get("id").getAsInt(), equalTo(2));
+    }
+
+    @Test
+    void shouldReportParseErrorPositionInUtf16CodeUnits() throws IOException {
+        // given
+        String input = frame(didOpen("Keys:\n\uD83D\uDE00 A [width=2px] x\n"));
+
+        // when
+        List<JsonObject> messages = runServer(input, 1);
+
+        // then
+        JsonObject parseError = getDiagnostics(messages.get(0)).get(0).getAsJsonObject();
+        JsonObject start = parseError.getAsJsonObject("range").getAsJsonObject("start");
+        assertThat(start.get("line").getAsInt(), equalTo(1));
+        // Column 17 in code points: the emoji takes up two UTF-16 code units
+        assertThat(start.get("character").getAsInt(), equalTo(18));
+    }
+
+    @Test
+    void shouldReportValidationErrorPositionsInUtf16CodeUnits() throws IOException {
+        // given
+        String input = frame(didOpen("$wide = [width=wide]\nKeys:\n[marginTop=2px, colour=red]\n"
+            + "\uD83D\uDE00 A $wide Qwerty [height=tall]\n"));
+
+        // when
+        List<JsonObject> messages = runServer(input, 1);
+
+        // then
+        JsonArray diagnostics = getDiagnostics(messages.get(0));
+        // The emoji takes up two UTF-16 code units; the attributes of $wide are reported where it is used
+        assertThat(getStartPositions(diagnostics), contains("2:16", "3:11", "3:5", "3:19"));
+    }
+
+    @Test
+    void shouldReturnCompletions() throws IOException {
+        // given
+        JsonObject position = new JsonObject();
+        position.addProperty("line", 2);
+        position.addProperty("character", 4);
+        JsonObject keyCompletionParams = textDocumentParams();
+        keyCompletionParams.add("position", position);
+
+        JsonObject attributePosition = new JsonObject();
+        attributePosition.addProperty("line", 0);
+        attributePosition.addProperty("character", 1);
+        JsonObject attributeCompletionParams = textDocumentParams();
+        attributeCompletionParams.add("position", attributePosition);
+
+        String input = frame(didOpen("[\nKeys:\nEsc E\n"))
+            + frame(request(1, "textDocument/completion", keyCompletionParams))
+            + frame(request(2, "textDocument/completion", attributeCompletionParams));
+
+        // when
+        List<JsonObject> messages = runServer(input, 1);
+
+        // then
+        List<String> keyLabels = getLabels(messages.get(1));
+        assertThat(keyLabels, hasItem("esc"));
+        List<String> attributeLabels = getLabels(messages.get(2));
+        assertThat(attributeLabels, hasItem("keyboard"));
+    }
+
+    @Test
+    void shouldKeepRunningAfterMalformedMessages() throws IOException {
+        // given
+        JsonObject completionWithoutPosition = request(1, "textDocument/completion", textDocumentParams());
+        JsonObject didOpenWithoutText = notification("textDocument/didOpen", textDocumentParams());
+        String invalidJson = "{\"method\": ";
+        String input = frame(didOpen("Keys:\nEsc Esc\n"))
+            + frame(completionWithoutPosition)
+            + frame(didOpenWithoutText)
+            + "Content-Length: " + invalidJson.length() + "\r\n\r\n" + invalidJson
+            + frame(request(2, "shutdown", null))
+            + frame(notification("exit", null));
+
+        // when
+        List<JsonObject> messages = runServer(input, 0);
+
+        // then
+        assertThat(messages, hasSize(4));
+        assertThat(getDiagnostics(messages.get(0)).size(), equalTo(0));
+        assertThat(messages.get(1).get("id").getAsInt(), equalTo(1));
+        assertThat(messages.get(1).getAsJsonObject("error").get("code").getAsInt(), equalTo(-32603));
+        assertThat(messages.get(2).get("id").isJsonNull(), equalTo(true));
+        assertThat(messages.get(2).getAsJsonObject("error").get("code").getAsInt(), equalTo(-32700));
+        assertThat(messages.get(3).get("id").getAsInt(), equalTo(2));
+    }
+
+    @Test
+    void shouldSkipMessagesWithInvalidContentLength() throws IOException {
+        // given
+        String content = request(1, "initialize", new JsonObject()).toString();
+        String input = "Content-Type: application/vscode-jsonrpc\r\n\r\n" + content
+            + "Content-Length: twelve\r\n\r\n" + content
+            + frame(request(2, "shutdown", null))
+            + frame(notification("exit", null));
+
+        // when
+        List<JsonObject> messages = runServer(input, 0);
+
+        // then
+        assertThat(messages, hasSize(3));
+        assertThat(messages.get(0).get("id").isJsonNull(), equalTo(true));
+        assertThat(messages.get(0).getAsJsonObject("error").get("code").getAsInt(), equalTo(-32700));
+        assertThat(messages.get(0).getAsJsonObject("error").get("message").getAsString(),
+            equalTo("Invalid message: Message without Content-Length header"));
+        assertThat(messages.get(1).getAsJsonObject("error").get("message").getAsString(),
+            equalTo("Invalid message: Invalid Content-Length header: twelve"));
+        assertThat(messages.get(2).get("id").getAsInt(), equalTo(2));
+    }
+
+    private static List<JsonObject> runServer(String input, int expectedExitCode) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DefinitionLanguageServer server = new DefinitionLanguageServer(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        assertThat(server.run(), equalTo(expectedExitCode));
+
+        JsonRpcConnection connection = new JsonRpcConnection(
+            new ByteArrayInputStream(output.toByteArray()), new ByteArrayOutputStream());
+        List<JsonObject> messages = new ArrayList<>();
+        JsonObject message;
+        while ((message = connection.readMessage()) != null) {
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static JsonArray getDiagnostics(JsonObject notification) {
+        assertThat(notification.get("method").getAsString(), equalTo("textDocument/publishDiagnostics"));
+        return notification.getAsJsonObject("params").getAsJsonArray("diagnostics");
+    }
+
+    private static List<String> getStartPositions(JsonArray diagnostics) {
+        List<String> positions = new ArrayList<>();
+        for (JsonElement diagnostic : diagnostics) {
+            JsonObject start = diagnostic.getAsJsonObject().getAsJsonObject("range").getAsJsonObject("start");
+            positions.add(start.get("line").getAsInt() + ":" + start.get("character").getAsInt());
+        }
+        return positions;
+    }
+
+    private static List<String> getLabels(JsonObject response) {
+        List<String> labels = new ArrayList<>();
+        response.getAsJsonArray("result")
+            .forEach(item -> labels.add(item.getAsJsonObject().get("label").getAsString()));
+        return labels;
+    }
+
+    private static JsonObject didOpen(String text) {
+        JsonObject params = textDocumentParams();
+        params.getAsJsonObject("textDocument").addProperty("text", text);
+        return notification("textDocument/didOpen", params);
+    }
+
+    private static JsonObject didChange(String text) {
+        JsonObject change = new JsonObject();
+        change.addProperty("text", text);
+        JsonArray changes = new JsonArray();
+        changes.add(change);
+        JsonObject params = textDocumentParams();
+        params.add("contentChanges", changes);
+        return notification("textDocument/didChange", params);
+    }
+
+    private static JsonObject textDocumentParams() {
+        JsonObject textDocument = new JsonObject();
+        textDocument.addProperty("uri", URI);
+        JsonObject params = new JsonObject();
+        params.add("textDocument", textDocument);
+        return params;
+    }
+
+    private static JsonObject request(int id, String method, JsonObject params) {
+        JsonObject request = notification(method, params);
+        request.addProperty("id", id);
+        return request;
+    }
+
+    private static JsonObject notification(String method, JsonObject params) {
+        JsonObject message = new JsonObject();
+        message.addProperty("jsonrpc", "2.0");
+        message.addProperty("method", method);
+        if (params != null) {
+            message.add("params", params);
+        }
+        return message;
+    }
+
+    private static String frame(JsonObject message) {
+        String content = message.toString();
+        return "Content-Length: " + content.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + content;
+    }
+}
@@ -0,0 +1,87 @@
+package ch.jalu.nohboardconfiggen.lsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long {@link DocumentAnalyzer} takes to analyze a changed document and to compute completions
+ * on a large definition, i.e. the work the language server does per keystroke. Not run as part of the tests.
+ * <p>
+ * Usage: {@code LanguageServerBenchmark [<iterations>] [<lines>]}.
+ */
+public final class LanguageServerBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 20;
+
+    private LanguageServerBenchmark() {
+    }
+
+    public static void main(String... args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int lineCount = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        List<String> lines = createDefinition(lineCount);
+        DocumentAnalyzer analyzer = new DocumentAnalyzer();
+        DocumentState document = new DocumentState("file:///keyboard.txt", String.join("\n", lines));
+
+        for (int i = 0; i < WARM_UP_ITERATIONS; ++i) {
+            analyzeChange(analyzer, document, lines, i);
+            complete(analyzer, document, lines);
+        }
+        long[] analysisNanos = new long[iterations];
+        long[] completionNanos = new long[iterations];
+        for (int i = 0; i < iterations; ++i) {
+            analysisNanos[i] = analyzeChange(analyzer, document, lines, WARM_UP_ITERATIONS + i);
+            completionNanos[i] = complete(analyzer, document, lines);
+        }
+
+        printResult("Analysis of change", lines.size(), analysisNanos);
+        printResult("Completion", lines.size(), completionNanos);
+    }
+
+    private static long analyzeChange(DocumentAnalyzer analyzer, DocumentState document,
+                                      List<String> lines, int iteration) {
+        // Change the last line so that the text is different in every iteration, as when typing
+        String text = String.join("\n", lines) + "\nK" + iteration + " K";
+        long start = System.nanoTime();
+        document.setText(text);
+        int diagnosticCount = analyzer.analyze(document).size();
+        long nanos = System.nanoTime() - start;
+        if (diagnosticCount > 0) {
+            throw new IllegalStateException("Expected the definition to be valid");
+        }
+        return nanos;
+    }
+
+    private static long complete(DocumentAnalyzer analyzer, DocumentState document, List<String> lines) {
+        long start = System.nanoTime();
+        analyzer.getCompletions(document, lines.size(), 4);
+        return System.nanoTime() - start;
+    }
+
+    private static void printResult(String name, int lineCount, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%s, %d lines: min %.2f ms, median %.2f ms, max %.2f ms%n", name, lineCount,
+            nanos[0] / 1e6, nanos[nanos.length / 2] / 1e6, nanos[nanos.length - 1] / 1e6);
+    }
+
+    private static List<String> createDefinition(int lineCount) {
+        List<String> lines = new ArrayList<>();
+        lines.add("[keyboard = en-us]");
+        lines.add("[width = 40]");
+        lines.add("$wide = [width = 1.5, marginLeft = 2px]");
+        lines.add("");
+        lines.add("Keys:");
+        int row = 0;
+        while (lines.size() < lineCount) {
+            lines.add("# Row " + row);
+            lines.add("Esc Esc");
+            lines.add("\"Tab " + row + "\"   Tab   [height = 2, marginTop = 0.5]");
+            lines.add("Shift LShift & LCtrl  RShift $wide");
+            lines.add("Jmp Space [width = 6] [marginLeft = 0.25]");
+            lines.add("");
+            ++row;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,75 @@
+package ch.jalu.nohboardconfiggen.preview;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbCoords;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link PngRenderer}.
+ */
+class PngRendererTest {
+
+    @Test
+    void shouldRenderKeys() {
+        // given
+        NohbConfiguration config = createConfig(2);
+
+        // when
+        BufferedImage image = new PngRenderer().render(config);
+
+        // then
+        assertThat(image.getWidth(), equalTo(config.getWidth()));
+        assertThat(image.getHeight(), equalTo(config.getHeight()));
+        assertThat(image.getRGB(1, 1), equalTo(PreviewStyle.BACKGROUND.getRGB()));
+        assertThat(image.getRGB(8, 8), equalTo(PreviewStyle.KEY_FILL.getRGB()));
+        assertThat(image.getRGB(5, 20), equalTo(PreviewStyle.KEY_OUTLINE.getRGB()));
+    }
+
+    @Test
+    void shouldRenderSameImageWithTiles() {
+        // given
+        NohbConfiguration config = createConfig(12);
+
+        // when
+        BufferedImage image = new PngRenderer().render(config);
+        BufferedImage tiledImage = new PngRenderer(37).render(config);
+
+        // then
+        for (int x = 0; x < image.getWidth(); ++x) {
+            for (int y = 0; y < image.getHeight(); ++y) {
+                assertThat("Pixel at " + x + "," + y, tiledImage.getRGB(x, y), equalTo(image.getRGB(x, y)));
+            }
+        }
+    }
+
+    private static NohbConfiguration createConfig(int keysPerRow) {
+        List<NohbElement> elements = new ArrayList<>();
+        for (int row = 0; row < 3; ++row) {
+            for (int col = 0; col < keysPerRow; ++col) {
+                int x = 5 + col * 41;
+                int y = 5 + row * 41;
+                NohbElement element = new NohbElement();
+                element.setTexts("K" + row + col);
+                element.setBoundaries(List.of(
+                    new NohbCoords(x, y), new NohbCoords(x + 40, y),
+                    new NohbCoords(x + 40, y + 40), new NohbCoords(x, y + 40)));
+                element.setTextPosition(new NohbCoords(x + 20, y + 20));
+                elements.add(element);
+            }
+        }
+
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(elements);
+        config.setWidth(5 + keysPerRow * 41 + 4);
+        config.setHeight(5 + 3 * 41 + 4);
+        return config;
+    }
+}
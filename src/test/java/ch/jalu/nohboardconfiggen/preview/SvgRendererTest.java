@@ -0,0 +1,48 @@
+package ch.jalu.nohboardconfiggen.preview;
+
+import ch.jalu.nohboardconfiggen.config.NohbConfiguration;
+import ch.jalu.nohboardconfiggen.config.NohbCoords;
+import ch.jalu.nohboardconfiggen.config.NohbElement;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link SvgRenderer}.
+ */
+class SvgRendererTest {
+
+    @Test
+    void shouldRenderSvg() throws IOException {
+        // given
+        NohbElement element = new NohbElement();
+        element.setTexts("<&>");
+        element.setBoundaries(List.of(
+            new NohbCoords(5, 5), new NohbCoords(45, 5), new NohbCoords(45, 45), new NohbCoords(5, 45)));
+        element.setTextPosition(new NohbCoords(25, 25));
+        NohbConfiguration config = new NohbConfiguration();
+        config.setElements(List.of(element));
+        config.setWidth(50);
+        config.setHeight(50);
+        StringWriter writer = new StringWriter();
+
+        // when
+        new SvgRenderer().render(config, writer);
+
+        // then
+        assertThat(writer.toString(), equalTo("""
+            <svg xmlns="http://www.w3.org/2000/svg" width="50" height="50" viewBox="0 0 50 50">
+            <rect width="100%" height="100%" fill="#646464"/>
+            <g font-family="sans-serif" font-size="12" text-anchor="middle" dominant-baseline="central">
+            <polygon points="5,5 45,5 45,45 5,45" fill="#282828" stroke="#d0d0d0"/>
+            <text x="25" y="25" fill="#ffffff">&lt;&amp;&gt;</text>
+            </g>
+            </svg>
+            """));
+    }
+}
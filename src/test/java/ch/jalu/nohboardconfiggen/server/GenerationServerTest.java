@@ -0,0 +1,139 @@
+package ch.jalu.nohboardconfiggen.server;
+
+import ch.jalu.nohboardconfiggen.Generator;
+import ch.jalu.nohboardconfiggen.config.NohboardConfigExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test for {@link GenerationServer}.
+ */
+class GenerationServerTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private GenerationServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = new GenerationServer(0, Duration.ofSeconds(5));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void shouldGenerateConfiguration() throws IOException, InterruptedException {
+        // given
+        String definition = "[width=40px]\nKeys:\nInv Esc\nSave F5\n\nW W\n";
+
+        // when
+        HttpResponse<String> response = post("/generate", definition);
+
+        // then
+        assertThat(response.statusCode(), equalTo(200));
+        String expectedJson = new NohboardConfigExporter().toJson(
+            new Generator().generateConfig(List.of("[width=40px]", "Keys:", "Inv Esc", "Save F5", "", "W W")));
+        assertThat(response.body(), equalTo(expectedJson));
+    }
+
+    @Test
+    void shouldReturnParserError() throws IOException, InterruptedException {
+        // given
+        String definition = "[width=40px\nKeys:\n";
+
+        // when
+        HttpResponse<String> response = post("/generate", definition);
+
+        // then
+        assertThat(response.statusCode(), equalTo(400));
+        assertThat(response.body(), equalTo("Unexpected end of line on line 1"));
+    }
+
+    @Test
+    void shouldRejectTooLargeDefinition() throws IOException, InterruptedException {
+        // given
+        String definition = "Keys:\n" + "#".repeat(GenerationServer.MAX_BODY_SIZE);
+
+        // when
+        HttpResponse<String> response = post("/generate", definition);
+
+        // then
+        assertThat(response.statusCode(), equalTo(413));
+        assertThat(response.body(), equalTo("Definition is larger than 1048576 bytes"));
+    }
+
+    @Test
+    void shouldCountReadingOfBodyTowardsTimeout() throws IOException {
+        // given
+        server.stop();
+        server = new GenerationServer(0, Duration.ofMillis(200));
+        server.start();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream outputStream = socket.getOutputStream();
+            // when
+            outputStream.write("""
+                POST /generate HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 100\r
+                \r
+                Keys:""".getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            String statusLine = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+
+            // then
+            assertThat(statusLine, equalTo("HTTP/1.1 408 Request Time-Out"));
+        }
+    }
+
+    @Test
+    void shouldReturnLatencyStats() throws IOException, InterruptedException {
+        // given
+        post("/generate", "Keys:\nEsc Esc\n");
+        post("/generate", "Keys:\nA A\n");
+
+        // when
+        HttpResponse<String> response = httpClient.send(
+            HttpRequest.newBuilder(createUri("/stats")).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode(), equalTo(200));
+        assertThat(response.body(), containsString("\"requests\":2"));
+        assertThat(response.body(), containsString("\"p99\":"));
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(createUri(path))
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI createUri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}